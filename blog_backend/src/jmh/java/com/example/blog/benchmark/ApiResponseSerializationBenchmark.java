@@ -0,0 +1,63 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.dto.PageResult;
+import com.example.blog.entity.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponse&lt;PageResult&lt;Post&gt;&gt; 的 Jackson 序列化基准
+ *
+ * <p>
+ * pageSize 对应首页/管理后台常用的每页条数，contentLength 对应短文与长文的正文长度；
+ * accessor 对比反射访问 getter 与 Blackbird 生成的访问器。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "10", "50" })
+    private int pageSize;
+
+    @Param({ "2000", "20000" })
+    private int contentLength;
+
+    @Param({ "reflective", "blackbird" })
+    private String accessor;
+
+    private ObjectWriter writer;
+    private ApiResponse<PageResult<Post>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper("blackbird".equals(accessor));
+        writer = objectMapper.writer();
+        List<Post> posts = BenchmarkFixtures.posts(pageSize, contentLength);
+        response = ApiResponse.success("获取文章列表成功", PageResult.of(posts, 1000L, 1, pageSize));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.blog.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JMH 结果与基线对比工具
+ *
+ * <p>
+ * 读取两份 JMH JSON 结果（{@code -rf json}），按“基准方法 + 参数”逐项对比得分并打印变化比例。
+ * 平均时间类模式得分越低越好，吞吐量模式得分越高越好；任一项退化超过阈值时以非零状态码退出，
+ * 可直接用于 CI。
+ * </p>
+ *
+ * <pre>
+ * 用法：BaselineComparator &lt;baseline.json&gt; &lt;result.json&gt; [threshold]
+ * </pre>
+ */
+public final class BaselineComparator {
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("用法: BaselineComparator <baseline.json> <result.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            double score = now.path("primaryMetric").path("score").asDouble();
+            String unit = now.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore;
+            // 吞吐量模式得分下降才是退化，其余模式得分上升是退化
+            double degradation = "thrpt".equals(now.path("mode").asText()) ? -change : change;
+            String marker = degradation > threshold ? "  <-- REGRESSION" : "";
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baseScore, score,
+                    change * 100, unit, marker);
+            if (degradation > threshold) {
+                regressions.add(entry.getKey());
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("%d 项基准退化超过 %.0f%%: %s%n", regressions.size(), threshold * 100, regressions);
+            System.exit(1);
+        }
+        System.out.println("未发现超过阈值的退化");
+    }
+
+    private static Map<String, JsonNode> load(File file) throws Exception {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : root) {
+            results.put(key(node), node);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode node) {
+        StringBuilder key = new StringBuilder(node.path("benchmark").asText()
+                .replace("com.example.blog.benchmark.", ""));
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        if (!params.isEmpty()) {
+            key.append(params);
+        }
+        return key.toString();
+    }
+}
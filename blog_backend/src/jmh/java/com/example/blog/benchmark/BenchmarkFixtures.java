@@ -0,0 +1,156 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import com.example.blog.util.JwtUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * 基准测试公共数据
+ *
+ * <p>
+ * 使用固定随机种子生成文章、标签等数据，保证每次运行的输入一致，结果才能与基线比较。
+ * ObjectMapper 与 JwtUtil 的配置与 application-dev.yml 保持一致。
+ * </p>
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "mySecretKeyForJWT2024BlogApplicationThatIsMuchLongerAndMoreSecure";
+
+    private static final String[] WORDS = {
+            "Spring", "MyBatis", "索引", "缓存", "并发", "事务", "Vue", "博客", "性能", "数据库",
+            "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "线程池", "优化"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 按 application-dev.yml 中的 spring.jackson 配置及 JacksonConfig 注册的模块创建 ObjectMapper
+     */
+    public static ObjectMapper objectMapper() {
+        return objectMapper(true);
+    }
+
+    /**
+     * 按 application-dev.yml 中的 spring.jackson 配置创建 ObjectMapper
+     *
+     * @param blackbird 是否注册 Blackbird 模块；false 即引入 Blackbird 之前的反射访问方式
+     */
+    public static ObjectMapper objectMapper(boolean blackbird) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("Asia/Shanghai"));
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .dateFormat(dateFormat)
+                .timeZone("Asia/Shanghai")
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 创建与配置文件一致的 JwtUtil
+     */
+    public static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604_800_000L);
+        return jwtUtil;
+    }
+
+    /**
+     * 管理员用户，用于签发令牌
+     */
+    public static User admin() {
+        User admin = new User();
+        admin.setId(1L);
+        admin.setUsername("admin");
+        admin.setRole("ADMIN");
+        return admin;
+    }
+
+    /**
+     * 生成带作者、分类和标签的文章列表
+     *
+     * @param count         文章数量
+     * @param contentLength 每篇文章内容长度（字符）
+     * @return 文章列表
+     */
+    public static List<Post> posts(int count, int contentLength) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User author = new User();
+            author.setId((long) (i % 5 + 1));
+            author.setUsername("author" + author.getId());
+            author.setNickname("作者" + author.getId());
+            author.setAvatar("http://localhost:8080/api/uploads/avatar-" + author.getId() + ".png");
+
+            Category category = new Category();
+            category.setId((long) (i % 4 + 1));
+            category.setName("分类" + category.getId());
+
+            List<Tag> tags = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                Tag tag = new Tag();
+                tag.setId((long) ((i + t) % 9 + 1));
+                tag.setName(WORDS[(i + t) % WORDS.length]);
+                tags.add(tag);
+            }
+
+            Post post = new Post();
+            post.setId((long) i);
+            post.setTitle("基准测试文章 " + i + " " + text(random, 40));
+            post.setSummary(text(random, 120));
+            post.setContent(text(random, contentLength));
+            post.setCoverImage("http://localhost:8080/api/uploads/cover-" + i + ".png");
+            post.setAuthorId(author.getId());
+            post.setCategoryId(category.getId());
+            post.setStatus(1);
+            post.setViewCount(random.nextInt(10_000));
+            post.setLikeCount(random.nextInt(500));
+            post.setCommentCount(random.nextInt(100));
+            post.setIsTop(i == 1 ? 1 : 0);
+            post.setIsDeleted(0);
+            post.setPublishedTime(base.plusHours(i));
+            post.setCreateTime(base.plusHours(i));
+            post.setUpdateTime(base.plusHours(i + 1));
+            post.setAuthor(author);
+            post.setCategory(category);
+            post.setTags(tags);
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    /**
+     * 生成指定长度的中英文混排文本
+     */
+    public static String text(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+}
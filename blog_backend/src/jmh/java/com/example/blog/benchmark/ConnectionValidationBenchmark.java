@@ -0,0 +1,68 @@
+package com.example.blog.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接借出校验基准：connection-test-query（SELECT 1）与 JDBC4 isValid（COM_PING）对比
+ *
+ * <p>
+ * Hikari 只在连接空闲超过 aliveBypassWindowMs（默认 500ms）后借出时校验，低峰期的请求几乎每次都要付出这次往返。
+ * 基准把该窗口设为 0，使每次借出都校验，测得的差值即单次校验的开销。运行方式见 {@link MySqlTarget}。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dcom.zaxxer.hikari.aliveBypassWindowMs=0")
+@State(Scope.Benchmark)
+public class ConnectionValidationBenchmark {
+
+    @Param({ "connectionTestQuery", "jdbc4" })
+    private String validation;
+
+    private HikariDataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(MySqlTarget.url());
+        config.setDataSourceProperties(MySqlTarget.performanceProfile());
+        config.setUsername(MySqlTarget.credentials().getProperty("user"));
+        config.setPassword(MySqlTarget.credentials().getProperty("password"));
+        config.setMaximumPoolSize(1);
+        config.setPoolName("BenchmarkCP");
+        if ("connectionTestQuery".equals(validation)) {
+            config.setConnectionTestQuery("SELECT 1");
+        }
+        dataSource = new HikariDataSource(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean borrow() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.entity.Post;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostMapper.findByStatusWithPage 结果映射基准
+ *
+ * <p>
+ * 解析真实的 PostMapper.xml，把合成的“文章 × 标签”连接结果集交给 MyBatis 的
+ * {@link DefaultResultSetHandler}，测量嵌套结果映射（作者、分类、标签集合）折叠成 Post 对象的开销。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetailResultMapBenchmark {
+
+    private static final String STATEMENT_ID = "com.example.blog.mapper.PostMapper.findByStatusWithPage";
+
+    @Param({ "10", "50" })
+    private int posts;
+
+    @Param({ "3" })
+    private int tagsPerPost;
+
+    private Configuration configuration;
+    private MappedStatement mappedStatement;
+    private BoundSql boundSql;
+    private Executor executor;
+    private Statement statement;
+
+    @Setup
+    public void setUp() throws Exception {
+        configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        String resource = "mapper/PostMapper.xml";
+        try (InputStream in = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        mappedStatement = configuration.getMappedStatement(STATEMENT_ID);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("status", 1);
+        parameters.put("offset", 0);
+        parameters.put("size", posts);
+        parameters.put("keyword", null);
+        boundSql = mappedStatement.getBoundSql(parameters);
+        executor = configuration.newExecutor(null);
+        statement = SyntheticResultSet.statement(columns(), rows());
+    }
+
+    @Benchmark
+    public List<Object> mapRows() throws Exception {
+        DefaultResultSetHandler handler = new DefaultResultSetHandler(executor, mappedStatement, null, null,
+                boundSql, RowBounds.DEFAULT);
+        List<Object> result = handler.handleResultSets(statement);
+        if (result.size() != posts || ((Post) result.get(0)).getTags().size() != tagsPerPost) {
+            throw new IllegalStateException("结果映射不符合预期");
+        }
+        return result;
+    }
+
+    private static List<SyntheticResultSet.Column> columns() {
+        List<SyntheticResultSet.Column> columns = new ArrayList<>();
+        columns.add(new SyntheticResultSet.Column("id", Types.BIGINT, Long.class));
+        columns.add(new SyntheticResultSet.Column("title", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("summary", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("content", Types.LONGVARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("cover_image", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("author_id", Types.BIGINT, Long.class));
+        columns.add(new SyntheticResultSet.Column("category_id", Types.BIGINT, Long.class));
+        columns.add(new SyntheticResultSet.Column("status", Types.TINYINT, Integer.class));
+        columns.add(new SyntheticResultSet.Column("view_count", Types.INTEGER, Integer.class));
+        columns.add(new SyntheticResultSet.Column("like_count", Types.INTEGER, Integer.class));
+        columns.add(new SyntheticResultSet.Column("comment_count", Types.INTEGER, Integer.class));
+        columns.add(new SyntheticResultSet.Column("is_top", Types.TINYINT, Integer.class));
+        columns.add(new SyntheticResultSet.Column("is_deleted", Types.TINYINT, Integer.class));
+        columns.add(new SyntheticResultSet.Column("published_time", Types.TIMESTAMP, LocalDateTime.class));
+        columns.add(new SyntheticResultSet.Column("create_time", Types.TIMESTAMP, LocalDateTime.class));
+        columns.add(new SyntheticResultSet.Column("update_time", Types.TIMESTAMP, LocalDateTime.class));
+        columns.add(new SyntheticResultSet.Column("author_username", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("author_nickname", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("author_avatar", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("category_name", Types.VARCHAR, String.class));
+        columns.add(new SyntheticResultSet.Column("tag_id", Types.BIGINT, Long.class));
+        columns.add(new SyntheticResultSet.Column("tag_name", Types.VARCHAR, String.class));
+        return columns;
+    }
+
+    private List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Post post : BenchmarkFixtures.posts(posts, 2000)) {
+            for (int t = 0; t < tagsPerPost; t++) {
+                long tagId = (post.getId() + t) % 9 + 1 + t * 10L;
+                rows.add(new Object[] {
+                        post.getId(), post.getTitle(), post.getSummary(), post.getContent(), post.getCoverImage(),
+                        post.getAuthorId(), post.getCategoryId(), post.getStatus(), post.getViewCount(),
+                        post.getLikeCount(), post.getCommentCount(), post.getIsTop(), post.getIsDeleted(),
+                        post.getPublishedTime(), post.getCreateTime(), post.getUpdateTime(),
+                        post.getAuthor().getUsername(), post.getAuthor().getNickname(), post.getAuthor().getAvatar(),
+                        post.getCategory().getName(), tagId, "tag-" + tagId
+                });
+            }
+        }
+        return rows;
+    }
+}
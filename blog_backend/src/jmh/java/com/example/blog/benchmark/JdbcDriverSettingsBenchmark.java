@@ -0,0 +1,204 @@
+package com.example.blog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MySQL Connector/J 性能参数基准
+ *
+ * <p>
+ * 在同一个 MySQL 实例上逐项开启 application-prod.yml 中的驱动参数（{@code settings}），对比：
+ * </p>
+ * <ul>
+ *     <li>{@link #selectById}：自动提交下按主键查询一篇文章，对应大多数无事务的查询；</li>
+ *     <li>{@link #readOnlyTransaction}：按 Spring 只读事务的调用顺序（setReadOnly、setAutoCommit、查询、
+ *     commit、复位）执行同一查询，对应 {@code @Transactional(readOnly = true)} 的读路径；</li>
+ *     <li>{@link #insertTagsBatch}：JDBC 批处理插入一篇文章的 8 个标签关联，对应数据导入的 BATCH 执行器；</li>
+ *     <li>{@link #insertTagsMultiValues}：{@code PostTagMapper.insertBatch} 生成的多值 INSERT，
+ *     本身就是一次往返，用于对照批处理改写后的效果。</li>
+ * </ul>
+ * <p>
+ * 表结构与 post、post_tag 一致但使用临时表，连接关闭后自动删除。运行方式见 {@link MySqlTarget}。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JdbcDriverSettingsBenchmark {
+
+    private static final int POSTS = 1000;
+
+    private static final int TAGS_PER_POST = 8;
+
+    private static final String SELECT_POST = "SELECT id, title, excerpt, author_id, category_id, status, view_count, "
+            + "create_time, update_time FROM bench_post WHERE id = ?";
+
+    private static final String INSERT_POST_TAG = "INSERT INTO bench_post_tag (post_id, tag_id) VALUES (?, ?)";
+
+    private static final String DELETE_POST_TAGS = "DELETE FROM bench_post_tag WHERE post_id = ?";
+
+    private static final String INSERT_POST_TAGS_MULTI_VALUES;
+
+    static {
+        StringBuilder sql = new StringBuilder("INSERT INTO bench_post_tag (post_id, tag_id) VALUES ");
+        for (int i = 0; i < TAGS_PER_POST; i++) {
+            sql.append(i == 0 ? "(?, ?)" : ",(?, ?)");
+        }
+        INSERT_POST_TAGS_MULTI_VALUES = sql.toString();
+    }
+
+    /**
+     * 开启的驱动参数，多个用 + 连接；all 为 application-prod.yml 中的全部参数，baseline 为驱动默认值
+     */
+    @Param({ "baseline", "cachePrepStmts", "useServerPrepStmts", "useServerPrepStmts+cachePrepStmts",
+            "useLocalSessionState", "rewriteBatchedStatements", "all" })
+    private String settings;
+
+    private Connection connection;
+    private long nextId;
+
+    @Setup
+    public void setUp() throws Exception {
+        Properties properties = MySqlTarget.credentials();
+        properties.putAll(driverProperties(settings));
+        connection = DriverManager.getConnection(MySqlTarget.url(), properties);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE bench_post (id BIGINT PRIMARY KEY, title VARCHAR(200) NOT NULL, "
+                    + "excerpt VARCHAR(500), author_id BIGINT NOT NULL, category_id BIGINT, status TINYINT NOT NULL, "
+                    + "view_count INT NOT NULL, create_time DATETIME NOT NULL, update_time DATETIME NOT NULL)");
+            statement.execute("CREATE TEMPORARY TABLE bench_post_tag (post_id BIGINT NOT NULL, tag_id BIGINT NOT NULL, "
+                    + "PRIMARY KEY (post_id, tag_id))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bench_post VALUES "
+                + "(?, ?, ?, ?, ?, 1, 0, NOW(), NOW())")) {
+            for (int id = 1; id <= POSTS; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "文章标题 " + id);
+                insert.setString(3, "摘要 " + id);
+                insert.setLong(4, id % 50 + 1);
+                insert.setLong(5, id % 12 + 1);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Benchmark
+    public long selectById() throws Exception {
+        return queryPost(connection);
+    }
+
+    @Benchmark
+    public long readOnlyTransaction() throws Exception {
+        // DataSourceTransactionManager：prepareConnectionForTransaction → doBegin → 提交 → 复位
+        connection.setReadOnly(true);
+        connection.setAutoCommit(false);
+        long id = queryPost(connection);
+        connection.commit();
+        connection.setAutoCommit(true);
+        connection.setReadOnly(false);
+        return id;
+    }
+
+    @Benchmark
+    public int insertTagsBatch() throws Exception {
+        long postId = nextPostId();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_POST_TAG)) {
+            for (int tag = 1; tag <= TAGS_PER_POST; tag++) {
+                insert.setLong(1, postId);
+                insert.setLong(2, tag);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return deleteTags(postId);
+    }
+
+    @Benchmark
+    public int insertTagsMultiValues() throws Exception {
+        long postId = nextPostId();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_POST_TAGS_MULTI_VALUES)) {
+            for (int tag = 1; tag <= TAGS_PER_POST; tag++) {
+                insert.setLong(tag * 2 - 1, postId);
+                insert.setLong(tag * 2, tag);
+            }
+            insert.executeUpdate();
+        }
+        return deleteTags(postId);
+    }
+
+    private long queryPost(Connection connection) throws Exception {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_POST)) {
+            select.setLong(1, nextPostId());
+            try (ResultSet rs = select.executeQuery()) {
+                long sum = 0;
+                while (rs.next()) {
+                    sum += rs.getLong(1) + rs.getString(2).length() + rs.getLong(4) + rs.getInt(7)
+                            + rs.getTimestamp(8).getNanos();
+                }
+                return sum;
+            }
+        }
+    }
+
+    private int deleteTags(long postId) throws Exception {
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_POST_TAGS)) {
+            delete.setLong(1, postId);
+            return delete.executeUpdate();
+        }
+    }
+
+    private long nextPostId() {
+        nextId = nextId % POSTS + 1;
+        return nextId;
+    }
+
+    /**
+     * 从线上配置中取出本组要开启的参数；cachePrepStmts 连同 prepStmtCache* 容量参数一起开启
+     */
+    static Properties driverProperties(String settings) {
+        Properties profile = MySqlTarget.performanceProfile();
+        Properties selected = new Properties();
+        if ("baseline".equals(settings)) {
+            return selected;
+        }
+        if ("all".equals(settings)) {
+            return profile;
+        }
+        for (String name : settings.split("\\+")) {
+            if (!profile.containsKey(name)) {
+                throw new IllegalArgumentException("application-prod.yml 中没有驱动参数 " + name);
+            }
+            profile.stringPropertyNames().stream()
+                    .filter(key -> key.equals(name) || ("cachePrepStmts".equals(name) && key.startsWith("prepStmtCache")))
+                    .forEach(key -> selected.setProperty(key, profile.getProperty(key)));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.dto.JsonEnvelope;
+import com.example.blog.entity.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标签列表响应基准：每次构造并序列化 ApiResponse 与写出预序列化的 JsonEnvelope
+ *
+ * <p>
+ * 两种方式都写入同一个复用的输出缓冲区，只比较响应体生成的开销（不含查库）。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonEnvelopeBenchmark {
+
+    @Param({ "20", "200" })
+    private int tagCount;
+
+    private ObjectMapper objectMapper;
+    private List<Tag> tags;
+    private JsonEnvelope<List<Tag>> envelope;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        tags = new ArrayList<>(tagCount);
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 1; i <= tagCount; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i);
+            tag.setName("tag-" + i);
+            tag.setCreateTime(time);
+            tag.setUpdateTime(time);
+            tags.add(tag);
+        }
+        envelope = JsonEnvelope.of(objectMapper, ApiResponse.success("获取标签列表成功", tags));
+        out = new ByteArrayOutputStream(envelope.length());
+    }
+
+    @Benchmark
+    public int serializeEachTime() throws Exception {
+        out.reset();
+        objectMapper.writeValue(out, ApiResponse.success("获取标签列表成功", tags));
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeEnvelope() throws Exception {
+        out.reset();
+        envelope.writeTo(out);
+        return out.size();
+    }
+}
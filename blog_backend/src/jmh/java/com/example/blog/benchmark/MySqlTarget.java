@@ -0,0 +1,65 @@
+package com.example.blog.benchmark;
+
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Properties;
+
+/**
+ * 驱动与连接池基准使用的 MySQL 实例
+ *
+ * <p>
+ * 这类基准测量的是网络往返与服务端解析，必须连真实的 MySQL，通过环境变量指定（JMH fork 的进程会继承）：
+ * </p>
+ *
+ * <pre>
+ * BENCH_JDBC_URL=jdbc:mysql://localhost:3306/blog BENCH_JDBC_USERNAME=root BENCH_JDBC_PASSWORD=*** \
+ *   ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="JdbcDriverSettings -rf json -rff target/jmh-jdbc.json"
+ * </pre>
+ *
+ * <p>
+ * URL 中不要带 cachePrepStmts 等性能参数（URL 参数优先于连接属性，会让各组对比失效）。
+ * 基准只使用临时表，不读写业务数据。
+ * </p>
+ */
+final class MySqlTarget {
+
+    private static final String PROFILE_PREFIX = "spring.datasource.hikari.data-source-properties.";
+
+    private MySqlTarget() {
+    }
+
+    static String url() {
+        String url = System.getenv("BENCH_JDBC_URL");
+        if (url == null || !url.startsWith("jdbc:mysql:")) {
+            throw new IllegalStateException("未指定 MySQL 实例，请通过环境变量 BENCH_JDBC_URL=jdbc:mysql://... 运行");
+        }
+        return url;
+    }
+
+    /**
+     * 账号属性，在此基础上叠加要对比的驱动参数
+     */
+    static Properties credentials() {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("BENCH_JDBC_USERNAME", "root"));
+        properties.setProperty("password", System.getenv().getOrDefault("BENCH_JDBC_PASSWORD", ""));
+        return properties;
+    }
+
+    /**
+     * application-prod.yml 中 Hikari 传给 Connector/J 的性能参数，基准与线上配置保持一致
+     */
+    static Properties performanceProfile() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application-prod.yml"));
+        Properties profile = new Properties();
+        yaml.getObject().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith(PROFILE_PREFIX)) {
+                profile.setProperty(name.substring(PROFILE_PREFIX.length()), value.toString());
+            }
+        });
+        return profile;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.dto.PageResult;
+import com.example.blog.entity.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageResult.of 分页结果构造基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageResultBenchmark {
+
+    private List<Post> posts;
+    private long total;
+
+    @Setup
+    public void setUp() {
+        posts = BenchmarkFixtures.posts(10, 100);
+        total = 1234L;
+    }
+
+    @Benchmark
+    public PageResult<Post> of() {
+        return PageResult.of(posts, total, 3, 10);
+    }
+}
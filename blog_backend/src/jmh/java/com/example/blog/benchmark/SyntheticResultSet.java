@@ -0,0 +1,161 @@
+package com.example.blog.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 内存中的 JDBC 结果集
+ *
+ * <p>
+ * 用动态代理实现 MyBatis 结果映射所需的最小 {@link ResultSet} / {@link ResultSetMetaData} / {@link Statement}
+ * 接口，使基准只测量“行 → 对象”的映射开销，而不包含驱动与网络。
+ * </p>
+ */
+public final class SyntheticResultSet {
+
+    /** 列定义：列名 + java.sql.Types 类型码 + Java 类型 */
+    public record Column(String label, int sqlType, Class<?> javaType) {
+    }
+
+    private SyntheticResultSet() {
+    }
+
+    /**
+     * 创建返回指定数据的 Statement，每次调用 getResultSet 都会从第一行重新开始
+     *
+     * @param columns 列定义
+     * @param rows    行数据
+     * @return Statement 代理
+     */
+    public static Statement statement(List<Column> columns, List<Object[]> rows) {
+        return (Statement) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getResultSet":
+                            return resultSet(columns, rows);
+                        case "getUpdateCount":
+                            return -1;
+                        case "getMoreResults":
+                            return false;
+                        default:
+                            return defaultValue(method);
+                    }
+                });
+    }
+
+    private static ResultSet resultSet(List<Column> columns, List<Object[]> rows) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexes.put(columns.get(i).label(), i);
+        }
+        ResultSetMetaData metaData = metaData(columns);
+        return (ResultSet) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, new RowCursor(rows, indexes, metaData));
+    }
+
+    private static ResultSetMetaData metaData(List<Column> columns) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columns.size();
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return columns.get((Integer) args[0] - 1).label();
+                        case "getColumnType":
+                            return columns.get((Integer) args[0] - 1).sqlType();
+                        case "getColumnClassName":
+                            return columns.get((Integer) args[0] - 1).javaType().getName();
+                        default:
+                            return defaultValue(method);
+                    }
+                });
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+            return 0;
+        }
+        return null;
+    }
+
+    /**
+     * 结果集游标，按列名返回当前行的值并维护 wasNull 状态
+     */
+    private static final class RowCursor implements InvocationHandler {
+
+        private final List<Object[]> rows;
+        private final Map<String, Integer> indexes;
+        private final ResultSetMetaData metaData;
+        private int position = -1;
+        private boolean lastWasNull;
+        private boolean closed;
+
+        RowCursor(List<Object[]> rows, Map<String, Integer> indexes, ResultSetMetaData metaData) {
+            this.rows = rows;
+            this.indexes = indexes;
+            this.metaData = metaData;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "next":
+                    return ++position < rows.size();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getMetaData":
+                    return metaData;
+                case "getType":
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                case "wasNull":
+                    return lastWasNull;
+                case "getString":
+                    return value(args[0], null);
+                case "getLong": {
+                    Object value = value(args[0], null);
+                    return value == null ? 0L : ((Number) value).longValue();
+                }
+                case "getInt": {
+                    Object value = value(args[0], null);
+                    return value == null ? 0 : ((Number) value).intValue();
+                }
+                case "getTimestamp": {
+                    Object value = value(args[0], null);
+                    return value == null ? null : Timestamp.valueOf((LocalDateTime) value);
+                }
+                case "getObject":
+                    return value(args[0], args.length > 1 ? (Class<?>) args[1] : null);
+                default:
+                    return defaultValue(method);
+            }
+        }
+
+        private Object value(Object column, Class<?> type) {
+            Object[] row = rows.get(position);
+            int index = column instanceof Integer i ? i - 1 : indexes.get(column.toString());
+            Object value = row[index];
+            lastWasNull = value == null;
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("列 " + column + " 不是 " + type.getName());
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.blog.loadtest;
+
+import com.example.blog.util.MarkdownRenderer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 压测数据集生成器
+ *
+ * <p>
+ * 在 init.sql 的初始数据之上批量写入用户、分类、标签、文章、文章标签关联与评论。
+ * 分布尽量贴近真实博客：少数作者贡献大部分文章、标签热度服从 Zipf 分布（少数热门标签覆盖大部分文章）、
+ * 每篇文章 1~8 个标签、正文长度呈长尾、评论集中在热门文章上并有一部分楼中楼回复。
+ * 同一个种子总是生成同一份数据，便于前后两次压测结果对比。
+ * 文章正文与应用写入时一样预先渲染为 HTML，压测期间不会触发后台重新渲染。
+ * </p>
+ */
+public final class DatasetGenerator {
+
+    /** 所有压测用户共用的明文密码 */
+    public static final String PASSWORD = "loadtest123";
+
+    /** 压测用户名前缀，序号从 1 开始 */
+    public static final String USERNAME_PREFIX = "lt_user_";
+
+    private static final int BATCH_SIZE = 1000;
+
+    /** 正文词表，search 场景也从中取关键词 */
+    static final String[] VOCABULARY = {
+            "Java", "Spring", "MyBatis", "MySQL", "索引", "缓存", "并发", "线程", "事务", "锁",
+            "Redis", "Docker", "Kubernetes", "Linux", "网络", "性能", "优化", "架构", "设计", "模式",
+            "Vue", "JavaScript", "前端", "组件", "路由", "状态", "接口", "测试", "部署", "监控",
+            "日志", "算法", "数据结构", "内存", "垃圾回收", "JVM", "字节码", "编译", "反射", "注解",
+            "读书", "笔记", "旅行", "生活", "摄影", "咖啡", "城市", "山川", "随笔", "总结",
+            "the", "and", "with", "request", "response", "latency", "throughput", "query", "plan", "benchmark"
+    };
+
+    private final Random random;
+    private final Options options;
+    private final MarkdownRenderer markdownRenderer = new MarkdownRenderer(new ObjectMapper());
+
+    /**
+     * 生成规模参数
+     *
+     * @param users      新增用户数
+     * @param posts      新增文章数
+     * @param tags       标签总数（含 init.sql 中的默认标签）
+     * @param categories 分类总数（含 init.sql 中的默认分类）
+     * @param comments   新增评论数
+     * @param seed       随机种子
+     */
+    public record Options(int users, int posts, int tags, int categories, int comments, long seed) {
+    }
+
+    /**
+     * 生成结果，供压测场景挑选请求参数
+     *
+     * @param usernames        压测用户名
+     * @param publishedPostIds 已发布文章 ID，按热度从高到低排列
+     * @param tagIds           标签 ID，按热度从高到低排列
+     */
+    public record Dataset(List<String> usernames, long[] publishedPostIds, long[] tagIds) {
+    }
+
+    public DatasetGenerator(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    /**
+     * 写入数据集并返回压测需要的索引信息
+     *
+     * @param connection 目标连接，方法内部会关闭自动提交并分批提交
+     * @return 数据集索引
+     */
+    public Dataset generate(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        List<String> usernames = insertUsers(connection);
+        long[] userIds = ids(connection, "SELECT id FROM `user` WHERE username LIKE '" + USERNAME_PREFIX + "%' ORDER BY id");
+        insertNamed(connection, "category", "分类-", options.categories());
+        long[] categoryIds = ids(connection, "SELECT id FROM category ORDER BY id");
+        insertNamed(connection, "tag", "tag-", options.tags());
+        long[] tagIds = ids(connection, "SELECT id FROM tag ORDER BY id");
+
+        long firstPostId = nextId(connection, "post");
+        long[] published = insertPosts(connection, firstPostId, userIds, categoryIds, tagIds);
+        insertComments(connection, nextId(connection, "comment"), published, userIds);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE post p SET comment_count = "
+                    + "(SELECT COUNT(*) FROM comment c WHERE c.post_id = p.id AND c.is_deleted = 0)");
+        }
+        restartIdentity(connection, "post");
+        restartIdentity(connection, "post_tag");
+        restartIdentity(connection, "comment");
+        connection.commit();
+        connection.setAutoCommit(true);
+        return new Dataset(usernames, published, tagIds);
+    }
+
+    private List<String> insertUsers(Connection connection) throws SQLException {
+        // 同一个哈希复用给所有用户：生成 10 万用户时逐个 BCrypt 要耗费数分钟，而登录时的校验开销不受影响
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<String> usernames = new ArrayList<>(options.users());
+        String sql = "INSERT INTO `user` (username, password, nickname, email, role, create_time) VALUES (?, ?, ?, ?, 'USER', ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= options.users(); i++) {
+                String username = USERNAME_PREFIX + i;
+                insert.setString(1, username);
+                insert.setString(2, hash);
+                insert.setString(3, "压测用户" + i);
+                insert.setString(4, username + "@loadtest.local");
+                insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now().minusDays(random.nextInt(720))));
+                insert.addBatch();
+                usernames.add(username);
+                flush(connection, insert, i);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return usernames;
+    }
+
+    private void insertNamed(Connection connection, String table, String prefix, int total) throws SQLException {
+        int existing = ids(connection, "SELECT id FROM " + table).length;
+        String sql = "category".equals(table)
+                ? "INSERT INTO category (name, description, sort_order) VALUES (?, '压测生成的分类', ?)"
+                : "INSERT INTO tag (name) VALUES (?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = existing + 1; i <= total; i++) {
+                insert.setString(1, prefix + i);
+                if ("category".equals(table)) {
+                    insert.setInt(2, i);
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private long[] insertPosts(Connection connection, long firstId, long[] userIds, long[] categoryIds,
+            long[] tagIds) throws SQLException {
+        Zipf authors = new Zipf(userIds.length, 1.0);
+        Zipf tags = new Zipf(tagIds.length, 1.1);
+        Zipf views = new Zipf(100_000, 0.8);
+        List<Long> published = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(730);
+        double minutesPerPost = 730.0 * 24 * 60 / Math.max(1, options.posts());
+
+        String postSql = "INSERT INTO post (id, title, summary, content, cover_image, author_id, category_id, status, "
+                + "view_count, like_count, is_top, published_time, create_time, update_time, "
+                + "content_html, toc, excerpt, word_count, char_count, reading_minutes, render_version) "
+                + "VALUES (?, ?, ?, ?, NULL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String tagSql = "INSERT INTO post_tag (post_id, tag_id) VALUES (?, ?)";
+        try (PreparedStatement post = connection.prepareStatement(postSql);
+                PreparedStatement postTag = connection.prepareStatement(tagSql)) {
+            for (int i = 0; i < options.posts(); i++) {
+                long id = firstId + i;
+                LocalDateTime created = start.plusMinutes((long) (i * minutesPerPost));
+                int roll = random.nextInt(100);
+                int status = roll < 85 ? 1 : roll < 95 ? 0 : 2;
+
+                post.setLong(1, id);
+                post.setString(2, sentence(4 + random.nextInt(8)));
+                post.setString(3, random.nextInt(10) < 7 ? sentence(20 + random.nextInt(20)) : null);
+                String content = content();
+                MarkdownRenderer.Rendered rendered = markdownRenderer.render(content);
+                post.setString(4, content);
+                post.setLong(5, userIds[authors.next(random)]);
+                post.setLong(6, categoryIds[random.nextInt(categoryIds.length)]);
+                post.setInt(7, status);
+                post.setInt(8, views.next(random));
+                post.setInt(9, random.nextInt(200));
+                post.setInt(10, random.nextInt(100) == 0 ? 1 : 0);
+                post.setTimestamp(11, status == 1 ? Timestamp.valueOf(created) : null);
+                post.setTimestamp(12, Timestamp.valueOf(created));
+                post.setTimestamp(13, Timestamp.valueOf(created));
+                post.setString(14, rendered.html());
+                post.setString(15, rendered.tocJson());
+                post.setString(16, rendered.excerpt());
+                post.setInt(17, rendered.wordCount());
+                post.setInt(18, rendered.charCount());
+                post.setInt(19, rendered.readingMinutes());
+                post.setInt(20, MarkdownRenderer.VERSION);
+                post.addBatch();
+                if (status == 1) {
+                    published.add(id);
+                }
+
+                for (int tagIndex : tagSet(tags)) {
+                    postTag.setLong(1, id);
+                    postTag.setLong(2, tagIds[tagIndex]);
+                    postTag.addBatch();
+                }
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    post.executeBatch();
+                    postTag.executeBatch();
+                    connection.commit();
+                }
+            }
+            post.executeBatch();
+            postTag.executeBatch();
+        }
+        connection.commit();
+
+        // 打乱后作为热度顺序：Zipf 抽样时靠前的文章被访问得更多，但热门文章不集中在最早发布的那一批
+        long[] ids = published.stream().mapToLong(Long::longValue).toArray();
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    private void insertComments(Connection connection, long firstId, long[] published, long[] userIds)
+            throws SQLException {
+        if (published.length == 0) {
+            return;
+        }
+        Zipf posts = new Zipf(published.length, 1.0);
+        Map<Long, Long> lastCommentOfPost = new HashMap<>();
+        String sql = "INSERT INTO comment (id, post_id, user_id, parent_id, content, status, create_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < options.comments(); i++) {
+                long id = firstId + i;
+                long postId = published[posts.next(random)];
+                Long parentId = lastCommentOfPost.get(postId);
+
+                insert.setLong(1, id);
+                insert.setLong(2, postId);
+                insert.setLong(3, userIds[random.nextInt(userIds.length)]);
+                if (parentId != null && random.nextInt(5) == 0) {
+                    insert.setLong(4, parentId);
+                } else {
+                    insert.setNull(4, Types.BIGINT);
+                }
+                insert.setString(5, sentence(5 + random.nextInt(40)));
+                insert.setInt(6, random.nextInt(20) == 0 ? 0 : 1);
+                insert.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextInt(500_000))));
+                insert.addBatch();
+                lastCommentOfPost.put(postId, id);
+                flush(connection, insert, i + 1);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private Set<Integer> tagSet(Zipf tags) {
+        // 1 + 几何分布，均值约 2.2 个标签，上限 8 个
+        int count = 1;
+        while (count < 8 && random.nextDouble() < 0.55) {
+            count++;
+        }
+        count = Math.min(count, tags.size());
+        Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            picked.add(tags.next(random));
+        }
+        return picked;
+    }
+
+    private String content() {
+        // 对数正态分布，中位数约 3000 字符，长文可达数万字符
+        double length = Math.exp(Math.log(3000) + random.nextGaussian() * 0.8);
+        int target = (int) Math.max(200, Math.min(60_000, length));
+        StringBuilder content = new StringBuilder(target + 64);
+        while (content.length() < target) {
+            content.append("## ").append(sentence(3 + random.nextInt(4))).append("\n\n");
+            int paragraphs = 1 + random.nextInt(4);
+            for (int p = 0; p < paragraphs && content.length() < target; p++) {
+                content.append(sentence(30 + random.nextInt(60))).append("\n\n");
+            }
+        }
+        return content.toString();
+    }
+
+    private String sentence(int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            // 平方使低位词更常见，让 search 场景同时覆盖高频和低频关键词
+            double u = random.nextDouble();
+            sentence.append(VOCABULARY[(int) (u * u * VOCABULARY.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private void flush(Connection connection, PreparedStatement statement, int count) throws SQLException {
+        if (count % BATCH_SIZE == 0) {
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static long[] ids(Connection connection, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void restartIdentity(Connection connection, String table) throws SQLException {
+        // 显式写入了 ID，需要把自增起点移到最大 ID 之后，否则压测中新建评论会主键冲突
+        long next = nextId(connection, table);
+        try (Statement statement = connection.createStatement()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if ("H2".equals(product)) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            } else {
+                statement.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + next);
+            }
+        }
+    }
+
+    /**
+     * Zipf 分布抽样器，返回 [0, size) 的下标，下标越小概率越高
+     */
+    static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int size, double exponent) {
+            cumulative = new double[size];
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += 1.0 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < size; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+
+        int size() {
+            return cumulative.length;
+        }
+    }
+}
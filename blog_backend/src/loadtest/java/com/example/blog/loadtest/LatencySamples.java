@@ -0,0 +1,82 @@
+package com.example.blog.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 延迟样本
+ *
+ * <p>
+ * 每个工作线程独占一个实例，按纳秒记录每次请求的完整耗时，压测结束后合并排序求分位数。
+ * 压测规模在百万请求以内，直接保存原始样本比直方图更简单且分位数没有量化误差。
+ * </p>
+ */
+public final class LatencySamples {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public void error() {
+        errors++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * 合并多个线程的样本
+     *
+     * @param parts 各线程样本
+     * @return 合并后的样本（已排序）
+     */
+    public static LatencySamples merge(Iterable<LatencySamples> parts) {
+        LatencySamples merged = new LatencySamples();
+        for (LatencySamples part : parts) {
+            if (merged.samples.length < merged.size + part.size) {
+                merged.samples = Arrays.copyOf(merged.samples, merged.size + part.size);
+            }
+            System.arraycopy(part.samples, 0, merged.samples, merged.size, part.size);
+            merged.size += part.size;
+            merged.errors += part.errors;
+        }
+        Arrays.sort(merged.samples, 0, merged.size);
+        return merged;
+    }
+
+    /**
+     * 分位数（毫秒），要求样本已排序
+     *
+     * @param quantile 0~1
+     * @return 毫秒
+     */
+    public double percentileMillis(double quantile) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * size) - 1;
+        return samples[Math.max(0, Math.min(size - 1, index))] / 1_000_000.0;
+    }
+
+    public double meanMillis() {
+        if (size == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += samples[i];
+        }
+        return sum / (double) size / 1_000_000.0;
+    }
+}
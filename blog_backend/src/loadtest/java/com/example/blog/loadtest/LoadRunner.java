@@ -0,0 +1,160 @@
+package com.example.blog.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 闭环压测执行器
+ *
+ * <p>
+ * 固定数量的工作线程（虚拟线程）各自循环“发请求 → 等响应 → 记录耗时”，先预热再正式计时。
+ * 闭环模型下吞吐量 = 并发数 / 平均延迟，服务端变慢时请求速率会随之下降，
+ * 因此对比优化前后应同时看吞吐量和高分位延迟。
+ * </p>
+ */
+public class LoadRunner {
+
+    private static final byte[] SUCCESS_PREFIX = "{\"code\":200".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final int concurrency;
+    private final long seed;
+    private final PoolSampler poolSampler;
+
+    /**
+     * 单个场景（或混合场景中的一个子场景）的统计结果，pools 为计时阶段的连接池占用，子场景为 null
+     */
+    public record Result(String name, int concurrency, long requests, long errors, double seconds,
+            double throughput, double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+            double maxMs, List<PoolSampler.Usage> pools) {
+
+        static Result of(String name, int concurrency, LatencySamples samples, double seconds,
+                List<PoolSampler.Usage> pools) {
+            return new Result(name, concurrency, samples.size(), samples.errors(), seconds,
+                    samples.size() / seconds, samples.meanMillis(), samples.percentileMillis(0.50),
+                    samples.percentileMillis(0.90), samples.percentileMillis(0.99),
+                    samples.percentileMillis(0.999), samples.percentileMillis(1.0), pools);
+        }
+    }
+
+    public LoadRunner(HttpClient client, Workload workload, int concurrency, long seed, PoolSampler poolSampler) {
+        this.client = client;
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.seed = seed;
+        this.poolSampler = poolSampler;
+    }
+
+    /**
+     * 执行一个场景
+     *
+     * @param scenario      场景
+     * @param warmupSeconds 预热时长，期间样本丢弃
+     * @param seconds       计时时长
+     * @return 统计结果，MIXED 会额外包含各子场景的结果
+     */
+    public List<Result> run(Scenario scenario, int warmupSeconds, int seconds) throws InterruptedException {
+        if (warmupSeconds > 0) {
+            execute(scenario, warmupSeconds);
+        }
+        PoolSampler.Sampling sampling = poolSampler.start();
+        long start = System.nanoTime();
+        List<Map<Scenario, LatencySamples>> perWorker = execute(scenario, seconds);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        List<PoolSampler.Usage> pools = sampling.stop();
+
+        List<Result> results = new ArrayList<>();
+        List<LatencySamples> all = new ArrayList<>();
+        perWorker.forEach(samples -> all.addAll(samples.values()));
+        results.add(Result.of(scenario.label(), concurrency, LatencySamples.merge(all), elapsed, pools));
+        if (scenario == Scenario.MIXED) {
+            for (Scenario sub : Scenario.values()) {
+                List<LatencySamples> parts = new ArrayList<>();
+                perWorker.forEach(samples -> {
+                    if (samples.containsKey(sub)) {
+                        parts.add(samples.get(sub));
+                    }
+                });
+                if (!parts.isEmpty()) {
+                    results.add(Result.of("mixed/" + sub.label(), concurrency, LatencySamples.merge(parts), elapsed,
+                            null));
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Map<Scenario, LatencySamples>> execute(Scenario scenario, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Map<Scenario, LatencySamples>> perWorker = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Map<Scenario, LatencySamples> samples = new EnumMap<>(Scenario.class);
+            perWorker.add(samples);
+            Random random = new Random(seed * 31 + i);
+            workers.add(Thread.ofVirtual().name("loadtest-" + i).start(() -> loop(scenario, random, samples, deadline)));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return perWorker;
+    }
+
+    private void loop(Scenario scenario, Random random, Map<Scenario, LatencySamples> samples, long deadline) {
+        while (System.nanoTime() < deadline) {
+            Scenario actual = scenario.pick(random);
+            HttpRequest request = workload.request(actual, random);
+            LatencySamples target = samples.computeIfAbsent(actual, key -> new LatencySamples());
+            long begin = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                target.record(System.nanoTime() - begin);
+                if (!succeeded(response)) {
+                    target.error();
+                }
+            } catch (IOException e) {
+                target.record(System.nanoTime() - begin);
+                target.error();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 接口统一返回 ApiResponse，HTTP 200 之外还要求业务码为 200
+     */
+    private static boolean succeeded(HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            return false;
+        }
+        byte[] head = response.body();
+        if (response.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent()) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(head))) {
+                head = in.readNBytes(SUCCESS_PREFIX.length);
+            }
+        }
+        if (head.length < SUCCESS_PREFIX.length) {
+            return false;
+        }
+        for (int i = 0; i < SUCCESS_PREFIX.length; i++) {
+            if (head[i] != SUCCESS_PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
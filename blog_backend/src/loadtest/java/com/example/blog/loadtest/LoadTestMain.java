@@ -0,0 +1,180 @@
+package com.example.blog.loadtest;
+
+import com.example.blog.BlogApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 端到端压测入口
+ *
+ * <p>
+ * 依次完成：初始化嵌入式数据库（默认 H2 MySQL 兼容模式，表结构来自 db/init.sql）→ 按种子生成数据集 →
+ * 以 prod,loadtest 配置在随机端口启动完整应用 → 逐个执行场景并输出吞吐量与延迟分位数。
+ * 全程不依赖外部服务，可在离线的单台 Linux 机器上运行。
+ * </p>
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--posts=20000 --concurrency=32 --duration=30"
+ * </pre>
+ */
+public final class LoadTestMain {
+
+    private static final String H2_URL = "jdbc:h2:mem:blog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("users", "500");
+        DEFAULTS.put("posts", "5000");
+        DEFAULTS.put("tags", "200");
+        DEFAULTS.put("categories", "12");
+        DEFAULTS.put("comments", "20000");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("concurrency", "16");
+        DEFAULTS.put("warmup", "5");
+        DEFAULTS.put("duration", "15");
+        DEFAULTS.put("scenarios", "list,detail,search,login,comment,mixed");
+        DEFAULTS.put("jdbc-url", H2_URL);
+        DEFAULTS.put("db-username", "sa");
+        DEFAULTS.put("db-password", "");
+        DEFAULTS.put("report", "target/loadtest/report.json");
+    }
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String jdbcUrl = options.get("jdbc-url");
+
+        long seedStart = System.nanoTime();
+        DatasetGenerator.Dataset dataset;
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, options.get("db-username"),
+                options.get("db-password"))) {
+            if (jdbcUrl.startsWith("jdbc:h2:")) {
+                SchemaScript.apply(connection);
+            }
+            dataset = new DatasetGenerator(new DatasetGenerator.Options(intOption(options, "users"),
+                    intOption(options, "posts"), intOption(options, "tags"), intOption(options, "categories"),
+                    intOption(options, "comments"), Long.parseLong(options.get("seed")))).generate(connection);
+        }
+        System.out.printf("数据集生成完成：%d 用户，%d 篇已发布文章，%d 个标签，耗时 %.1fs%n",
+                dataset.usernames().size(), dataset.publishedPostIds().length, dataset.tagIds().length,
+                (System.nanoTime() - seedStart) / 1e9);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .run("--spring.profiles.active=prod,loadtest",
+                        "--spring.datasource.url=" + jdbcUrl,
+                        // 清空 loadtest 配置中的 H2 驱动类，按 URL 推断，--jdbc-url 指向 MySQL 时才能启动
+                        "--spring.datasource.driver-class-name=",
+                        "--spring.datasource.username=" + options.get("db-username"),
+                        "--spring.datasource.password=" + options.get("db-password"));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            int concurrency = intOption(options, "concurrency");
+            Workload workload = new Workload(client, baseUrl, dataset);
+            workload.login(concurrency);
+            PoolSampler poolSampler = new PoolSampler(
+                    List.copyOf(context.getBeansOfType(HikariDataSource.class).values()));
+            LoadRunner runner = new LoadRunner(client, workload, concurrency, Long.parseLong(options.get("seed")),
+                    poolSampler);
+
+            List<LoadRunner.Result> results = new ArrayList<>();
+            for (String name : options.get("scenarios").split(",")) {
+                Scenario scenario = Scenario.of(name);
+                System.out.printf("执行场景 %s：并发 %d，预热 %ss，计时 %ss%n", scenario.label(), concurrency,
+                        options.get("warmup"), options.get("duration"));
+                results.addAll(runner.run(scenario, intOption(options, "warmup"), intOption(options, "duration")));
+            }
+
+            print(results);
+            write(new File(options.get("report")), options, results);
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static void print(List<LoadRunner.Result> results) {
+        System.out.printf("%n%-16s %9s %7s %10s %9s %9s %9s %9s %9s %9s%n", "scenario", "requests", "errors",
+                "req/s", "mean(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (LoadRunner.Result r : results) {
+            System.out.printf("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", r.name(), r.requests(),
+                    r.errors(), r.throughput(), r.meanMs(), r.p50Ms(), r.p90Ms(), r.p99Ms(), r.p999Ms(), r.maxMs());
+        }
+
+        // 平均活动连接数 = 吞吐量 × 持有连接时间，是数据库侧的实际并发度；峰值接近上限或出现等待说明连接池偏小
+        System.out.printf("%n%-16s %-16s %7s %11s %10s %12s %11s%n", "scenario", "pool", "maximum", "mean-active",
+                "max-active", "mean-waiting", "max-waiting");
+        for (LoadRunner.Result r : results) {
+            if (r.pools() == null) {
+                continue;
+            }
+            for (PoolSampler.Usage usage : r.pools()) {
+                System.out.printf("%-16s %-16s %7d %11.2f %10d %12.2f %11d%n", r.name(), usage.pool(),
+                        usage.maximum(), usage.meanActive(), usage.maxActive(), usage.meanWaiting(),
+                        usage.maxWaiting());
+            }
+        }
+    }
+
+    private static void write(File file, Map<String, String> options, List<LoadRunner.Result> results)
+            throws Exception {
+        Map<String, String> recorded = new LinkedHashMap<>(options);
+        recorded.remove("db-password");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("time", LocalDateTime.now().toString());
+        report.put("java", System.getProperty("java.version"));
+        report.put("cpus", Runtime.getRuntime().availableProcessors());
+        report.put("options", recorded);
+        report.put("results", results);
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IllegalStateException("无法创建目录: " + parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("压测报告已写入 " + file.getPath());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为 --key=value: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("未知参数 " + key + "，可用参数: " + DEFAULTS.keySet());
+            }
+            options.put(key, arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String key) {
+        return Integer.parseInt(options.get(key));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.blog.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 连接池占用采样
+ *
+ * <p>
+ * 计时阶段每 {@link #INTERVAL_MILLIS} 毫秒读取一次各 Hikari 连接池的活动连接数与等待线程数。
+ * 活动连接数的平均值即“吞吐量 × 单次请求持有连接的时间”（利特尔法则），是数据库侧真实的并发度，
+ * 连接池上限按它加上余量确定；出现等待线程说明上限已成为瓶颈。
+ * </p>
+ */
+public final class PoolSampler {
+
+    private static final long INTERVAL_MILLIS = 5;
+
+    private final List<HikariDataSource> pools;
+
+    /**
+     * 单个连接池在一个场景内的占用统计
+     *
+     * @param pool        连接池名称
+     * @param maximum     连接池上限
+     * @param meanActive  平均活动连接数
+     * @param maxActive   活动连接数峰值
+     * @param meanWaiting 平均等待连接的线程数
+     * @param maxWaiting  等待连接的线程数峰值
+     */
+    public record Usage(String pool, int maximum, double meanActive, int maxActive, double meanWaiting,
+            int maxWaiting) {
+    }
+
+    public PoolSampler(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * 开始采样，返回的句柄在计时结束时调用 {@link Sampling#stop()}
+     */
+    public Sampling start() {
+        Sampling sampling = new Sampling();
+        sampling.thread = Thread.ofPlatform().daemon().name("loadtest-pool-sampler").start(sampling::loop);
+        return sampling;
+    }
+
+    public final class Sampling {
+
+        private final long[] activeSum = new long[pools.size()];
+        private final long[] waitingSum = new long[pools.size()];
+        private final int[] activeMax = new int[pools.size()];
+        private final int[] waitingMax = new int[pools.size()];
+        private long samples;
+        private volatile boolean running = true;
+        private Thread thread;
+
+        private void loop() {
+            while (running) {
+                for (int i = 0; i < pools.size(); i++) {
+                    HikariPoolMXBean bean = pools.get(i).getHikariPoolMXBean();
+                    if (bean == null) {
+                        continue;
+                    }
+                    int active = bean.getActiveConnections();
+                    int waiting = bean.getThreadsAwaitingConnection();
+                    activeSum[i] += active;
+                    waitingSum[i] += waiting;
+                    activeMax[i] = Math.max(activeMax[i], active);
+                    waitingMax[i] = Math.max(waitingMax[i], waiting);
+                }
+                samples++;
+                try {
+                    Thread.sleep(INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 停止采样并汇总
+         */
+        public List<Usage> stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            List<Usage> usages = new ArrayList<>();
+            long count = Math.max(samples, 1);
+            for (int i = 0; i < pools.size(); i++) {
+                HikariDataSource pool = pools.get(i);
+                usages.add(new Usage(pool.getPoolName(), pool.getMaximumPoolSize(), (double) activeSum[i] / count,
+                        activeMax[i], (double) waitingSum[i] / count, waitingMax[i]));
+            }
+            return usages;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.blog.loadtest;
+
+import java.util.Random;
+
+/**
+ * 压测场景
+ *
+ * <p>
+ * 每个场景对应博客前台的一类真实请求；MIXED 按线上常见的读多写少比例混合其余场景。
+ * </p>
+ */
+public enum Scenario {
+
+    /** 首页文章分页列表，页码偏向前几页 */
+    LIST(45),
+
+    /** 文章详情（含浏览量自增），文章按热度抽样 */
+    DETAIL(35),
+
+    /** 关键词搜索 */
+    SEARCH(10),
+
+    /** 用户名密码登录（BCrypt 校验 + 签发令牌） */
+    LOGIN(5),
+
+    /** 登录用户发表评论 */
+    COMMENT(5),
+
+    /** 按权重混合以上场景 */
+    MIXED(0);
+
+    private final int weight;
+
+    Scenario(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * 解析命令行中的场景名（不区分大小写）
+     *
+     * @param name 场景名
+     * @return 场景
+     */
+    public static Scenario of(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    /**
+     * 返回本次实际执行的场景，MIXED 会按权重抽取一个具体场景
+     *
+     * @param random 随机数源
+     * @return 具体场景
+     */
+    public Scenario pick(Random random) {
+        if (this != MIXED) {
+            return this;
+        }
+        int total = 0;
+        for (Scenario scenario : values()) {
+            total += scenario.weight;
+        }
+        int roll = random.nextInt(total);
+        for (Scenario scenario : values()) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return LIST;
+    }
+
+    public String label() {
+        return name().toLowerCase();
+    }
+}
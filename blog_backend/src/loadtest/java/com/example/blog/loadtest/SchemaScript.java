@@ -0,0 +1,98 @@
+package com.example.blog.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * db/init.sql 的 H2 适配加载器
+ *
+ * <p>
+ * 直接读取生产使用的建表脚本，只做 H2 MySQL 兼容模式无法接受的最小改写：
+ * 去掉 ngram 全文索引（H2 不支持，搜索场景在 H2 下走 LIKE），
+ * 并给普通索引名加上表名前缀（H2 的索引名在 schema 内全局唯一，而 init.sql 中 idx_status 等在多张表重复出现）。
+ * 这样表结构始终跟随 init.sql，不需要另外维护一份测试 DDL。
+ * </p>
+ */
+public final class SchemaScript {
+
+    private static final String RESOURCE = "db/init.sql";
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE IF NOT EXISTS `(\\w+)`");
+
+    private static final Pattern INDEX_NAME = Pattern.compile("^(\\s*(?:UNIQUE )?KEY )`(\\w+)`");
+
+    private SchemaScript() {
+    }
+
+    /**
+     * 在指定连接上执行改写后的 init.sql
+     *
+     * @param connection 目标连接
+     * @return 执行的语句数
+     */
+    public static int apply(Connection connection) throws IOException, SQLException {
+        List<String> statements = statements(read());
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+        return statements.size();
+    }
+
+    /**
+     * 把 init.sql 改写并拆分为可逐条执行的语句
+     *
+     * @param script init.sql 原文
+     * @return 语句列表
+     */
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String table = null;
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            if (trimmed.startsWith("FULLTEXT KEY")) {
+                continue;
+            }
+
+            Matcher create = CREATE_TABLE.matcher(line);
+            if (create.find()) {
+                table = create.group(1);
+            }
+            Matcher index = INDEX_NAME.matcher(line);
+            if (table != null && index.find()) {
+                line = index.replaceFirst("$1`" + table + "_$2`");
+            }
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+                table = null;
+            }
+        }
+        return statements;
+    }
+
+    private static String read() throws IOException {
+        try (InputStream in = SchemaScript.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IOException("类路径中找不到 " + RESOURCE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
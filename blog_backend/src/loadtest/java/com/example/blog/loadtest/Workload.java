@@ -0,0 +1,131 @@
+package com.example.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 压测请求构造器
+ *
+ * <p>
+ * 根据数据集生成每个场景的 HTTP 请求：文章、页码、关键词均按热度抽样，
+ * 评论场景使用预先登录好的一批用户令牌，使评论请求本身不包含登录开销。
+ * </p>
+ */
+public class Workload {
+
+    /** 列表场景覆盖的最大页码 */
+    private static final int MAX_PAGE = 50;
+
+    /** 详情场景模拟的访客数，每个访客使用不同的浏览器 User-Agent，使浏览量去重按真实访客生效 */
+    private static final int VISITORS = 10_000;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DatasetGenerator.Dataset dataset;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DatasetGenerator.Zipf posts;
+    private final DatasetGenerator.Zipf pages;
+    private final DatasetGenerator.Zipf users;
+    private final List<String> tokens = new ArrayList<>();
+
+    public Workload(HttpClient client, String baseUrl, DatasetGenerator.Dataset dataset) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.posts = new DatasetGenerator.Zipf(Math.max(1, dataset.publishedPostIds().length), 1.0);
+        this.pages = new DatasetGenerator.Zipf(MAX_PAGE, 1.2);
+        this.users = new DatasetGenerator.Zipf(Math.max(1, dataset.usernames().size()), 0.6);
+    }
+
+    /**
+     * 预先登录指定数量的用户，供评论场景使用
+     *
+     * @param count 用户数
+     */
+    public void login(int count) throws IOException, InterruptedException {
+        int limit = Math.min(count, dataset.usernames().size());
+        for (int i = 0; i < limit; i++) {
+            HttpResponse<String> response = client.send(loginRequest(dataset.usernames().get(i)),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode body = objectMapper.readTree(response.body());
+            if (body.path("code").asInt() != 200) {
+                throw new IllegalStateException("预登录失败: " + response.body());
+            }
+            tokens.add(body.path("data").path("token").asText());
+        }
+    }
+
+    /**
+     * 构造一个具体场景的请求
+     *
+     * @param scenario 具体场景（不能是 MIXED）
+     * @param random   当前工作线程的随机数源
+     * @return HTTP 请求
+     */
+    public HttpRequest request(Scenario scenario, Random random) {
+        return switch (scenario) {
+            case LIST -> get("/posts?page=" + (pages.next(random) + 1) + "&size=10");
+            case DETAIL -> HttpRequest.newBuilder(get("/posts/" + postId(random)), (name, value) -> true)
+                    .header("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) LoadTest/" + random.nextInt(VISITORS))
+                    .build();
+            case SEARCH -> get("/posts?page=1&size=10&keyword=" + keyword(random));
+            case LOGIN -> loginRequest(dataset.usernames().get(users.next(random)));
+            case COMMENT -> commentRequest(random);
+            case MIXED -> throw new IllegalArgumentException("MIXED 需要先 pick 出具体场景");
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return post("/auth/login", Map.of("username", username, "password", DatasetGenerator.PASSWORD), null);
+    }
+
+    private HttpRequest commentRequest(Random random) {
+        String token = tokens.get(random.nextInt(tokens.size()));
+        Map<String, Object> body = Map.of("postId", postId(random), "content", "压测评论 " + random.nextInt(1_000_000));
+        return post("/comments", body, token);
+    }
+
+    private HttpRequest post(String path, Map<String, ?> body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long postId(Random random) {
+        return dataset.publishedPostIds()[posts.next(random)];
+    }
+
+    private static String keyword(Random random) {
+        String word = DatasetGenerator.VOCABULARY[random.nextInt(DatasetGenerator.VOCABULARY.length)];
+        return URLEncoder.encode(word, StandardCharsets.UTF_8);
+    }
+}
@@ -3,24 +3,37 @@ package com.example.blog;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 博客系统主启动类
  * 
  * @SpringBootApplication: Spring Boot 核心注解，包含自动配置、组件扫描等
  * @MapperScan: 指定 MyBatis Mapper 接口所在包路径，实现接口的自动代理
+ * @EnableScheduling: 启用定时任务，用于批量写回最后登录时间等后台任务
  */
 @SpringBootApplication
 @MapperScan("com.example.blog.mapper")
+@EnableScheduling
 public class BlogApplication {
 
+    /** 启动时间线最多记录的步骤数，超出后不再记录 */
+    private static final int STARTUP_TIMELINE_CAPACITY = 8192;
+
     /**
      * 主方法，应用程序入口点
      * 
      * @param args 命令行参数
      */
     public static void main(String[] args) {
-        SpringApplication.run(BlogApplication.class, args);
+        SpringApplication application = new SpringApplication(BlogApplication.class);
+        // 环境变量 STARTUP_TIMELINE=true 时记录启动时间线，由 StartupTimelineReport 输出最慢的步骤，
+        // 也可通过 /actuator/startup 查看；启动时环境尚未加载，只能从环境变量读取
+        if (Boolean.parseBoolean(System.getenv("STARTUP_TIMELINE"))) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+        }
+        application.run(args);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.example.blog.config;
+
+import com.example.blog.dto.JsonEnvelope;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+/**
+ * 预序列化响应体的消息转换器
+ *
+ * 只负责写出JsonEnvelope：直接把缓存的字节写入响应并设置Content-Length，
+ * 不做任何序列化工作。Spring 按返回值的运行时类型选择转换器，声明为 ApiResponse 的方法返回
+ * JsonEnvelope 时同样由这里写出，其余 ApiResponse 仍交给 Jackson。该类型不会作为请求体出现，因此不支持读取。
+ */
+public class JsonEnvelopeHttpMessageConverter extends AbstractHttpMessageConverter<JsonEnvelope<?>> {
+
+    public JsonEnvelopeHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return JsonEnvelope.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected JsonEnvelope<?> readInternal(@NonNull Class<? extends JsonEnvelope<?>> clazz,
+            @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("不支持读取预序列化响应", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@NonNull JsonEnvelope<?> envelope, MediaType contentType) {
+        return (long) envelope.length();
+    }
+
+    @Override
+    protected void writeInternal(@NonNull JsonEnvelope<?> envelope, @NonNull HttpOutputMessage outputMessage)
+            throws IOException {
+        envelope.writeTo(outputMessage.getBody());
+    }
+}
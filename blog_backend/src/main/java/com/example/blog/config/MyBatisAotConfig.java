@@ -0,0 +1,148 @@
+package com.example.blog.config;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import com.example.blog.util.MapperCache;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.ResolvableType;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * MyBatis 的 Spring AOT 支持
+ *
+ * <p>
+ * {@code @MapperScan} 扫描出的 Mapper 定义为 {@link MapperFactoryBean}，构造参数是接口名字符串、目标类型不带泛型，
+ * AOT 生成的实例化代码无法据此注入构造参数，也无法在不实例化的情况下判断 Bean 的类型。
+ * 这里在 Bean 定义合并后把构造参数换成接口类型，补全泛型目标类型与 SqlSessionTemplate 引用，AOT 处理与普通启动都按此定义创建 Mapper。
+ * </p>
+ * <p>
+ * 原生镜像中 MyBatis 依赖的反射、动态代理、资源与二级缓存的序列化类型也在这里登记，见 {@link MyBatisRuntimeHints}。
+ * </p>
+ */
+@Configuration
+@ImportRuntimeHints(MyBatisAotConfig.MyBatisRuntimeHints.class)
+public class MyBatisAotConfig {
+
+    /** MyBatis 按类名反射创建的内部组件：语言驱动与日志实现（mybatis.configuration.log-impl） */
+    private static final List<String> MYBATIS_TYPES = List.of(
+            "org.apache.ibatis.scripting.xmltags.XMLLanguageDriver",
+            "org.apache.ibatis.scripting.defaults.RawLanguageDriver",
+            "org.apache.ibatis.logging.slf4j.Slf4jImpl",
+            "org.apache.ibatis.logging.stdout.StdOutImpl",
+            "org.apache.ibatis.logging.nologging.NoLoggingImpl");
+
+    @Bean
+    public static MergedBeanDefinitionPostProcessor mapperFactoryBeanTypeResolver() {
+        return (beanDefinition, beanType, beanName) -> {
+            if (!MapperFactoryBean.class.isAssignableFrom(beanType)
+                    || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+                return;
+            }
+            Object mapperInterface = beanDefinition.getPropertyValues().get("mapperInterface");
+            if (mapperInterface instanceof Class<?> type) {
+                resolve(beanDefinition, type);
+            }
+        };
+    }
+
+    private static void resolve(RootBeanDefinition beanDefinition, Class<?> mapperInterface) {
+        ConstructorArgumentValues arguments = new ConstructorArgumentValues();
+        arguments.addGenericArgumentValue(mapperInterface);
+        beanDefinition.setConstructorArgumentValues(arguments);
+        beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(MapperFactoryBean.class, mapperInterface));
+        // 扫描器依赖按类型自动装配注入 SqlSessionTemplate，生成的代码不保留自动装配模式，改为显式引用
+        if (!beanDefinition.getPropertyValues().contains("sqlSessionTemplate")) {
+            beanDefinition.getPropertyValues().add("sqlSessionTemplate", new RuntimeBeanReference(SqlSessionTemplate.class));
+        }
+    }
+
+    /**
+     * AOT 处理时不生成 Mapper 扫描器
+     *
+     * <p>
+     * 扫描器在构建时已经扫描出全部 Mapper，若运行时再注册扫描器会重复扫描，
+     * 与已生成的同名定义冲突导致启动失败。通过 META-INF/spring/aot.factories 注册，普通启动不受影响。
+     * </p>
+     */
+    static class MapperScannerExcludeFilter implements BeanRegistrationExcludeFilter {
+
+        @Override
+        public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+            return MapperScannerConfigurer.class.isAssignableFrom(registeredBean.getBeanClass());
+        }
+    }
+
+    /**
+     * 原生镜像中 MyBatis 所需的元数据
+     *
+     * <ul>
+     *     <li>Mapper 接口：以 JDK 动态代理实现，MapperMethod 通过反射读取方法签名</li>
+     *     <li>实体：结果映射通过 Reflector 读取字段、调用 setter 与构造方法</li>
+     *     <li>Mapper XML 与解析它所需的 DTD；{@code type-aliases-package} 依赖类路径扫描，在原生镜像中无效，
+     *     XML 中一律使用全限定类名</li>
+     *     <li>插件：{@code QueryLedgerInterceptor} 以 JDK 动态代理包装 StatementHandler</li>
+     *     <li>ObjectFactory 反射创建的集合类型</li>
+     * </ul>
+     */
+    static class MyBatisRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> mapper : NativeHintsConfig.classesIn("com.example.blog.mapper", classLoader)) {
+                // 与 @MapperScan 一致只取接口，AOT 生成的 *__BeanDefinitions 类也位于该包
+                if (!mapper.isInterface()) {
+                    continue;
+                }
+                hints.proxies().registerJdkProxy(mapper);
+                hints.reflection().registerType(mapper, MemberCategory.INTROSPECT_PUBLIC_METHODS);
+            }
+            for (Class<?> entity : NativeHintsConfig.classesIn("com.example.blog.entity", classLoader)) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("mapper/*.xml");
+            hints.resources().registerPattern("org/apache/ibatis/builder/xml/*.dtd");
+            hints.resources().registerPattern("org/apache/ibatis/builder/xml/*.xsd");
+
+            hints.proxies().registerJdkProxy(StatementHandler.class);
+            for (String type : MYBATIS_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            for (Class<?> collection : List.of(ArrayList.class, HashMap.class, HashSet.class)) {
+                hints.reflection().registerType(collection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+
+            // 二级缓存由 XML 的 <cache type> 反射创建，缓存值以 Java 序列化保存
+            hints.reflection().registerType(MapperCache.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<? extends Serializable> type : List.of(Tag.class, Category.class, User.class, ArrayList.class,
+                    LocalDateTime.class, Long.class, Integer.class, Number.class)) {
+                hints.serialization().registerType(type);
+            }
+            hints.serialization().registerType(TypeReference.of("java.time.Ser"));
+        }
+    }
+}
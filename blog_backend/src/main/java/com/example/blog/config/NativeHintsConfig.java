@@ -0,0 +1,117 @@
+package com.example.blog.config;
+
+import com.example.blog.util.MarkdownRenderer;
+import com.example.blog.util.TextPatch;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * 原生镜像的可达性元数据
+ *
+ * <p>
+ * Spring AOT 已为控制器的参数与返回值、配置属性、actuator 端点等生成反射元数据，
+ * 这里补充框架无法推断的部分：
+ * <ul>
+ *     <li>不经过控制器、由 ObjectMapper 直接读写的类型：实体与 DTO（响应缓存、订阅源）、草稿编辑操作、文章目录</li>
+ *     <li>jjwt：API 模块按类名反射创建实现类，JSON 序列化器通过 ServiceLoader 加载</li>
+ *     <li>logback-spring.xml 中按类名创建的 Appender、滚动策略与过滤器</li>
+ * </ul>
+ * MyBatis 相关的元数据见 {@link MyBatisAotConfig}。
+ * 元数据只在 AOT 处理时计算，普通启动不受影响。
+ * </p>
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BlogRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /** jjwt-api 按类名反射创建的 jjwt-impl 实现类 */
+    private static final List<String> JJWT_IMPL_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms");
+
+    /** jjwt-jackson 通过 ServiceLoader 提供的序列化器 */
+    private static final List<String> JJWT_JACKSON_TYPES = List.of(
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    /** logback-spring.xml 中按类名创建的组件，以及 encoder 的默认实现 */
+    private static final List<String> LOGBACK_TYPES = List.of(
+            "ch.qos.logback.classic.AsyncAppender",
+            "ch.qos.logback.classic.encoder.PatternLayoutEncoder",
+            "ch.qos.logback.classic.filter.ThresholdFilter",
+            "ch.qos.logback.core.ConsoleAppender",
+            "ch.qos.logback.core.rolling.RollingFileAppender",
+            "ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy");
+
+    static class BlogRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String basePackage : List.of("com.example.blog.entity", "com.example.blog.dto")) {
+                bindingRegistrar.registerReflectionHints(hints.reflection(),
+                        classesIn(basePackage, classLoader).toArray(Class<?>[]::new));
+            }
+            bindingRegistrar.registerReflectionHints(hints.reflection(), TextPatch.Edit.class,
+                    MarkdownRenderer.TocItem.class);
+
+            for (String type : JJWT_IMPL_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String type : JJWT_JACKSON_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            for (String type : LOGBACK_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+
+    /**
+     * 列出包中的全部类与接口（含静态嵌套类），只在 AOT 处理时调用
+     */
+    static List<Class<?>> classesIn(String basePackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter((reader, factory) -> true);
+        return scanner.findCandidateComponents(basePackage).stream()
+                .<Class<?>>map(definition -> ClassUtils.resolveClassName(definition.getBeanClassName(), classLoader))
+                .toList();
+    }
+}
@@ -9,7 +9,16 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+/**
+ * 接口文档配置
+ *
+ * <p>
+ * 文档只在访问 /v3/api-docs 时生成，配置类与文档定义延迟到首次访问时创建，不占用启动时间。
+ * </p>
+ */
+@Lazy
 @Configuration
 public class OpenApiConfig {
 
@@ -1,5 +1,8 @@
 package com.example.blog.config;
 
+import com.example.blog.util.BCryptStrengthCalibrator;
+import com.example.blog.util.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,19 +10,48 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * 密码编码器配置类
- * 
- * 负责配置密码加密方式，使用BCrypt算法对用户密码进行加密存储
+ *
+ * 负责配置密码加密方式，使用BCrypt算法对用户密码进行加密存储。
+ * BCrypt 计算放在有界线程池中执行，cost 可按目标耗时在启动时校准。
  */
 @Configuration
 public class PasswordEncoderConfig {
 
+    @Value("${password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${password-hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${password-hashing.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    @Value("${password-hashing.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password-hashing.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${password-hashing.target-latency-ms:0}")
+    private long targetLatencyMs;
+
     /**
      * 配置密码编码器Bean
-     * 
-     * @return PasswordEncoder BCrypt密码编码器实例
+     *
+     * <p>
+     * BCryptPasswordEncoder 的 upgradeEncoding 会把 cost 低于当前配置的旧哈希标记为需要升级，
+     * 配合 DaoAuthenticationProvider 的 UserDetailsPasswordService，用户登录成功时自动按新 cost 重新加密。
+     * </p>
+     *
+     * @return PasswordEncoder 有界线程池包装的BCrypt密码编码器实例
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = targetLatencyMs > 0
+                ? BCryptStrengthCalibrator.calibrate(minStrength, maxStrength, targetLatencyMs)
+                : minStrength;
+        int hashThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), hashThreads, queueCapacity,
+                waitTimeoutMs);
     }
-}
\ No newline at end of file
+}
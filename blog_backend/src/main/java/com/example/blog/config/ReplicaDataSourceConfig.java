@@ -0,0 +1,95 @@
+package com.example.blog.config;
+
+import com.example.blog.datasource.ReplicaRouter;
+import com.example.blog.datasource.ReplicaStickiness;
+import com.example.blog.datasource.ReplicaWriteTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * 读写分离数据源配置
+ *
+ * <p>
+ * {@code datasource.replica.enabled=true} 时生效，替代 Spring Boot 自动配置的单个连接池：
+ * 主库连接池沿用 {@code spring.datasource.*} 与 {@code spring.datasource.hikari.*}，只读库连接池使用
+ * {@code datasource.replica.*}，驱动与账号未配置时沿用主库。对外暴露的 {@code dataSource} 是
+ * {@link LazyConnectionDataSourceProxy}：事务开始时不取真实连接，执行第一条语句时按连接的只读标记选择，
+ * 只读事务交给 {@link ReplicaRouter}，其余（写事务、无事务的语句）都走主库。
+ * </p>
+ * <p>
+ * 条件在 AOT 处理时固定，AOT/原生镜像构建需在构建时就开启。
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.sticky-ms:5000}")
+    private long stickyMillis;
+
+    @Value("${datasource.replica.retry-ms:30000}")
+    private long retryMillis;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setJdbcUrl(replicaUrl);
+        if (StringUtils.hasText(replicaUsername)) {
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+        }
+        return replica;
+    }
+
+    @Bean
+    public ReplicaStickiness replicaStickiness() {
+        return new ReplicaStickiness(stickyMillis);
+    }
+
+    @Bean
+    public ReplicaWriteTracker replicaWriteTracker(ReplicaStickiness stickiness) {
+        return new ReplicaWriteTracker(stickiness);
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(@Qualifier("primaryDataSource") DataSource primary,
+                                       @Qualifier("replicaDataSource") DataSource replica,
+                                       ReplicaStickiness stickiness) {
+        return new ReplicaRouter(primary, replica, stickiness, retryMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaRouter router) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(router);
+        return proxy;
+    }
+}
@@ -61,6 +61,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        // 登录成功且哈希 cost 低于当前配置时，自动用新 cost 重新加密并保存
+        authProvider.setUserDetailsPasswordService(userService);
         return authProvider;
     }
 
@@ -97,12 +99,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/tags/**").permitAll() // 标签查看
                         .requestMatchers(HttpMethod.GET, "/comments/**").permitAll() // 评论查看
                         .requestMatchers(HttpMethod.GET, "/uploads/**").permitAll() // 文件访问
+                        .requestMatchers(HttpMethod.GET, "/feeds/**").permitAll() // 订阅源与站点地图
                         // Swagger UI 和 OpenAPI 文档
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**",
                                 "/swagger-resources/**")
                         .permitAll()
                         // Actuator 健康检查端点
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        // 其余 Actuator 端点（SQL 台账、缓存、连接池等，含清空操作）需要ADMIN角色
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // 管理员路径需要ADMIN角色
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         // 其他请求需要认证
@@ -123,7 +128,7 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         // 开发环境允许所有来源，生产环境应该配置具体域名
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:*", "http://127.0.0.1:*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
@@ -2,11 +2,16 @@ package com.example.blog.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Web配置类
@@ -19,6 +24,12 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    @Value("${feed.dir:feeds}")
+    private String feedDir;
+
+    @Value("${feed.cache-seconds:300}")
+    private long feedCacheSeconds;
+
     /**
      * 配置静态资源处理器
      * 
@@ -38,5 +49,29 @@ public class WebConfig implements WebMvcConfigurer {
         String absolutePath = directory.getAbsolutePath();
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + absolutePath + File.separator);
+
+        // 订阅源与站点地图由 FeedGenerator 生成为静态文件，带 Last-Modified 与 ETag，客户端可用条件请求
+        registry.addResourceHandler("/feeds/**")
+                .addResourceLocations("file:" + new File(feedDir).getAbsolutePath() + File.separator)
+                .setCacheControl(CacheControl.maxAge(feedCacheSeconds, TimeUnit.SECONDS).cachePublic())
+                .setEtagGenerator(resource -> {
+                    try {
+                        return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+                    } catch (IOException e) {
+                        return null;
+                    }
+                });
+    }
+
+    /**
+     * 注册预序列化响应的消息转换器
+     * 
+     * 放在最前面，保证返回JsonEnvelope的接口直接写出缓存字节，而不是被Jackson当作普通ApiResponse重新序列化
+     * 
+     * @param converters 消息转换器列表
+     */
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new JsonEnvelopeHttpMessageConverter());
     }
-}
\ No newline at end of file
+}
@@ -6,8 +6,10 @@ import com.example.blog.dto.RegisterRequest;
 import com.example.blog.dto.UserVO;
 import com.example.blog.entity.User;
 import com.example.blog.service.IAuthService;
+import com.example.blog.util.LoginRateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import java.util.Map;
@@ -19,7 +21,7 @@ import org.springframework.web.bind.annotation.*;
  * 认证控制器
  *
  * <p>
- * 对外提供用户登录、注册、刷新令牌、查询当前用户等接口，所有接口返回统一格式的
+ * 对外提供用户登录、注册、刷新令牌、退出登录、查询当前用户等接口，所有接口返回统一格式的
  * {@link ApiResponse}，方便前端统一处理。
  * </p>
  */
@@ -31,10 +33,15 @@ public class AuthController {
     @Autowired
     private IAuthService authService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @Operation(summary = "用户登录", description = "使用用户名和密码登录，返回 JWT 令牌")
     @PostMapping("/login")
     public ApiResponse<Map<String, String>> login(
-            @Valid @RequestBody LoginRequest loginRequest) {
+            @Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // 先按 IP 与用户名限流，被拒绝的请求不进入 BCrypt 校验
+        loginRateLimiter.acquire(request.getRemoteAddr(), loginRequest.getUsername());
         // AuthService 会校验凭证并生成访问令牌与刷新令牌
         Map<String, String> tokenMap = authService.login(loginRequest);
         return ApiResponse.success("登录成功", tokenMap);
@@ -49,18 +56,23 @@ public class AuthController {
         return ApiResponse.success("注册成功", UserVO.fromUser(user));
     }
 
-    @Operation(summary = "刷新令牌", description = "使用刷新令牌获取新的访问令牌")
+    @Operation(summary = "刷新令牌", description = "使用刷新令牌获取新的访问令牌与刷新令牌")
     @PostMapping("/refresh")
     public ApiResponse<Map<String, String>> refreshToken(
             @RequestBody Map<String, String> request) {
         // 仅携带 refreshToken 即可刷新；异常会在 AuthService 中统一抛出
         String refreshToken = request.get("refreshToken");
-        String token = authService.refreshToken(refreshToken);
-
-        Map<String, String> tokenMap = Map.of("token", token);
+        Map<String, String> tokenMap = authService.refreshToken(refreshToken);
         return ApiResponse.success("刷新令牌成功", tokenMap);
     }
 
+    @Operation(summary = "退出登录", description = "吊销当前用户已签发的全部访问令牌与刷新令牌")
+    @PostMapping("/logout")
+    public ApiResponse<Void> logout() {
+        authService.logout();
+        return ApiResponse.success("退出登录成功", null);
+    }
+
     @Operation(summary = "获取当前用户", description = "获取当前登录用户的信息")
     @GetMapping("/me")
     public ApiResponse<UserVO> getCurrentUser() {
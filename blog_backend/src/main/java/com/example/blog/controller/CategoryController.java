@@ -3,14 +3,14 @@ package com.example.blog.controller;
 import com.example.blog.dto.ApiResponse;
 import com.example.blog.entity.Category;
 import com.example.blog.service.ICategoryService;
+import com.example.blog.util.JsonEnvelopeCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 分类控制器
  *
@@ -26,11 +26,15 @@ public class CategoryController {
     @Autowired
     private ICategoryService categoryService;
 
+    @Autowired
+    private JsonEnvelopeCache envelopeCache;
+
     @Operation(summary = "获取所有分类", description = "获取所有文章分类列表")
     @GetMapping
     public ApiResponse<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.findAll();
-        return ApiResponse.success("获取分类列表成功", categories);
+        // 分类列表对所有调用方相同，返回缓存的预序列化响应（由 JsonEnvelopeHttpMessageConverter 原样写出），分类增删改后失效
+        return envelopeCache.get(JsonEnvelopeCache.CATEGORIES,
+                () -> ApiResponse.success("获取分类列表成功", categoryService.findAll()));
     }
 
     @Operation(summary = "获取分类详情", description = "根据ID获取分类详情")
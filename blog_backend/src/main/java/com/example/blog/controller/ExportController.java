@@ -0,0 +1,69 @@
+package com.example.blog.controller;
+
+import com.example.blog.export.DataExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 数据导出控制器
+ *
+ * <p>
+ * 管理员下载全站数据（NDJSON，可选 gzip 压缩），用于备份与迁移；路径在 {@code /admin/**} 下，仅管理员可访问。
+ * 响应边查边写，不在内存中拼装完整结果，中断后用 {@code after} 参数从断点继续。
+ * </p>
+ */
+@RestController
+@RequestMapping("/admin/export")
+@Tag(name = "数据导出", description = "管理员数据导出接口")
+public class ExportController {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    @Autowired
+    private DataExporter dataExporter;
+
+    @Operation(summary = "导出全站数据", description = "按用户、分类、标签、文章、文章标签、评论顺序输出NDJSON，末行为end")
+    @GetMapping
+    public void export(
+            @Parameter(description = "断点，格式为 类型:ID，例如 post:1234；为空时从头导出")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "是否gzip压缩")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        // 先校验断点，出错时仍可返回普通的错误响应
+        DataExporter.Checkpoint from = DataExporter.Checkpoint.parse(after);
+
+        String filename = "blog-export-" + LocalDateTime.now().format(FILE_TIME) + (gzip ? ".ndjson.gz" : ".ndjson");
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        // 禁止反向代理缓冲整个响应
+        response.setHeader("X-Accel-Buffering", "no");
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                dataExporter.export(compressed, from);
+            }
+        } else {
+            dataExporter.export(out, from);
+        }
+    }
+}
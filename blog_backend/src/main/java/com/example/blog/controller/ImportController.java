@@ -0,0 +1,48 @@
+package com.example.blog.controller;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.entity.User;
+import com.example.blog.export.DataImporter;
+import com.example.blog.export.ImportReport;
+import com.example.blog.service.IAuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * 数据导入控制器
+ *
+ * <p>
+ * 管理员上传 NDJSON（可 gzip 压缩）批量导入用户、分类、标签、文章与评论；路径在 {@code /admin/**} 下，仅管理员可访问。
+ * 请求体直接以流的方式读取，不走 multipart，文件大小不受上传限制；没有作者的文章归属到当前管理员。
+ * 大文件建议使用命令行导入（{@code --import.file=...}），避免长时间占用 HTTP 连接。
+ * </p>
+ */
+@RestController
+@RequestMapping("/admin/import")
+@Tag(name = "数据导入", description = "管理员数据导入接口")
+public class ImportController {
+
+    @Autowired
+    private DataImporter dataImporter;
+
+    @Autowired
+    private IAuthService authService;
+
+    @Operation(summary = "导入数据", description = "请求体为数据导出格式的NDJSON，可gzip压缩，返回各类记录数与吞吐量")
+    @PostMapping
+    public ApiResponse<ImportReport> importData(HttpServletRequest request) throws IOException {
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null) {
+            return ApiResponse.error(401, "请先登录");
+        }
+        ImportReport report = dataImporter.importFrom(request.getInputStream(), currentUser.getId());
+        return ApiResponse.success("导入完成", report);
+    }
+}
@@ -3,14 +3,19 @@ package com.example.blog.controller;
 import com.example.blog.dto.ApiResponse;
 import com.example.blog.dto.PageResult;
 import com.example.blog.dto.PostRequest;
+import com.example.blog.dto.ScheduleRequest;
 import com.example.blog.entity.Post;
 import com.example.blog.entity.User;
+import com.example.blog.ranking.PostRanking;
 import com.example.blog.service.IAuthService;
 import com.example.blog.service.IPostService;
+import com.example.blog.util.ViewCounter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -22,8 +27,9 @@ import org.springframework.web.bind.annotation.*;
  * 该类负责处理所有与文章相关的 HTTP 请求，包括：
  * <ul>
  *     <li>公开文章列表、详情的查询</li>
+ *     <li>趋势榜、热门榜、相关文章的查询</li>
  *     <li>后台文章的管理（分页、草稿、删除）</li>
- *     <li>文章的创建、更新、删除、点赞</li>
+ *     <li>文章的创建、更新、删除、点赞与定时发布</li>
  * </ul>
  * 控制器中所有返回值都使用统一的 {@link ApiResponse} 进行封装，便于前端消费。
  * </p>
@@ -39,16 +45,22 @@ public class PostController {
     @Autowired
     private IAuthService authService;
 
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private PostRanking postRanking;
+
     @Operation(summary = "获取文章列表", description = "分页获取已发布的文章列表，支持关键词搜索")
     @GetMapping
     public ApiResponse<PageResult<Post>> getAllPosts(
             @Parameter(description = "页码") @RequestParam(defaultValue = "1") Integer page,
-            @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") Integer size,
+            @Parameter(description = "每页大小，最大 " + PageResult.MAX_SIZE) @RequestParam(defaultValue = "10") Integer size,
             @Parameter(description = "搜索关键词") @RequestParam(required = false) String keyword) {
-        // 仅查询已发布状态（status=1）的文章
+        // 仅查询已发布状态（status=1）的文章；匿名接口限制每页条数
         PageResult<Post> posts = postService.findPublishedWithPage(
                 page,
-                size,
+                Math.max(1, Math.min(size, PageResult.MAX_SIZE)),
                 keyword);
         return ApiResponse.success("获取文章列表成功", posts);
     }
@@ -72,10 +84,26 @@ public class PostController {
         return ApiResponse.success("获取文章列表成功", posts);
     }
 
-    @Operation(summary = "获取文章详情", description = "根据ID获取文章详情")
+    @Operation(summary = "获取趋势榜", description = "按近期浏览、点赞、评论的时间衰减分值排序，数据来自内存榜单，不查库")
+    @GetMapping("/trending")
+    public ApiResponse<List<Post>> getTrendingPosts(
+            @Parameter(description = "条数") @RequestParam(defaultValue = "10") Integer limit) {
+        return postRanking.envelope(PostRanking.Board.TRENDING, limit);
+    }
+
+    @Operation(summary = "获取热门榜", description = "与趋势榜相同的计分方式，衰减更慢，反映较长时间内的热度")
+    @GetMapping("/popular")
+    public ApiResponse<List<Post>> getPopularPosts(
+            @Parameter(description = "条数") @RequestParam(defaultValue = "10") Integer limit) {
+        return postRanking.envelope(PostRanking.Board.POPULAR, limit);
+    }
+
+    @Operation(summary = "获取文章详情", description = "根据ID获取文章详情，format=html 时只返回渲染后的 HTML，不返回 Markdown 原文")
     @GetMapping("/{id}")
     public ApiResponse<Post> getPostById(
-            @Parameter(description = "文章ID") @PathVariable Long id) {
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            @Parameter(description = "返回格式：html 表示阅读视图") @RequestParam(required = false) String format,
+            HttpServletRequest request) {
         Post post = postService.findById(id);
         if (post == null) {
             return ApiResponse.error("文章不存在");
@@ -93,14 +121,29 @@ public class PostController {
             return ApiResponse.error(403, "该文章暂未发布");
         }
 
-        // 增加浏览次数（只对已发布的文章）
-        if (isPublished) {
+        // 增加浏览次数：只对已发布的文章，不计爬虫、预取和窗口期内的重复访问
+        if (isPublished
+                && viewCounter.shouldCount(request, currentUser != null ? currentUser.getId() : null, id)) {
             postService.increaseViewCount(id);
         }
 
+        // 阅读视图已有渲染结果时不再返回原文，编辑页仍按默认格式获取原文
+        if ("html".equals(format) && post.getContentHtml() != null) {
+            post.setContent(null);
+        }
+
         return ApiResponse.success("获取文章详情成功", post);
     }
 
+    @Operation(summary = "获取相关文章", description = "按标签重合度（Jaccard 系数）与是否同分类计算，标签相同的文章不足时用同分类文章补足")
+    @GetMapping("/{id}/related")
+    public ApiResponse<List<Post>> getRelatedPosts(
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            @Parameter(description = "条数") @RequestParam(defaultValue = "5") Integer limit) {
+        List<Post> posts = postService.findRelated(id, Math.max(1, Math.min(limit, 20)));
+        return ApiResponse.success("获取相关文章成功", posts);
+    }
+
     @Operation(summary = "获取分类文章", description = "根据分类ID获取文章列表")
     @GetMapping("/category/{categoryId}")
     public ApiResponse<List<Post>> getPostsByCategory(
@@ -175,6 +218,21 @@ public class PostController {
         return ApiResponse.success("更新文章成功", updatedPost);
     }
 
+    @Operation(summary = "定时发布", description = "设置未发布文章的定时发布时间，重复设置视为改期")
+    @PutMapping("/{id}/schedule")
+    public ApiResponse<Void> schedulePost(
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            @Valid @RequestBody ScheduleRequest scheduleRequest) {
+        return changeSchedule(id, scheduleRequest.getScheduledTime(), "设置定时发布成功");
+    }
+
+    @Operation(summary = "取消定时发布", description = "取消文章的定时发布，文章保持未发布状态")
+    @DeleteMapping("/{id}/schedule")
+    public ApiResponse<Void> cancelSchedule(
+            @Parameter(description = "文章ID") @PathVariable Long id) {
+        return changeSchedule(id, null, "取消定时发布成功");
+    }
+
     @Operation(summary = "删除文章", description = "删除指定文章（软删除）")
     @DeleteMapping("/{id}")
     public ApiResponse<Void> deletePost(
@@ -209,4 +267,24 @@ public class PostController {
         postService.increaseLikeCount(id);
         return ApiResponse.success("点赞成功", null);
     }
+
+    /**
+     * 设置或取消定时发布，仅作者和管理员可操作
+     */
+    private ApiResponse<Void> changeSchedule(Long id, LocalDateTime scheduledTime, String successMessage) {
+        Post existingPost = postService.findById(id);
+        if (existingPost == null) {
+            return ApiResponse.error("文章不存在");
+        }
+
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null ||
+                (!currentUser.getId().equals(existingPost.getAuthorId()) &&
+                        !"ADMIN".equals(currentUser.getRole()))) {
+            return ApiResponse.error(403, "没有权限修改此文章");
+        }
+
+        postService.schedule(id, scheduledTime);
+        return ApiResponse.success(successMessage, null);
+    }
 }
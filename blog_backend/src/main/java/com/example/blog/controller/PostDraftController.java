@@ -0,0 +1,91 @@
+package com.example.blog.controller;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.dto.DraftPatchRequest;
+import com.example.blog.dto.DraftVO;
+import com.example.blog.entity.PostRevision;
+import com.example.blog.entity.User;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.service.IAuthService;
+import com.example.blog.service.IDraftService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 文章草稿控制器
+ *
+ * <p>
+ * 编辑器自动保存只提交相对最新修订的编辑操作，服务端追加修订历史，不改写文章表；
+ * 草稿与修订历史只对文章作者和管理员可见。
+ * </p>
+ */
+@RestController
+@RequestMapping("/posts")
+@Tag(name = "文章草稿", description = "草稿自动保存与修订历史接口")
+public class PostDraftController {
+
+    @Autowired
+    private IDraftService draftService;
+
+    @Autowired
+    private IAuthService authService;
+
+    @Operation(summary = "获取最新草稿", description = "获取最新修订的正文与修订号，没有修订时返回文章正文（修订号 0）")
+    @GetMapping("/{id}/draft")
+    public ApiResponse<DraftVO> getDraft(
+            @Parameter(description = "文章ID") @PathVariable Long id) {
+        checkEditable(id);
+        return ApiResponse.success("获取草稿成功", draftService.getDraft(id));
+    }
+
+    @Operation(summary = "自动保存草稿", description = "提交相对基准修订的编辑操作，基准不是最新修订时返回冲突")
+    @PatchMapping("/{id}/draft")
+    public ApiResponse<DraftVO> saveDraft(
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            @Valid @RequestBody DraftPatchRequest request) {
+        User currentUser = checkEditable(id);
+        return ApiResponse.success("保存草稿成功", draftService.save(id, currentUser.getId(), request));
+    }
+
+    @Operation(summary = "获取修订历史", description = "按修订号倒序返回修订列表，不含正文")
+    @GetMapping("/{id}/revisions")
+    public ApiResponse<List<PostRevision>> getRevisions(
+            @Parameter(description = "文章ID") @PathVariable Long id) {
+        checkEditable(id);
+        return ApiResponse.success("获取修订历史成功", draftService.findRevisions(id));
+    }
+
+    @Operation(summary = "获取指定修订", description = "还原指定修订的正文")
+    @GetMapping("/{id}/revisions/{revision}")
+    public ApiResponse<DraftVO> getRevision(
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            @Parameter(description = "修订号") @PathVariable Integer revision) {
+        checkEditable(id);
+        if (revision < 0) {
+            throw new BusinessException(ErrorCode.REVISION_NOT_FOUND);
+        }
+        return ApiResponse.success("获取修订成功", draftService.getRevision(id, revision));
+    }
+
+    /**
+     * 只有文章作者和管理员可以读写草稿
+     */
+    private User checkEditable(Long postId) {
+        Long authorId = draftService.findAuthorId(postId);
+        if (authorId == null) {
+            throw new BusinessException(ErrorCode.POST_NOT_FOUND);
+        }
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null ||
+                (!currentUser.getId().equals(authorId) && !"ADMIN".equals(currentUser.getRole()))) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "没有权限修改此文章");
+        }
+        return currentUser;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.blog.controller;
 import com.example.blog.dto.ApiResponse;
 import com.example.blog.entity.Tag;
 import com.example.blog.service.ITagService;
+import com.example.blog.util.JsonEnvelopeCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,11 +26,15 @@ public class TagController {
     @Autowired
     private ITagService tagService;
 
+    @Autowired
+    private JsonEnvelopeCache envelopeCache;
+
     @Operation(summary = "获取所有标签", description = "获取所有文章标签列表")
     @GetMapping
     public ApiResponse<List<Tag>> getAllTags() {
-        List<Tag> tags = tagService.findAll();
-        return ApiResponse.success("获取标签列表成功", tags);
+        // 标签列表对所有调用方相同，返回缓存的预序列化响应（由 JsonEnvelopeHttpMessageConverter 原样写出），标签增删改后失效
+        return envelopeCache.get(JsonEnvelopeCache.TAGS,
+                () -> ApiResponse.success("获取标签列表成功", tagService.findAll()));
     }
 
     @Operation(summary = "获取标签详情", description = "根据ID获取标签详情")
@@ -0,0 +1,106 @@
+package com.example.blog.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 只读连接路由
+ *
+ * <p>
+ * 作为 {@link LazyConnectionDataSourceProxy#setReadOnlyDataSource} 使用：只读事务
+ * （{@code @Transactional(readOnly = true)}）执行第一条语句时才向这里取连接。默认返回只读库连接；
+ * 当前用户处于写后粘滞窗口（{@link ReplicaStickiness}）时返回主库连接；只读库取连接失败后
+ * {@code retryMillis} 内的只读事务都改走主库，不因只读库故障影响读请求。
+ * </p>
+ */
+@Slf4j
+public class ReplicaRouter extends AbstractDataSource {
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final ReplicaStickiness stickiness;
+
+    private final long retryMillis;
+
+    private volatile long replicaDownUntil;
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    private final LongAdder stickyReads = new LongAdder();
+
+    private final LongAdder fallbackReads = new LongAdder();
+
+    private final LongAdder replicaFailures = new LongAdder();
+
+    public ReplicaRouter(DataSource primary, DataSource replica, ReplicaStickiness stickiness, long retryMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickiness = stickiness;
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (stickiness.isSticky()) {
+            stickyReads.increment();
+            return source.open(primary);
+        }
+        if (System.currentTimeMillis() < replicaDownUntil) {
+            fallbackReads.increment();
+            return source.open(primary);
+        }
+        try {
+            Connection connection = source.open(replica);
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicaFailures.increment();
+            replicaDownUntil = System.currentTimeMillis() + retryMillis;
+            log.warn("只读库连接失败，{} ms 内只读事务改走主库", retryMillis, e);
+            fallbackReads.increment();
+            return source.open(primary);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(replicaReads.sum(), stickyReads.sum(), fallbackReads.sum(), replicaFailures.sum(),
+                stickiness.size(), System.currentTimeMillis() < replicaDownUntil);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * 路由统计
+     *
+     * @param replicaReads    走只读库的只读事务数
+     * @param stickyReads     因写后粘滞走主库的只读事务数
+     * @param fallbackReads   因只读库不可用走主库的只读事务数
+     * @param replicaFailures 只读库取连接失败次数
+     * @param stickyUsers     处于粘滞窗口内的用户数
+     * @param replicaDown     只读库当前是否被判定为不可用
+     */
+    public record Stats(long replicaReads, long stickyReads, long fallbackReads, long replicaFailures,
+                        int stickyUsers, boolean replicaDown) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.blog.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读己之写
+ *
+ * <p>
+ * 登录用户执行写语句后，在 {@code windowMillis} 内该用户的只读事务仍走主库，避免刚提交的评论、文章
+ * 因只读库复制延迟而"消失"。按用户名记录截止时间，过期条目在读取时或定时清理中移除。
+ * 匿名请求与后台任务不做粘滞。
+ * </p>
+ */
+public class ReplicaStickiness {
+
+    private final long windowMillis;
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReplicaStickiness(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * 记录当前用户的写操作
+     */
+    public void markWrite() {
+        String user = currentUser();
+        if (user != null) {
+            stickyUntil.put(user, System.currentTimeMillis() + windowMillis);
+        }
+    }
+
+    /**
+     * 当前用户是否仍在写后粘滞窗口内
+     */
+    public boolean isSticky() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            stickyUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 处于粘滞窗口内的用户数
+     */
+    public int size() {
+        return stickyUntil.size();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purge() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until < now);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
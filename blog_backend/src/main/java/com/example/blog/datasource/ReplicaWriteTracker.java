@@ -0,0 +1,32 @@
+package com.example.blog.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * MyBatis 写语句拦截器
+ *
+ * <p>
+ * INSERT、UPDATE、DELETE 执行时把当前用户记入 {@link ReplicaStickiness}，随后的只读事务走主库。
+ * 在执行器层拦截，BATCH 执行器缓冲的语句同样会被记录。
+ * </p>
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }))
+public class ReplicaWriteTracker implements Interceptor {
+
+    private final ReplicaStickiness stickiness;
+
+    public ReplicaWriteTracker(ReplicaStickiness stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        stickiness.markWrite();
+        return invocation.proceed();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.blog.dto;
+
+import com.example.blog.util.TextPatch;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 草稿自动保存请求数据传输对象
+ *
+ * 以基准修订为准提交编辑操作；客户端不便计算编辑时可以改为提交完整正文，由服务端计算差异后保存
+ */
+@Data
+public class DraftPatchRequest {
+
+    /** 基准修订号，必须是当前最新修订，0表示文章表中已保存的正文 */
+    @NotNull(message = "基准修订号不能为空")
+    @Min(value = 0, message = "基准修订号不能小于0")
+    private Integer baseRevision;
+
+    /** 相对基准修订的编辑操作，区间按起点升序排列且互不重叠 */
+    private List<TextPatch.Edit> edits;
+
+    /** 完整正文，未提交编辑操作时使用 */
+    private String content;
+
+    /** 编辑后的正文长度，用于校验编辑结果与客户端一致 */
+    @NotNull(message = "正文长度不能为空")
+    @Min(value = 0, message = "正文长度不能小于0")
+    private Integer length;
+}
@@ -0,0 +1,28 @@
+package com.example.blog.dto;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+
+/**
+ * 草稿视图对象
+ *
+ * 返回文章某一修订的正文；自动保存的响应不含正文，只返回新的修订号
+ */
+@Data
+public class DraftVO {
+
+    /** 文章ID */
+    private Long postId;
+
+    /** 修订号，0表示文章表中已保存的正文 */
+    private Integer revision;
+
+    /** 正文 */
+    private String content;
+
+    /** 正文长度 */
+    private Integer length;
+
+    /** 保存时间 */
+    private LocalDateTime saveTime;
+}
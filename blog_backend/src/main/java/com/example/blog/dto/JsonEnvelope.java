@@ -0,0 +1,81 @@
+package com.example.blog.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 预序列化的响应体
+ *
+ * 保存一个ApiResponse已经序列化好的JSON字节，内容不可变，可以被任意多个请求复用。
+ * 本身也是一个ApiResponse，控制器方法照常声明 ApiResponse&lt;T&gt; 返回类型，接口文档保留响应结构；
+ * 实际返回该对象时由JsonEnvelopeHttpMessageConverter按运行时类型选中，原样写出字节，不再经过Jackson。
+ * 适用于标签列表、分类列表这类对所有调用方都相同、且很少变化的数据。
+ *
+ * @param <T> 响应数据的泛型类型
+ */
+public final class JsonEnvelope<T> extends ApiResponse<T> {
+
+    private final byte[] body;
+
+    private JsonEnvelope(ApiResponse<T> response, byte[] body) {
+        super.setCode(response.getCode());
+        super.setMessage(response.getMessage());
+        super.setData(response.getData());
+        this.body = body;
+    }
+
+    /**
+     * 使用给定的ObjectMapper序列化响应
+     *
+     * @param objectMapper 与全局配置一致的ObjectMapper
+     * @param response 响应对象
+     * @return 预序列化的响应体
+     */
+    public static <T> JsonEnvelope<T> of(ObjectMapper objectMapper, ApiResponse<T> response) {
+        try {
+            return new JsonEnvelope<>(response, objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("响应序列化失败", e);
+        }
+    }
+
+    /**
+     * 响应体字节数
+     */
+    public int length() {
+        return body.length;
+    }
+
+    /**
+     * 将响应体写入输出流
+     *
+     * @param out 输出流
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(body);
+    }
+
+    @Override
+    public void setCode(Integer code) {
+        throw new UnsupportedOperationException("预序列化响应不可修改");
+    }
+
+    @Override
+    public void setMessage(String message) {
+        throw new UnsupportedOperationException("预序列化响应不可修改");
+    }
+
+    @Override
+    public void setData(T data) {
+        throw new UnsupportedOperationException("预序列化响应不可修改");
+    }
+
+    @Override
+    public String toString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
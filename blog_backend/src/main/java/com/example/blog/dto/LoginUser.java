@@ -0,0 +1,78 @@
+package com.example.blog.dto;
+
+import com.example.blog.entity.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 登录用户
+ *
+ * <p>
+ * 包装查询到的 {@link User} 实体作为 Spring Security 的认证主体，
+ * 登录成功后可直接从 {@code Authentication.getPrincipal()} 取得用户信息，无需再次查库。
+ * 认证完成后密码会被擦除。
+ * </p>
+ */
+public class LoginUser implements UserDetails, CredentialsContainer {
+
+    private final User user;
+
+    private final List<GrantedAuthority> authorities;
+
+    public LoginUser(User user) {
+        this.user = user;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+    }
+
+    /**
+     * 获取用户实体
+     *
+     * @return 用户实体
+     */
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return user.getPassword();
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getUsername();
+    }
+
+    /**
+     * 被禁用（status 为 0）的账户不能登录，DaoAuthenticationProvider 据此拒绝
+     */
+    @Override
+    public boolean isEnabled() {
+        return isActive(user);
+    }
+
+    /**
+     * 判断账户是否可用，status 为 0 表示禁用
+     *
+     * @param user 用户实体
+     * @return 未被禁用返回 true
+     */
+    public static boolean isActive(User user) {
+        return !Integer.valueOf(0).equals(user.getStatus());
+    }
+
+    @Override
+    public void eraseCredentials() {
+        user.setPassword(null);
+    }
+}
@@ -12,6 +12,10 @@ import java.util.List;
  */
 @Data
 public class PageResult<T> {
+
+    /** 公开分页接口每页最多返回的记录数 */
+    public static final int MAX_SIZE = 50;
+
     /** 当前页的记录列表 */
     private List<T> records;
     
@@ -0,0 +1,18 @@
+package com.example.blog.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+/**
+ * 定时发布请求数据传输对象
+ */
+@Data
+public class ScheduleRequest {
+
+    /** 定时发布时间，精确到秒 */
+    @NotNull(message = "定时发布时间不能为空")
+    @Future(message = "定时发布时间必须晚于当前时间")
+    private LocalDateTime scheduledTime;
+}
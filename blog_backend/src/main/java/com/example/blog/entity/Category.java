@@ -1,6 +1,8 @@
 package com.example.blog.entity;
 
 import lombok.Data;
+
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -9,7 +11,10 @@ import java.time.LocalDateTime;
  * 存储博客文章的分类信息，用于组织和归类文章
  */
 @Data
-public class Category {
+public class Category implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     /** 分类ID，主键 */
     private Long id;
     
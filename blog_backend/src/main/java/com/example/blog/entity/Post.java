@@ -1,5 +1,7 @@
 package com.example.blog.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,6 +25,29 @@ public class Post {
     /** 文章内容 */
     private String content;
     
+    /** 服务端渲染的HTML */
+    private String contentHtml;
+    
+    /** 标题目录，JSON数组原样输出 */
+    @JsonRawValue
+    private String toc;
+    
+    /** 从正文提取的纯文本摘录 */
+    private String excerpt;
+    
+    /** 字数，中日韩文字按字计，其他语言按词计 */
+    private Integer wordCount;
+    
+    /** 字符数，不含空白 */
+    private Integer charCount;
+    
+    /** 预计阅读分钟数 */
+    private Integer readingMinutes;
+    
+    /** 渲染规则版本 */
+    @JsonIgnore
+    private Integer renderVersion;
+    
     /** 封面图片URL */
     private String coverImage;
     
@@ -53,6 +78,9 @@ public class Post {
     /** 发布时间 */
     private LocalDateTime publishedTime;
     
+    /** 定时发布时间，只有等待定时发布的文章不为空 */
+    private LocalDateTime scheduledTime;
+    
     /** 创建时间 */
     private LocalDateTime createTime;
     
@@ -0,0 +1,36 @@
+package com.example.blog.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 文章修订实体类
+ *
+ * 草稿自动保存的一次修订，保存完整正文快照或相对上一修订的编辑操作
+ */
+@Data
+public class PostRevision {
+    /** 修订记录ID，主键 */
+    private Long id;
+
+    /** 文章ID，外键关联文章表 */
+    private Long postId;
+
+    /** 修订号，每篇文章从1开始连续递增 */
+    private Integer revision;
+
+    /** 是否完整快照，1表示body为完整正文，0表示body为编辑操作(JSON) */
+    private Integer snapshot;
+
+    /** 完整正文或编辑操作，列表查询时不返回 */
+    private String body;
+
+    /** 该修订的正文长度 */
+    private Integer contentLength;
+
+    /** 保存者ID */
+    private Long authorId;
+
+    /** 创建时间 */
+    private LocalDateTime createTime;
+}
@@ -1,6 +1,8 @@
 package com.example.blog.entity;
 
 import lombok.Data;
+
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -9,7 +11,10 @@ import java.time.LocalDateTime;
  * 存储博客文章的标签信息，用于标记和筛选文章
  */
 @Data
-public class Tag {
+public class Tag implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     /** 标签ID，主键 */
     private Long id;
     
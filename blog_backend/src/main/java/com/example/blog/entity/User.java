@@ -1,6 +1,8 @@
 package com.example.blog.entity;
 
 import lombok.Data;
+
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -9,7 +11,10 @@ import java.time.LocalDateTime;
  * 存储用户基本信息，包括登录凭证、个人资料和账户状态等
  */
 @Data
-public class User {
+public class User implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     /** 用户ID，主键 */
     private Long id;
     
@@ -0,0 +1,17 @@
+package com.example.blog.entity;
+
+import lombok.Data;
+
+/**
+ * 用户令牌版本实体类
+ * 
+ * 记录用户当前的令牌版本，签发时写入 JWT，版本低于此值的令牌视为已吊销
+ */
+@Data
+public class UserTokenVersion {
+    /** 用户ID，主键 */
+    private Long userId;
+    
+    /** 令牌版本 */
+    private Integer version;
+}
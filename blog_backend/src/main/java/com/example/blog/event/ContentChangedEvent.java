@@ -0,0 +1,72 @@
+package com.example.blog.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 内容变更事件
+ *
+ * <p>
+ * 文章、标签、分类、评论写操作完成后由对应的 Service 发布，缓存等派生数据据此失效或重建，
+ * 使 Service 不必依赖具体的缓存实现。监听方应使用 {@code @TransactionalEventListener(fallbackExecution = true)}，
+ * 在事务提交后（无事务时立即）处理，避免在提交前失效后又被读到旧数据的请求重新填充。
+ * </p>
+ */
+@Getter
+public class ContentChangedEvent extends ApplicationEvent {
+
+    /** 内容类型 */
+    public enum ContentType {
+        POST, TAG, CATEGORY, COMMENT
+    }
+
+    /** 变更动作 */
+    public enum Action {
+        CREATED, UPDATED, DELETED,
+        /** 批量导入：内容类型为 POST，ID 为 null，文章、标签、分类、评论都可能变化，派生数据应整体重建 */
+        IMPORTED
+    }
+
+    private final ContentType contentType;
+
+    private final Action action;
+
+    /** 变更对象的ID */
+    private final Long id;
+
+    /** 关联文章ID：文章事件为文章本身，评论事件为所属文章，其余为null */
+    private final Long postId;
+
+    public ContentChangedEvent(Object source, ContentType contentType, Action action, Long id, Long postId) {
+        super(source);
+        this.contentType = contentType;
+        this.action = action;
+        this.id = id;
+        this.postId = postId;
+    }
+
+    public static ContentChangedEvent post(Object source, Action action, Long postId) {
+        return new ContentChangedEvent(source, ContentType.POST, action, postId, postId);
+    }
+
+    public static ContentChangedEvent tag(Object source, Action action, Long tagId) {
+        return new ContentChangedEvent(source, ContentType.TAG, action, tagId, null);
+    }
+
+    public static ContentChangedEvent category(Object source, Action action, Long categoryId) {
+        return new ContentChangedEvent(source, ContentType.CATEGORY, action, categoryId, null);
+    }
+
+    public static ContentChangedEvent imported(Object source) {
+        return new ContentChangedEvent(source, ContentType.POST, Action.IMPORTED, null, null);
+    }
+
+    public static ContentChangedEvent comment(Object source, Action action, Long commentId, Long postId) {
+        return new ContentChangedEvent(source, ContentType.COMMENT, action, commentId, postId);
+    }
+
+    @Override
+    public String toString() {
+        return contentType + " " + action + " id=" + id + (postId != null ? " postId=" + postId : "");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.blog.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 文章互动事件
+ *
+ * <p>
+ * 浏览量、点赞数累加后由 PostService 发布，供热门排行等统计使用。
+ * 互动不改变文章内容，因此不使用 {@link ContentChangedEvent}，不会触发缓存失效。
+ * 评论沿用 {@link ContentChangedEvent} 的评论创建事件，不再重复发布。
+ * </p>
+ */
+@Getter
+public class PostEngagementEvent extends ApplicationEvent {
+
+    /** 互动类型 */
+    public enum Kind {
+        VIEW, LIKE
+    }
+
+    private final Kind kind;
+
+    private final Long postId;
+
+    public PostEngagementEvent(Object source, Kind kind, Long postId) {
+        super(source);
+        this.kind = kind;
+        this.postId = postId;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " postId=" + postId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.blog.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章定时发布事件
+ *
+ * <p>
+ * 设置或取消定时发布后由 PostService 发布，定时发布调度据此改期或取消。
+ * 定时发布时间不影响公开内容，因此不使用 {@link ContentChangedEvent}；到期发布后才发布文章更新事件。
+ * </p>
+ */
+@Getter
+public class PostScheduledEvent extends ApplicationEvent {
+
+    private final Long postId;
+
+    /** 定时发布时间，取消时为 null */
+    private final LocalDateTime scheduledTime;
+
+    public PostScheduledEvent(Object source, Long postId, LocalDateTime scheduledTime) {
+        super(source);
+        this.postId = postId;
+        this.scheduledTime = scheduledTime;
+    }
+
+    @Override
+    public String toString() {
+        return "postId=" + postId + " scheduledTime=" + scheduledTime;
+    }
+}
@@ -25,6 +25,8 @@ public enum ErrorCode {
     BAD_CREDENTIALS(2004, "用户名或密码错误"),
     REFRESH_TOKEN_EXPIRED(2005, "刷新令牌已过期"),
     REFRESH_TOKEN_INVALID(2006, "刷新令牌无效"),
+    LOGIN_TOO_FREQUENT(2007, "登录尝试过于频繁，请稍后再试"),
+    REFRESH_TOKEN_REUSED(2008, "刷新令牌已被使用，请重新登录"),
 
     // ========== 用户相关错误码 3000-3999 ==========
     USER_NOT_FOUND(3000, "用户不存在"),
@@ -42,6 +44,11 @@ public enum ErrorCode {
     POST_CONTENT_REQUIRED(4004, "文章内容不能为空"),
     POST_AUTHOR_REQUIRED(4005, "文章作者不能为空"),
     POST_CATEGORY_REQUIRED(4006, "文章分类不能为空"),
+    DRAFT_REVISION_CONFLICT(4007, "草稿已在其他地方修改，请刷新后重试"),
+    DRAFT_PATCH_INVALID(4008, "草稿编辑操作无效"),
+    REVISION_NOT_FOUND(4009, "修订不存在"),
+    POST_ALREADY_PUBLISHED(4010, "文章已发布"),
+    SCHEDULE_TIME_INVALID(4011, "定时发布时间必须晚于当前时间"),
 
     // ========== 分类相关错误码 5000-5999 ==========
     CATEGORY_NOT_FOUND(5000, "分类不存在"),
@@ -74,7 +81,8 @@ public enum ErrorCode {
     DUPLICATE_OPERATION(9000, "重复操作"),
     OPERATION_TOO_FREQUENT(9001, "操作过于频繁，请稍后再试"),
     DATA_INTEGRITY_VIOLATION(9002, "数据完整性冲突"),
-    INVALID_STATE(9003, "无效的状态");
+    INVALID_STATE(9003, "无效的状态"),
+    SERVER_BUSY(9004, "服务器繁忙，请稍后再试");
 
     private final Integer code;
     private final String message;
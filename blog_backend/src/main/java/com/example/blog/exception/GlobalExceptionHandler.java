@@ -31,6 +31,17 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(e.getCode(), e.getMessage());
     }
 
+    /**
+     * 处理限流与处理能力饱和异常
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ApiResponse<Void> handleTooManyRequestsException(
+        TooManyRequestsException e
+    ) {
+        return ApiResponse.error(e.getCode(), e.getMessage());
+    }
+
     /**
      * 处理认证异常
      */
@@ -0,0 +1,16 @@
+package com.example.blog.exception;
+
+/**
+ * 请求过多异常
+ *
+ * 用于限流或处理能力饱和的场景，由全局异常处理器映射为 HTTP 429
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 使用错误码枚举构造异常
+     */
+    public TooManyRequestsException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
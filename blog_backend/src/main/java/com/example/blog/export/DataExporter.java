@@ -0,0 +1,314 @@
+package com.example.blog.export;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostTag;
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.mapper.CategoryMapper;
+import com.example.blog.mapper.CommentMapper;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.PostTagMapper;
+import com.example.blog.mapper.TagMapper;
+import com.example.blog.mapper.UserMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 全站数据导出
+ *
+ * <p>
+ * 按用户、分类、标签、文章、文章标签、评论的顺序输出 NDJSON，每行一条记录：
+ * {@code {"type":"post","id":12,"data":{...}}}，首行为 {@code meta}，末行为 {@code end}。
+ * 没有 {@code end} 行说明导出中断，取最后一行的 {@code type:id} 作为 {@link Checkpoint} 即可从断点继续。
+ * 用户记录包含密码哈希，仅供管理员备份与迁移。
+ * </p>
+ * <p>
+ * 每张表按 ID 分段读取（{@code WHERE id > ? ORDER BY id LIMIT ?}），每段在独立的只读事务中用
+ * MyBatis {@link Cursor} 逐行读取（固定 fetchSize，MySQL 需开启 {@code useCursorFetch}）并直接写入输出流，
+ * 内存占用与总数据量无关。写入是同步的，客户端读得慢时写操作阻塞，数据库读取随之暂停；
+ * 每段结束后提交事务并 flush，不会长时间持有事务与游标。
+ * </p>
+ */
+@Slf4j
+@Component
+public class DataExporter {
+
+    /** 导出格式版本，导入时据此判断兼容性 */
+    public static final int FORMAT_VERSION = 1;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private PostTagMapper postTagMapper;
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${export.chunk-size:1000}")
+    private int chunkSize;
+
+    private ObjectWriter writer;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    public void init() {
+        // 每行写完不单独 flush，由每段结束时统一 flush
+        writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    /**
+     * 从断点之后开始导出，写完 {@code end} 行后返回；不关闭输出流
+     *
+     * @return 导出的记录数
+     */
+    public long export(OutputStream out, Checkpoint from) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("type", "meta");
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("after", from.toString());
+            generator.writeStringField("exportTime", LocalDateTime.now().toString());
+            generator.writeEndObject();
+
+            for (Section section : Section.values()) {
+                if (section.ordinal() < from.section().ordinal()) {
+                    continue;
+                }
+                long afterId = section == from.section() ? from.afterId() : 0;
+                count += switch (section) {
+                    case USER -> exportRows(generator, section, afterId, userMapper::exportAfter, User::getId);
+                    case CATEGORY ->
+                            exportRows(generator, section, afterId, categoryMapper::exportAfter, Category::getId);
+                    case TAG -> exportRows(generator, section, afterId, tagMapper::exportAfter, Tag::getId);
+                    case POST -> exportRows(generator, section, afterId, postMapper::exportAfter, Post::getId);
+                    case POST_TAG -> exportPostTags(generator, afterId);
+                    case COMMENT -> exportRows(generator, section, afterId, commentMapper::exportAfter, Comment::getId);
+                };
+            }
+
+            generator.writeStartObject();
+            generator.writeStringField("type", "end");
+            generator.writeNumberField("count", count);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (UncheckedIOException e) {
+            // 客户端断开等写入失败，读事务已回滚
+            throw e.getCause();
+        }
+        log.info("数据导出完成：断点 {}，{} 条记录，耗时 {} ms", from, count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private <T> long exportRows(JsonGenerator generator, Section section, long afterId,
+                                BiFunction<Long, Integer, Cursor<T>> query, ToLongFunction<T> idOf)
+            throws IOException {
+        long count = 0;
+        long lastId = afterId;
+        while (true) {
+            long from = lastId;
+            Chunk chunk = readOnly.execute(status -> {
+                Chunk read = new Chunk(from, 0);
+                try (Cursor<T> cursor = query.apply(from, chunkSize)) {
+                    for (T row : cursor) {
+                        long id = idOf.applyAsLong(row);
+                        writeRecord(generator, section, id, row);
+                        read = new Chunk(id, read.rows() + 1);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return read;
+            });
+            generator.flush();
+            count += chunk.rows();
+            lastId = chunk.lastId();
+            if (chunk.rows() < chunkSize) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * 文章标签关联没有自增ID，按文章合并为一行：{@code {"type":"post_tag","id":文章ID,"data":{"postId":..,"tagIds":[..]}}}
+     */
+    private long exportPostTags(JsonGenerator generator, long afterId) throws IOException {
+        long count = 0;
+        long lastId = afterId;
+        while (true) {
+            long from = lastId;
+            Chunk chunk = readOnly.execute(status -> {
+                long postId = from;
+                int posts = 0;
+                List<Long> tagIds = new ArrayList<>();
+                try (Cursor<PostTag> cursor = postTagMapper.exportAfter(from, chunkSize)) {
+                    for (PostTag link : cursor) {
+                        if (link.getPostId() != postId && !tagIds.isEmpty()) {
+                            writePostTags(generator, postId, tagIds);
+                            posts++;
+                            tagIds.clear();
+                        }
+                        postId = link.getPostId();
+                        tagIds.add(link.getTagId());
+                    }
+                    if (!tagIds.isEmpty()) {
+                        writePostTags(generator, postId, tagIds);
+                        posts++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new Chunk(postId, posts);
+            });
+            generator.flush();
+            count += chunk.rows();
+            lastId = chunk.lastId();
+            if (chunk.rows() < chunkSize) {
+                return count;
+            }
+        }
+    }
+
+    private void writeRecord(JsonGenerator generator, Section section, long id, Object data) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", section.type());
+        generator.writeNumberField("id", id);
+        generator.writeFieldName("data");
+        writer.writeValue(generator, data);
+        generator.writeEndObject();
+    }
+
+    private void writePostTags(JsonGenerator generator, long postId, List<Long> tagIds) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", Section.POST_TAG.type());
+        generator.writeNumberField("id", postId);
+        generator.writeObjectFieldStart("data");
+        generator.writeNumberField("postId", postId);
+        generator.writeArrayFieldStart("tagIds");
+        for (Long tagId : tagIds) {
+            generator.writeNumber(tagId);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private record Chunk(long lastId, int rows) {
+    }
+
+    /**
+     * 导出分段，按依赖顺序排列：导入时先写入被引用的数据
+     */
+    public enum Section {
+        USER("user"),
+        CATEGORY("category"),
+        TAG("tag"),
+        POST("post"),
+        POST_TAG("post_tag"),
+        COMMENT("comment");
+
+        private final String type;
+
+        Section(String type) {
+            this.type = type;
+        }
+
+        public String type() {
+            return type;
+        }
+
+        public static Section of(String type) {
+            for (Section section : values()) {
+                if (section.type.equals(type)) {
+                    return section;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 导出断点：从 {@code section} 中ID大于 {@code afterId} 的记录开始，之前的分段全部跳过
+     */
+    public record Checkpoint(Section section, long afterId) {
+
+        /** 从头导出 */
+        public static final Checkpoint START = new Checkpoint(Section.USER, 0);
+
+        /**
+         * 解析 {@code type:id} 格式的断点，例如 {@code post:1234}；为空时从头导出
+         *
+         * @throws BusinessException 格式错误
+         */
+        public static Checkpoint parse(String value) {
+            if (value == null || value.isBlank()) {
+                return START;
+            }
+            int colon = value.lastIndexOf(':');
+            Section section = colon > 0 ? Section.of(value.substring(0, colon).trim()) : null;
+            if (section == null) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER, "导出断点格式错误，应为 类型:ID，例如 post:1234");
+            }
+            try {
+                long afterId = Long.parseLong(value.substring(colon + 1).trim());
+                if (afterId < 0) {
+                    throw new NumberFormatException();
+                }
+                return new Checkpoint(section, afterId);
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER, "导出断点ID无效: " + value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return section.type() + ":" + afterId;
+        }
+    }
+}
@@ -0,0 +1,587 @@
+package com.example.blog.export;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostTag;
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.mapper.CategoryMapper;
+import com.example.blog.mapper.CommentMapper;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.PostTagMapper;
+import com.example.blog.mapper.TagMapper;
+import com.example.blog.mapper.UserMapper;
+import com.example.blog.util.PostRenderJob;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 全站数据批量导入
+ *
+ * <p>
+ * 读取 {@link DataExporter} 格式的 NDJSON（可 gzip 压缩，自动识别），逐行解析，不把整个文件读入内存。
+ * 迁移其他平台的文章时只需提供 {@code post} 行：分类、标签按 {@code category.name}、{@code tags[].name}
+ * 匹配，不存在时自动创建；没有作者的文章归属到调用方指定的默认作者。
+ * </p>
+ * <p>
+ * 用户、分类、标签按用户名/名称在内存映射中查找，已存在的直接复用；文章与评论总是新增，旧ID到新ID的映射保存在
+ * {@link IdMap} 中，供后续的文章标签、评论行引用。记录先在内存中缓冲，每 {@code import.chunk-size} 条
+ * 在一个事务中用 {@link ExecutorType#BATCH} 执行器写入并提交（MySQL 需开启 {@code rewriteBatchedStatements}，
+ * 驱动把同一语句的多行合并为一条多值 INSERT），写入顺序为用户、分类、标签、文章、文章标签、评论，
+ * 同一批内的引用在前一步 flush 取得自增ID后解析。
+ * </p>
+ * <p>
+ * 文章只写入源字段，渲染结果由 {@link PostRenderJob} 补齐；导入完成后发布一次
+ * {@link ContentChangedEvent#imported} 事件，缓存、目录与订阅源整体重建。
+ * 导入中途失败时已提交的批次保留，重复导入会产生重复的文章与评论。
+ * </p>
+ */
+@Slf4j
+@Component
+public class DataImporter {
+
+    /** 每多少批输出一次进度日志 */
+    private static final int PROGRESS_CHUNKS = 10;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<PostRenderJob> postRenderJob;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    private SqlSessionTemplate batch;
+
+    private TransactionTemplate transaction;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        batch = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 导入一个 NDJSON 流，读完后返回；不关闭输入流
+     *
+     * @param in              NDJSON 或 gzip 压缩的 NDJSON
+     * @param defaultAuthorId 没有作者或作者无法解析时使用的用户ID
+     */
+    public ImportReport importFrom(InputStream in, Long defaultAuthorId) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.DUPLICATE_OPERATION, "已有导入任务正在运行");
+        }
+        Run run = new Run(defaultAuthorId);
+        try {
+            return run.execute(decompress(in));
+        } finally {
+            running.set(false);
+            if (run.committed > 0) {
+                eventPublisher.publishEvent(ContentChangedEvent.imported(this));
+                postRenderJob.ifAvailable(PostRenderJob::trigger);
+            }
+        }
+    }
+
+    private static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        return first == 0x1f && second == 0x8b ? new GZIPInputStream(buffered, 64 * 1024) : buffered;
+    }
+
+    private record Line(String type, Long id, JsonNode data) {
+    }
+
+    private record PostTagsLine(Long postId, List<Long> tagIds) {
+    }
+
+    private record PendingPost(Long oldId, Post post, String categoryName, List<String> tagNames) {
+    }
+
+    /**
+     * 一次导入的状态：名称映射、ID映射与当前批次的缓冲
+     */
+    private class Run {
+
+        private final Long defaultAuthorId;
+
+        private final long start = System.currentTimeMillis();
+
+        private final Map<String, Long> userIds = new HashMap<>();
+
+        private final Set<String> emails = new HashSet<>();
+
+        private final Map<Long, Long> userIdMap = new HashMap<>();
+
+        private final Map<String, Long> categoryIds = new HashMap<>();
+
+        private final Map<Long, String> categoryNames = new HashMap<>();
+
+        private final Map<String, Long> tagIds = new HashMap<>();
+
+        private final Map<Long, String> tagNames = new HashMap<>();
+
+        private final IdMap postIds = new IdMap();
+
+        private final IdMap commentIds = new IdMap();
+
+        private final Map<String, User> newUsers = new LinkedHashMap<>();
+
+        private final Map<Long, User> newUserRefs = new HashMap<>();
+
+        private final Map<String, Category> newCategories = new LinkedHashMap<>();
+
+        private final Map<String, Tag> newTags = new LinkedHashMap<>();
+
+        private final List<PendingPost> posts = new ArrayList<>();
+
+        private final List<PostTagsLine> links = new ArrayList<>();
+
+        /** 评论的 postId、userId、parentId 在写入前仍是旧ID */
+        private final List<Comment> comments = new ArrayList<>();
+
+        private int pending;
+
+        private long records;
+
+        private long committed;
+
+        private long createdUsers;
+
+        private long createdCategories;
+
+        private long createdTags;
+
+        private long insertedPosts;
+
+        private long insertedLinks;
+
+        private long insertedComments;
+
+        private long skipped;
+
+        private int chunks;
+
+        Run(Long defaultAuthorId) {
+            this.defaultAuthorId = defaultAuthorId;
+        }
+
+        ImportReport execute(InputStream in) throws IOException {
+            for (User user : userMapper.findAll()) {
+                userIds.put(user.getUsername(), user.getId());
+                if (user.getEmail() != null) {
+                    emails.add(user.getEmail());
+                }
+            }
+            categoryMapper.findAll().forEach(category -> categoryIds.put(category.getName(), category.getId()));
+            tagMapper.findAll().forEach(tag -> tagIds.put(tag.getName(), tag.getId()));
+
+            try (MappingIterator<Line> lines = objectMapper.readerFor(Line.class).readValues(in)) {
+                while (lines.hasNextValue()) {
+                    Line line = lines.nextValue();
+                    if (line == null || line.type() == null) {
+                        skipped++;
+                        continue;
+                    }
+                    read(line);
+                    if (pending >= chunkSize) {
+                        flush();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                        "导入文件第 " + (records + 1) + " 条记录格式错误: " + e.getOriginalMessage());
+            } catch (RuntimeException e) {
+                log.error("导入中断：已读取 {} 条记录，已提交 {} 条", records, committed, e);
+                throw e;
+            }
+            flush();
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            ImportReport report = new ImportReport(records, createdUsers, createdCategories, createdTags, insertedPosts,
+                    insertedLinks, insertedComments, skipped, elapsed, records * 1000 / elapsed);
+            log.info("数据导入完成：{}", report);
+            return report;
+        }
+
+        private void read(Line line) throws JsonProcessingException {
+            switch (line.type()) {
+                case "meta" -> {
+                    int version = line.data() != null ? line.data().path("version").asInt(DataExporter.FORMAT_VERSION)
+                            : DataExporter.FORMAT_VERSION;
+                    if (version > DataExporter.FORMAT_VERSION) {
+                        throw new BusinessException(ErrorCode.INVALID_PARAMETER, "不支持的导出格式版本: " + version);
+                    }
+                    return;
+                }
+                case "end" -> {
+                    return;
+                }
+                case "user" -> readUser(line.id(), objectMapper.treeToValue(line.data(), User.class));
+                case "category" -> readCategory(line.id(), objectMapper.treeToValue(line.data(), Category.class));
+                case "tag" -> readTag(line.id(), objectMapper.treeToValue(line.data(), Tag.class));
+                case "post" -> readPost(line.id(), objectMapper.treeToValue(line.data(), Post.class));
+                case "post_tag" -> readLinks(objectMapper.treeToValue(line.data(), PostTagsLine.class));
+                case "comment" -> readComment(line.id(), objectMapper.treeToValue(line.data(), Comment.class));
+                default -> skipped++;
+            }
+            records++;
+        }
+
+        private void readUser(Long oldId, User user) {
+            if (user == null || isBlank(user.getUsername())) {
+                skipped++;
+                return;
+            }
+            Long existing = userIds.get(user.getUsername());
+            if (existing != null) {
+                if (oldId != null) {
+                    userIdMap.put(oldId, existing);
+                }
+                return;
+            }
+            User created = newUsers.get(user.getUsername());
+            if (created == null) {
+                if (isBlank(user.getPassword())) {
+                    // 没有密码哈希无法登录，不创建，引用该用户的内容归属到默认作者
+                    skipped++;
+                    return;
+                }
+                created = new User();
+                created.setUsername(user.getUsername());
+                created.setPassword(user.getPassword());
+                created.setNickname(user.getNickname());
+                created.setAvatar(user.getAvatar());
+                created.setRole(user.getRole() != null ? user.getRole() : "USER");
+                if (user.getEmail() != null && emails.add(user.getEmail())) {
+                    created.setEmail(user.getEmail());
+                }
+                newUsers.put(created.getUsername(), created);
+                pending++;
+            }
+            if (oldId != null) {
+                newUserRefs.put(oldId, created);
+            }
+        }
+
+        private void readCategory(Long oldId, Category category) {
+            String name = category != null && category.getName() != null ? category.getName().trim() : "";
+            if (name.isEmpty()) {
+                skipped++;
+                return;
+            }
+            if (oldId != null) {
+                categoryNames.put(oldId, name);
+            }
+            if (!categoryIds.containsKey(name) && !newCategories.containsKey(name)) {
+                Category created = new Category();
+                created.setName(name);
+                created.setDescription(category.getDescription());
+                newCategories.put(name, created);
+                pending++;
+            }
+        }
+
+        private void readTag(Long oldId, Tag tag) {
+            String name = tag != null && tag.getName() != null ? tag.getName().trim() : "";
+            if (name.isEmpty()) {
+                skipped++;
+                return;
+            }
+            if (oldId != null) {
+                tagNames.put(oldId, name);
+            }
+            requireTag(name);
+        }
+
+        private void readPost(Long oldId, Post post) {
+            if (post == null || isBlank(post.getTitle()) || post.getContent() == null) {
+                skipped++;
+                return;
+            }
+            // 名称优先；只有ID时按本文件中的分类行解析
+            String categoryName = post.getCategory() != null && !isBlank(post.getCategory().getName())
+                    ? post.getCategory().getName().trim()
+                    : categoryNames.get(post.getCategoryId());
+            if (categoryName != null && !categoryIds.containsKey(categoryName)) {
+                newCategories.computeIfAbsent(categoryName, name -> {
+                    Category created = new Category();
+                    created.setName(name);
+                    return created;
+                });
+            }
+            List<String> names = new ArrayList<>();
+            if (post.getTags() != null) {
+                for (Tag tag : post.getTags()) {
+                    if (tag != null && !isBlank(tag.getName())) {
+                        names.add(tag.getName().trim());
+                        requireTag(tag.getName().trim());
+                    }
+                }
+            }
+            Long key = oldId != null ? oldId : post.getId();
+            post.setId(null);
+            post.setCategory(null);
+            post.setTags(null);
+            applyDefaults(post);
+            posts.add(new PendingPost(key, post, categoryName, names));
+            pending++;
+        }
+
+        private void readLinks(PostTagsLine line) {
+            if (line == null || line.postId() == null || line.tagIds() == null) {
+                skipped++;
+                return;
+            }
+            links.add(line);
+            pending++;
+        }
+
+        private void readComment(Long oldId, Comment comment) {
+            if (comment == null || comment.getPostId() == null || isBlank(comment.getContent())) {
+                skipped++;
+                return;
+            }
+            comment.setId(oldId);
+            if (comment.getStatus() == null) {
+                comment.setStatus(1);
+            }
+            if (comment.getIsDeleted() == null) {
+                comment.setIsDeleted(0);
+            }
+            if (comment.getCreateTime() == null) {
+                comment.setCreateTime(LocalDateTime.now());
+            }
+            if (comment.getUpdateTime() == null) {
+                comment.setUpdateTime(comment.getCreateTime());
+            }
+            comments.add(comment);
+            pending++;
+        }
+
+        private void requireTag(String name) {
+            if (!tagIds.containsKey(name) && !newTags.containsKey(name)) {
+                Tag created = new Tag();
+                created.setName(name);
+                newTags.put(name, created);
+                pending++;
+            }
+        }
+
+        /**
+         * 在一个事务中按依赖顺序批量写入当前缓冲的记录
+         */
+        private void flush() {
+            if (pending == 0) {
+                return;
+            }
+            transaction.executeWithoutResult(status -> {
+                UserMapper users = batch.getMapper(UserMapper.class);
+                for (User user : newUsers.values()) {
+                    users.insert(user);
+                }
+                CategoryMapper categories = batch.getMapper(CategoryMapper.class);
+                for (Category category : newCategories.values()) {
+                    categories.insert(category);
+                }
+                TagMapper tags = batch.getMapper(TagMapper.class);
+                for (Tag tag : newTags.values()) {
+                    tags.insert(tag);
+                }
+                // flush 后自增ID回填到实体
+                batch.flushStatements();
+                newUsers.values().forEach(user -> userIds.put(user.getUsername(), user.getId()));
+                newUserRefs.forEach((oldId, user) -> userIdMap.put(oldId, user.getId()));
+                newCategories.values().forEach(category -> categoryIds.put(category.getName(), category.getId()));
+                newTags.values().forEach(tag -> tagIds.put(tag.getName(), tag.getId()));
+
+                PostMapper postMapper = batch.getMapper(PostMapper.class);
+                for (PendingPost entry : posts) {
+                    Post post = entry.post();
+                    Long authorId = userIdMap.get(post.getAuthorId());
+                    post.setAuthorId(authorId != null ? authorId : defaultAuthorId);
+                    post.setCategoryId(entry.categoryName() != null ? categoryIds.get(entry.categoryName()) : null);
+                    postMapper.insertImported(post);
+                }
+                batch.flushStatements();
+
+                PostTagMapper postTagMapper = batch.getMapper(PostTagMapper.class);
+                long linked = 0;
+                for (PendingPost entry : posts) {
+                    if (entry.oldId() != null) {
+                        postIds.put(entry.oldId(), entry.post().getId());
+                    }
+                    for (String name : new HashSet<>(entry.tagNames())) {
+                        postTagMapper.insert(link(entry.post().getId(), tagIds.get(name)));
+                        linked++;
+                    }
+                }
+                for (PostTagsLine line : links) {
+                    Long postId = postIds.get(line.postId());
+                    if (postId == null) {
+                        skipped++;
+                        continue;
+                    }
+                    Set<Long> seen = new HashSet<>();
+                    for (Long oldTagId : line.tagIds()) {
+                        Long tagId = tagIds.get(tagNames.get(oldTagId));
+                        if (tagId != null && seen.add(tagId)) {
+                            postTagMapper.insert(link(postId, tagId));
+                            linked++;
+                        }
+                    }
+                }
+                batch.flushStatements();
+
+                // 回复可能引用同一批中尚未写入的父评论，遇到时先 flush 取得父评论的新ID
+                CommentMapper commentMapper = batch.getMapper(CommentMapper.class);
+                Map<Long, Comment> unflushed = new LinkedHashMap<>();
+                long inserted = 0;
+                for (Comment comment : comments) {
+                    Long postId = postIds.get(comment.getPostId());
+                    if (postId == null) {
+                        skipped++;
+                        continue;
+                    }
+                    if (comment.getParentId() != null && unflushed.containsKey(comment.getParentId())) {
+                        batch.flushStatements();
+                        unflushed.forEach((oldId, flushed) -> commentIds.put(oldId, flushed.getId()));
+                        unflushed.clear();
+                    }
+                    Long oldId = comment.getId();
+                    Long userId = userIdMap.get(comment.getUserId());
+                    comment.setId(null);
+                    comment.setPostId(postId);
+                    comment.setUserId(userId != null ? userId : defaultAuthorId);
+                    comment.setParentId(commentIds.get(comment.getParentId()));
+                    commentMapper.insertImported(comment);
+                    if (oldId != null) {
+                        unflushed.put(oldId, comment);
+                    }
+                    inserted++;
+                }
+                batch.flushStatements();
+                unflushed.forEach((oldId, flushed) -> commentIds.put(oldId, flushed.getId()));
+
+                createdUsers += newUsers.size();
+                createdCategories += newCategories.size();
+                createdTags += newTags.size();
+                insertedPosts += posts.size();
+                insertedLinks += linked;
+                insertedComments += inserted;
+            });
+
+            committed += pending;
+            pending = 0;
+            newUsers.clear();
+            newUserRefs.clear();
+            newCategories.clear();
+            newTags.clear();
+            posts.clear();
+            links.clear();
+            comments.clear();
+            if (++chunks % PROGRESS_CHUNKS == 0) {
+                long elapsed = Math.max(1, System.currentTimeMillis() - start);
+                log.info("数据导入进度：已提交 {} 条记录（文章 {}，评论 {}），{} 条/秒",
+                        committed, insertedPosts, insertedComments, records * 1000 / elapsed);
+            }
+        }
+
+        private void applyDefaults(Post post) {
+            if (post.getStatus() == null) {
+                post.setStatus(1);
+            }
+            if (post.getCreateTime() == null) {
+                post.setCreateTime(LocalDateTime.now());
+            }
+            if (post.getUpdateTime() == null) {
+                post.setUpdateTime(post.getCreateTime());
+            }
+            if (post.getStatus() == 1 && post.getPublishedTime() == null) {
+                post.setPublishedTime(post.getCreateTime());
+            }
+            if (post.getViewCount() == null) {
+                post.setViewCount(0);
+            }
+            if (post.getLikeCount() == null) {
+                post.setLikeCount(0);
+            }
+            if (post.getCommentCount() == null) {
+                post.setCommentCount(0);
+            }
+            if (post.getIsTop() == null) {
+                post.setIsTop(0);
+            }
+            if (post.getIsDeleted() == null) {
+                post.setIsDeleted(0);
+            }
+        }
+
+        private PostTag link(Long postId, Long tagId) {
+            PostTag postTag = new PostTag();
+            postTag.setPostId(postId);
+            postTag.setTagId(tagId);
+            return postTag;
+        }
+
+        private boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+}
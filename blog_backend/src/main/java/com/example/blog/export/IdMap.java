@@ -0,0 +1,61 @@
+package com.example.blog.export;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 导入时旧ID到新ID的映射
+ *
+ * <p>
+ * 导出文件按ID升序排列，映射按升序追加到两个 long 数组中，每条只占 16 字节，查询用二分查找；
+ * 百万篇文章的映射约 16 MB。乱序出现的ID放入 HashMap 兜底。
+ * </p>
+ */
+class IdMap {
+
+    private long[] keys = new long[1024];
+
+    private long[] values = new long[1024];
+
+    private int size;
+
+    private final Map<Long, Long> unordered = new HashMap<>();
+
+    void put(long oldId, long newId) {
+        if (size > 0 && keys[size - 1] >= oldId) {
+            int pos = Arrays.binarySearch(keys, 0, size, oldId);
+            if (pos >= 0) {
+                values[pos] = newId;
+            } else {
+                unordered.put(oldId, newId);
+            }
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = oldId;
+        values[size] = newId;
+        size++;
+    }
+
+    /**
+     * @return 新ID，没有映射时返回 null
+     */
+    Long get(Long oldId) {
+        if (oldId == null) {
+            return null;
+        }
+        int pos = Arrays.binarySearch(keys, 0, size, oldId);
+        if (pos >= 0) {
+            return values[pos];
+        }
+        return unordered.get(oldId);
+    }
+
+    int size() {
+        return size + unordered.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.blog.export;
+
+import com.example.blog.entity.User;
+import com.example.blog.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 命令行导入
+ *
+ * <p>
+ * 指定 {@code --import.file} 时启动后导入该文件并退出，例如：
+ * {@code java -jar blog.jar --spring.main.web-application-type=none --import.file=backup.ndjson.gz --import.author=admin}。
+ * 没有作者的文章归属到 {@code import.author} 指定的用户（默认 admin）；导入失败时退出码为 1。
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "import", name = "file")
+public class ImportCommand implements ApplicationRunner {
+
+    @Autowired
+    private DataImporter dataImporter;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${import.file}")
+    private Path file;
+
+    @Value("${import.author:admin}")
+    private String author;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            User user = userMapper.findByUsername(author);
+            if (user == null) {
+                throw new IllegalArgumentException("默认作者不存在: " + author);
+            }
+            log.info("开始导入 {}，默认作者 {}", file, author);
+            ImportReport report = dataImporter.importFrom(in, user.getId());
+            log.info("导入完成：{} 条记录，文章 {}，评论 {}，跳过 {}，耗时 {} ms，{} 条/秒",
+                    report.records(), report.posts(), report.comments(), report.skipped(),
+                    report.elapsedMillis(), report.recordsPerSecond());
+        } catch (Exception e) {
+            log.error("导入 {} 失败", file, e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.blog.export;
+
+/**
+ * 导入结果
+ *
+ * @param records          读取的记录数（不含 meta、end 行）
+ * @param users            新建的用户数，同名用户直接复用
+ * @param categories       新建的分类数
+ * @param tags             新建的标签数
+ * @param posts            写入的文章数
+ * @param postTags         写入的文章标签关联数
+ * @param comments         写入的评论数
+ * @param skipped          缺少必填字段或引用无法解析而跳过的记录数
+ * @param elapsedMillis    耗时（毫秒）
+ * @param recordsPerSecond 每秒处理的记录数
+ */
+public record ImportReport(long records, long users, long categories, long tags, long posts, long postTags,
+                           long comments, long skipped, long elapsedMillis, long recordsPerSecond) {
+}
@@ -0,0 +1,475 @@
+package com.example.blog.feed;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.Tag;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.mapper.CategoryMapper;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.TagMapper;
+import com.example.blog.taxonomy.TaxonomyStore;
+import com.example.blog.util.AtomicFile;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 订阅源与站点地图生成器
+ *
+ * <p>
+ * 在 {@code feed.dir} 目录下生成静态文件，由 WebConfig 以 {@code /feeds/**} 对外提供并支持条件请求：
+ * </p>
+ * <ul>
+ * <li>{@code atom.xml}、{@code rss.xml}：全站最新文章</li>
+ * <li>{@code category/{id}/atom.xml}、{@code tag/{id}/atom.xml} 等：按分类、标签过滤的最新文章</li>
+ * <li>{@code sitemap.xml}：站点地图索引，指向 {@code sitemap-pages.xml}（首页、分类、标签页）
+ * 与按文章ID分段的 {@code sitemap-posts-{n}.xml}</li>
+ * </ul>
+ * <p>
+ * 启动后全量生成一次，之后只在收到 {@link ContentChangedEvent} 时增量更新：文章变更只重写全站订阅源、
+ * 该文章当前所属及上次生成时包含它的分类/标签订阅源，以及它所在的那一段站点地图。事件只记入待处理集合，
+ * 由定时任务合并处理，连续编辑同一篇文章只生成一次。站点地图按ID区间分页流式查询、边查边写，
+ * 所有文件都先写临时文件再原子替换。
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FeedGenerator {
+
+    /** 全站订阅源 */
+    static final String GLOBAL = "";
+
+    private static final String CATEGORY_PREFIX = "category/";
+
+    private static final String TAG_PREFIX = "tag/";
+
+    private static final String SITEMAP_INDEX = "sitemap.xml";
+
+    private static final String SITEMAP_PAGES = "sitemap-pages.xml";
+
+    private static final Pattern SITEMAP_CHUNK = Pattern.compile("sitemap-posts-(\\d+)\\.xml");
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private TaxonomyStore taxonomy;
+
+    @Value("${feed.dir:feeds}")
+    private String dir;
+
+    @Value("${feed.site-url:http://localhost:5173}")
+    private String siteUrl;
+
+    @Value("${feed.public-url:http://localhost:8080/api/feeds}")
+    private String publicUrl;
+
+    @Value("${feed.title:个人博客}")
+    private String title;
+
+    @Value("${feed.description:最新文章}")
+    private String description;
+
+    @Value("${feed.size:20}")
+    private int size;
+
+    @Value("${feed.sitemap.chunk-size:10000}")
+    private long chunkSize;
+
+    @Value("${feed.sitemap.batch-size:500}")
+    private int batchSize;
+
+    @Value("${spring.jackson.time-zone:Asia/Shanghai}")
+    private String timeZone;
+
+    private FeedWriter writer;
+
+    private Path root;
+
+    private final AtomicBoolean rebuildAll = new AtomicBoolean(true);
+
+    private final AtomicBoolean pagesDirty = new AtomicBoolean();
+
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> dirtyFeeds = ConcurrentHashMap.newKeySet();
+
+    /** 每个订阅源上次生成时包含的文章，文章移出分类/标签或被删除时据此找到需要重写的订阅源 */
+    private final Map<String, Set<Long>> feedMembers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        writer = new FeedWriter(ZoneId.of(timeZone));
+        root = Paths.get(dir).toAbsolutePath();
+    }
+
+    /**
+     * 记录需要更新的订阅源，实际生成由 {@link #flush()} 完成
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getAction() == ContentChangedEvent.Action.IMPORTED) {
+            rebuildAll.set(true);
+            return;
+        }
+        switch (event.getContentType()) {
+            case POST -> dirtyPosts.add(event.getId());
+            case CATEGORY -> {
+                dirtyFeeds.add(CATEGORY_PREFIX + event.getId());
+                pagesDirty.set(true);
+            }
+            case TAG -> {
+                dirtyFeeds.add(TAG_PREFIX + event.getId());
+                pagesDirty.set(true);
+            }
+            default -> {
+                // 评论不出现在订阅源与站点地图中
+            }
+        }
+    }
+
+    /**
+     * 处理待更新的订阅源与站点地图，首次执行时全量生成
+     */
+    @Scheduled(initialDelayString = "${feed.initial-delay-ms:5000}",
+            fixedDelayString = "${feed.flush-interval-ms:5000}")
+    public void flush() {
+        if (rebuildAll.get()) {
+            try {
+                rebuild();
+                rebuildAll.set(false);
+            } catch (IOException | XMLStreamException | RuntimeException e) {
+                log.warn("生成订阅源失败，下次运行时重试", e);
+            }
+            return;
+        }
+
+        List<Long> posts = new ArrayList<>(dirtyPosts);
+        dirtyPosts.removeAll(posts);
+        List<String> feeds = new ArrayList<>(dirtyFeeds);
+        dirtyFeeds.removeAll(feeds);
+        boolean pages = pagesDirty.getAndSet(false);
+        if (posts.isEmpty() && feeds.isEmpty() && !pages) {
+            return;
+        }
+        try {
+            update(posts, feeds, pages);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            dirtyPosts.addAll(posts);
+            dirtyFeeds.addAll(feeds);
+            pagesDirty.compareAndSet(false, pages);
+            log.warn("更新订阅源失败，下次运行时重试", e);
+        }
+    }
+
+    /**
+     * 全量生成所有文件，并清理已不存在的分类、标签与站点地图分段
+     */
+    void rebuild() throws IOException, XMLStreamException {
+        long start = System.currentTimeMillis();
+        // 全量生成期间到达的事件会被本次生成覆盖
+        dirtyPosts.clear();
+        dirtyFeeds.clear();
+        pagesDirty.set(false);
+
+        List<Category> categories = categoryMapper.findAll();
+        List<Tag> tags = tagMapper.findAll();
+
+        writeFeed(GLOBAL);
+        Set<String> keys = new HashSet<>();
+        for (Category category : categories) {
+            keys.add(CATEGORY_PREFIX + category.getId());
+            writeFeed(CATEGORY_PREFIX + category.getId(), category.getName());
+        }
+        for (Tag tag : tags) {
+            keys.add(TAG_PREFIX + tag.getId());
+            writeFeed(TAG_PREFIX + tag.getId(), tag.getName());
+        }
+        removeStaleFeeds(CATEGORY_PREFIX, keys);
+        removeStaleFeeds(TAG_PREFIX, keys);
+
+        writePages(categories, tags);
+        Set<Long> written = writeSitemapChunks(0, Long.MAX_VALUE / chunkSize);
+        for (long chunk : existingChunks()) {
+            if (!written.contains(chunk)) {
+                Files.deleteIfExists(chunkPath(chunk));
+            }
+        }
+        writeSitemapIndex();
+        log.info("订阅源与站点地图已生成：{} 个分类、{} 个标签、{} 段文章站点地图，耗时 {} ms",
+                categories.size(), tags.size(), written.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 增量更新
+     */
+    private void update(List<Long> posts, List<String> feeds, boolean pages) throws IOException, XMLStreamException {
+        Set<String> affectedFeeds = new TreeSet<>(feeds);
+        Set<Long> chunks = new TreeSet<>();
+        for (Long postId : posts) {
+            affectedFeeds.add(GLOBAL);
+            feedMembers.forEach((key, members) -> {
+                if (members.contains(postId)) {
+                    affectedFeeds.add(key);
+                }
+            });
+            Post post = postMapper.findById(postId);
+            taxonomy.attach(post);
+            if (post != null && Integer.valueOf(1).equals(post.getStatus())) {
+                if (post.getCategoryId() != null) {
+                    affectedFeeds.add(CATEGORY_PREFIX + post.getCategoryId());
+                }
+                if (post.getTags() != null) {
+                    post.getTags().forEach(tag -> affectedFeeds.add(TAG_PREFIX + tag.getId()));
+                }
+            }
+            chunks.add(postId / chunkSize);
+        }
+
+        for (String key : affectedFeeds) {
+            if (GLOBAL.equals(key)) {
+                writeFeed(GLOBAL);
+                continue;
+            }
+            String name = key.startsWith(CATEGORY_PREFIX)
+                    ? nameOf(categoryMapper.findById(idOf(key)))
+                    : nameOf(tagMapper.findById(idOf(key)));
+            if (name == null) {
+                removeFeed(key);
+            } else {
+                writeFeed(key, name);
+            }
+        }
+
+        if (pages) {
+            writePages(categoryMapper.findAll(), tagMapper.findAll());
+        }
+        for (long chunk : chunks) {
+            if (writeSitemapChunks(chunk, chunk + 1).isEmpty()) {
+                Files.deleteIfExists(chunkPath(chunk));
+            }
+        }
+        if (pages || !chunks.isEmpty()) {
+            writeSitemapIndex();
+        }
+        log.debug("订阅源已增量更新：{} 个订阅源，{} 段文章站点地图", affectedFeeds.size(), chunks.size());
+    }
+
+    private void writeFeed(String key) throws IOException, XMLStreamException {
+        writeFeed(key, null);
+    }
+
+    /**
+     * 生成一个订阅源的 Atom 与 RSS 文件
+     *
+     * @param key  订阅源，{@link #GLOBAL} 或 {@code category/{id}}、{@code tag/{id}}
+     * @param name 分类或标签名称，全站订阅源为 null
+     */
+    private void writeFeed(String key, String name) throws IOException, XMLStreamException {
+        Long categoryId = key.startsWith(CATEGORY_PREFIX) ? idOf(key) : null;
+        Long tagId = key.startsWith(TAG_PREFIX) ? idOf(key) : null;
+        List<Post> posts = postMapper.findFeedPosts(categoryId, tagId, size);
+        taxonomy.attach(posts);
+
+        String base = GLOBAL.equals(key) ? publicUrl : publicUrl + "/" + key;
+        String page = GLOBAL.equals(key) ? siteUrl : siteUrl + "/" + key;
+        String channelTitle = name == null ? title : title + " - " + name;
+        Path feedDir = GLOBAL.equals(key) ? root : root.resolve(key);
+
+        writeXml(feedDir.resolve("atom.xml"), out -> writer.writeAtom(out,
+                new FeedWriter.Channel(channelTitle, description, base + "/atom.xml", page, siteUrl + "/post/"), posts));
+        writeXml(feedDir.resolve("rss.xml"), out -> writer.writeRss(out,
+                new FeedWriter.Channel(channelTitle, description, base + "/rss.xml", page, siteUrl + "/post/"), posts));
+
+        Set<Long> members = new HashSet<>();
+        posts.forEach(post -> members.add(post.getId()));
+        feedMembers.put(key, members);
+    }
+
+    private void removeFeed(String key) throws IOException {
+        Path feedDir = root.resolve(key);
+        Files.deleteIfExists(feedDir.resolve("atom.xml"));
+        Files.deleteIfExists(feedDir.resolve("rss.xml"));
+        Files.deleteIfExists(feedDir);
+        feedMembers.remove(key);
+    }
+
+    private void removeStaleFeeds(String prefix, Set<String> keys) throws IOException {
+        Path parent = root.resolve(prefix);
+        if (!Files.isDirectory(parent)) {
+            return;
+        }
+        List<String> stale = new ArrayList<>();
+        try (Stream<Path> children = Files.list(parent)) {
+            children.map(child -> prefix + child.getFileName()).filter(key -> !keys.contains(key)).forEach(stale::add);
+        }
+        for (String key : stale) {
+            removeFeed(key);
+        }
+    }
+
+    /**
+     * 生成首页、分类、标签页的站点地图
+     */
+    private void writePages(List<Category> categories, List<Tag> tags) throws IOException, XMLStreamException {
+        writeXml(root.resolve(SITEMAP_PAGES), out -> {
+            FeedWriter.UrlSetWriter urls = writer.urlSet(out);
+            urls.url(siteUrl + "/", null);
+            urls.url(siteUrl + "/category", null);
+            urls.url(siteUrl + "/tag", null);
+            for (Category category : categories) {
+                urls.url(siteUrl + "/" + CATEGORY_PREFIX + category.getId(), null);
+            }
+            for (Tag tag : tags) {
+                urls.url(siteUrl + "/" + TAG_PREFIX + tag.getId(), null);
+            }
+            urls.finish();
+        });
+    }
+
+    /**
+     * 按ID顺序分批查询 [fromChunk, toChunk) 对应区间内的已发布文章，逐段写出站点地图
+     *
+     * @return 实际写出的分段，没有文章的分段不生成文件
+     */
+    private Set<Long> writeSitemapChunks(long fromChunk, long toChunk) throws IOException, XMLStreamException {
+        Set<Long> written = new TreeSet<>();
+        long beforeId = toChunk >= Long.MAX_VALUE / chunkSize ? Long.MAX_VALUE : toChunk * chunkSize;
+        long afterId = fromChunk * chunkSize - 1;
+        long currentChunk = -1;
+        AtomicFile file = null;
+        FeedWriter.UrlSetWriter urls = null;
+        try {
+            List<Post> batch;
+            do {
+                batch = postMapper.findSitemapPosts(afterId, beforeId, batchSize);
+                for (Post post : batch) {
+                    long chunk = post.getId() / chunkSize;
+                    if (chunk != currentChunk) {
+                        if (file != null) {
+                            urls.finish();
+                            file.commit();
+                            file.close();
+                        }
+                        currentChunk = chunk;
+                        file = AtomicFile.create(chunkPath(chunk));
+                        urls = writer.urlSet(file.out());
+                        written.add(chunk);
+                    }
+                    urls.url(siteUrl + "/post/" + post.getId(), FeedWriter.updated(post));
+                    afterId = post.getId();
+                }
+            } while (batch.size() == batchSize);
+            if (file != null) {
+                urls.finish();
+                file.commit();
+            }
+        } finally {
+            if (file != null) {
+                file.close();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 根据目录中现有的站点地图文件生成索引，lastmod 取文件修改时间
+     */
+    private void writeSitemapIndex() throws IOException, XMLStreamException {
+        List<FeedWriter.SitemapRef> refs = new ArrayList<>();
+        refs.add(new FeedWriter.SitemapRef(publicUrl + "/" + SITEMAP_PAGES, lastModified(root.resolve(SITEMAP_PAGES))));
+        for (long chunk : existingChunks()) {
+            Path path = chunkPath(chunk);
+            refs.add(new FeedWriter.SitemapRef(publicUrl + "/" + path.getFileName(), lastModified(path)));
+        }
+        writeXml(root.resolve(SITEMAP_INDEX), out -> writer.writeSitemapIndex(out, refs));
+    }
+
+    private List<Long> existingChunks() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(root)) {
+            return files.map(file -> SITEMAP_CHUNK.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        }
+    }
+
+    private Path chunkPath(long chunk) {
+        return root.resolve("sitemap-posts-" + chunk + ".xml");
+    }
+
+    private LocalDateTime lastModified(Path path) {
+        try {
+            Instant modified = Files.getLastModifiedTime(path).toInstant();
+            return LocalDateTime.ofInstant(modified, ZoneId.of(timeZone));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出内容
+     */
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(OutputStream out) throws XMLStreamException;
+    }
+
+    private static void writeXml(Path target, XmlBody body) throws IOException, XMLStreamException {
+        try (AtomicFile file = AtomicFile.create(target)) {
+            body.write(file.out());
+            file.commit();
+        }
+    }
+
+    private static Long idOf(String key) {
+        return Long.valueOf(key.substring(key.indexOf('/') + 1));
+    }
+
+    private static String nameOf(Category category) {
+        return category == null ? null : category.getName();
+    }
+
+    private static String nameOf(Tag tag) {
+        return tag == null ? null : tag.getName();
+    }
+}
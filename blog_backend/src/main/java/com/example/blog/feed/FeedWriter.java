@@ -0,0 +1,285 @@
+package com.example.blog.feed;
+
+import com.example.blog.entity.Post;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 订阅源与站点地图的 XML 写出工具
+ *
+ * <p>
+ * 基于 StAX 直接写出到输出流，不在内存中构建文档树；站点地图通过 {@link UrlSetWriter} 逐条追加，
+ * 调用方可以边分页查询边写出，内存占用与文章总数无关。
+ * 数据库中的时间按 {@code spring.jackson.time-zone} 所在时区解释，写出时带上时区偏移。
+ * </p>
+ */
+public final class FeedWriter {
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final ZoneId zone;
+
+    public FeedWriter(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * 订阅源频道信息
+     *
+     * @param title       标题
+     * @param description 描述
+     * @param selfUrl     订阅源自身的地址
+     * @param siteUrl     对应的页面地址
+     * @param postUrl     文章页面地址前缀，后接文章ID
+     */
+    public record Channel(String title, String description, String selfUrl, String siteUrl, String postUrl) {
+    }
+
+    /**
+     * 写出 Atom 订阅源
+     *
+     * @param out     输出流
+     * @param channel 频道信息
+     * @param posts   按发布时间倒序的文章
+     */
+    public void writeAtom(OutputStream out, Channel channel, List<Post> posts) throws XMLStreamException {
+        XMLStreamWriter xml = open(out);
+        xml.writeStartElement("feed");
+        xml.writeDefaultNamespace(ATOM_NS);
+        element(xml, "title", channel.title());
+        element(xml, "subtitle", channel.description());
+        element(xml, "id", channel.selfUrl());
+        link(xml, "self", channel.selfUrl(), "application/atom+xml");
+        link(xml, "alternate", channel.siteUrl(), "text/html");
+        element(xml, "updated", atomDate(posts.isEmpty() ? LocalDateTime.now() : updated(posts.get(0))));
+
+        for (Post post : posts) {
+            String url = channel.postUrl() + post.getId();
+            xml.writeStartElement("entry");
+            element(xml, "title", post.getTitle());
+            element(xml, "id", url);
+            link(xml, "alternate", url, "text/html");
+            element(xml, "published", atomDate(published(post)));
+            element(xml, "updated", atomDate(updated(post)));
+            String author = authorName(post);
+            if (author != null) {
+                xml.writeStartElement("author");
+                element(xml, "name", author);
+                xml.writeEndElement();
+            }
+            if (post.getCategory() != null && post.getCategory().getName() != null) {
+                xml.writeEmptyElement("category");
+                xml.writeAttribute("term", post.getCategory().getName());
+            }
+            String summary = summary(post);
+            if (summary != null) {
+                element(xml, "summary", summary);
+            }
+            xml.writeEndElement();
+        }
+
+        xml.writeEndElement();
+        close(xml);
+    }
+
+    /**
+     * 写出 RSS 2.0 订阅源
+     *
+     * @param out     输出流
+     * @param channel 频道信息
+     * @param posts   按发布时间倒序的文章
+     */
+    public void writeRss(OutputStream out, Channel channel, List<Post> posts) throws XMLStreamException {
+        XMLStreamWriter xml = open(out);
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeNamespace("atom", ATOM_NS);
+        xml.writeStartElement("channel");
+        element(xml, "title", channel.title());
+        element(xml, "link", channel.siteUrl());
+        element(xml, "description", channel.description());
+        xml.writeEmptyElement("atom", "link", ATOM_NS);
+        xml.writeAttribute("href", channel.selfUrl());
+        xml.writeAttribute("rel", "self");
+        xml.writeAttribute("type", "application/rss+xml");
+        element(xml, "lastBuildDate", rssDate(posts.isEmpty() ? LocalDateTime.now() : updated(posts.get(0))));
+
+        for (Post post : posts) {
+            String url = channel.postUrl() + post.getId();
+            xml.writeStartElement("item");
+            element(xml, "title", post.getTitle());
+            element(xml, "link", url);
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "true");
+            xml.writeCharacters(url);
+            xml.writeEndElement();
+            element(xml, "pubDate", rssDate(published(post)));
+            if (post.getCategory() != null && post.getCategory().getName() != null) {
+                element(xml, "category", post.getCategory().getName());
+            }
+            String summary = summary(post);
+            if (summary != null) {
+                element(xml, "description", summary);
+            }
+            xml.writeEndElement();
+        }
+
+        xml.writeEndElement();
+        xml.writeEndElement();
+        close(xml);
+    }
+
+    /**
+     * 站点地图索引条目
+     *
+     * @param loc     子站点地图地址
+     * @param lastmod 最后修改时间
+     */
+    public record SitemapRef(String loc, LocalDateTime lastmod) {
+    }
+
+    /**
+     * 写出站点地图索引
+     *
+     * @param out      输出流
+     * @param sitemaps 子站点地图
+     */
+    public void writeSitemapIndex(OutputStream out, List<SitemapRef> sitemaps) throws XMLStreamException {
+        XMLStreamWriter xml = open(out);
+        xml.writeStartElement("sitemapindex");
+        xml.writeDefaultNamespace(SITEMAP_NS);
+        for (SitemapRef sitemap : sitemaps) {
+            xml.writeStartElement("sitemap");
+            element(xml, "loc", sitemap.loc());
+            if (sitemap.lastmod() != null) {
+                element(xml, "lastmod", atomDate(sitemap.lastmod()));
+            }
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        close(xml);
+    }
+
+    /**
+     * 开始写出站点地图
+     *
+     * @param out 输出流
+     * @return 逐条追加 URL 的写出器，写完后必须调用 {@link UrlSetWriter#finish()}
+     */
+    public UrlSetWriter urlSet(OutputStream out) throws XMLStreamException {
+        XMLStreamWriter xml = open(out);
+        xml.writeStartElement("urlset");
+        xml.writeDefaultNamespace(SITEMAP_NS);
+        return new UrlSetWriter(xml);
+    }
+
+    /**
+     * 站点地图写出器
+     */
+    public final class UrlSetWriter {
+
+        private final XMLStreamWriter xml;
+
+        private UrlSetWriter(XMLStreamWriter xml) {
+            this.xml = xml;
+        }
+
+        /**
+         * 追加一个 URL
+         *
+         * @param loc     页面地址
+         * @param lastmod 最后修改时间，可为 null
+         */
+        public void url(String loc, LocalDateTime lastmod) throws XMLStreamException {
+            xml.writeStartElement("url");
+            element(xml, "loc", loc);
+            if (lastmod != null) {
+                element(xml, "lastmod", atomDate(lastmod));
+            }
+            xml.writeEndElement();
+        }
+
+        /**
+         * 结束文档并刷新输出
+         */
+        public void finish() throws XMLStreamException {
+            xml.writeEndElement();
+            close(xml);
+        }
+    }
+
+    /**
+     * 文章最后更新时间，用于 Atom updated 与站点地图 lastmod
+     */
+    static LocalDateTime updated(Post post) {
+        return post.getUpdateTime() != null ? post.getUpdateTime() : published(post);
+    }
+
+    private static LocalDateTime published(Post post) {
+        if (post.getPublishedTime() != null) {
+            return post.getPublishedTime();
+        }
+        return post.getCreateTime() != null ? post.getCreateTime() : LocalDateTime.now();
+    }
+
+    private static String summary(Post post) {
+        if (post.getSummary() != null && !post.getSummary().isBlank()) {
+            return post.getSummary();
+        }
+        return post.getExcerpt();
+    }
+
+    private static String authorName(Post post) {
+        if (post.getAuthor() == null) {
+            return null;
+        }
+        String nickname = post.getAuthor().getNickname();
+        return nickname != null && !nickname.isBlank() ? nickname : post.getAuthor().getUsername();
+    }
+
+    private static XMLStreamWriter open(OutputStream out) throws XMLStreamException {
+        XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        return xml;
+    }
+
+    private static void close(XMLStreamWriter xml) throws XMLStreamException {
+        xml.writeEndDocument();
+        xml.flush();
+        xml.close();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text == null ? "" : text);
+        xml.writeEndElement();
+    }
+
+    private static void link(XMLStreamWriter xml, String rel, String href, String type) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("rel", rel);
+        xml.writeAttribute("type", type);
+        xml.writeAttribute("href", href);
+    }
+
+    private String atomDate(LocalDateTime time) {
+        return time.atZone(zone).toOffsetDateTime().withNano(0)
+                .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    private String rssDate(LocalDateTime time) {
+        return time.atZone(zone).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.blog.filter;
 
 import com.example.blog.util.JwtUtil;
+import com.example.blog.util.TokenVersionStore;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,7 +23,8 @@ import java.util.Collections;
  * JWT认证过滤器
  * 
  * 继承OncePerRequestFilter，确保每个请求只过滤一次
- * 负责从HTTP请求中提取JWT令牌，验证其有效性，并设置用户认证信息
+ * 负责从HTTP请求中提取JWT令牌，验证其有效性，并设置用户认证信息。
+ * 每个令牌只解析一次；吊销检查只比较内存中的令牌版本，不访问数据库
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,6 +32,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenVersionStore tokenVersionStore;
+
     /**
      * 执行过滤逻辑
      * 
@@ -46,28 +52,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token)) {
-            try {
-                String username = jwtUtil.getUsernameFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (jwtUtil.validateToken(token, username)) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                username,
-                                null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
-                }
-            } catch (Exception e) {
-                // Token无效，不做处理
+        if (StringUtils.hasText(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // 签名错误或已过期时返回null，不做处理
+            Claims claims = jwtUtil.parseToken(token);
+            if (claims != null && isActiveAccessToken(claims)) {
+                String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        claims.getSubject(),
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 判断是否为未被吊销的访问令牌，刷新令牌不能用于访问接口
+     * 
+     * @param claims 令牌声明
+     * @return 有效返回true
+     */
+    private boolean isActiveAccessToken(Claims claims) {
+        if (!JwtUtil.TYPE_ACCESS.equals(claims.get(JwtUtil.CLAIM_TYPE))) {
+            return false;
+        }
+        Long userId = JwtUtil.getUserId(claims);
+        Integer version = JwtUtil.getVersion(claims);
+        return userId != null && version != null && tokenVersionStore.isValid(userId, version);
+    }
+
     /**
      * 从请求中提取JWT令牌
      * 
@@ -0,0 +1,60 @@
+package com.example.blog.filter;
+
+import com.example.blog.monitor.QueryLedger;
+import com.example.blog.monitor.QueryLedgerReport;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * SQL 台账过滤器
+ *
+ * <p>
+ * 在请求进入时开启 {@link QueryLedger}，请求结束后交给 {@link QueryLedgerReport} 分析。
+ * 过滤器排在最前面，保证安全过滤器链中发出的查询也会被统计。
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "query-ledger", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLedgerFilter extends OncePerRequestFilter {
+
+    private final QueryLedgerReport queryLedgerReport;
+
+    public QueryLedgerFilter(QueryLedgerReport queryLedgerReport) {
+        this.queryLedgerReport = queryLedgerReport;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryLedger ledger = QueryLedger.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryLedger.end();
+            queryLedgerReport.analyze(resolveRoute(request), ledger);
+        }
+    }
+
+    /**
+     * 优先使用匹配到的路由模板（如 /posts/{id}），使同一接口的不同ID聚合到一起
+     */
+    private String resolveRoute(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+        return request.getMethod() + " " + path;
+    }
+}
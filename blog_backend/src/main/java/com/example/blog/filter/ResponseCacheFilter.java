@@ -0,0 +1,172 @@
+package com.example.blog.filter;
+
+import com.example.blog.dto.PageResult;
+import com.example.blog.util.ResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 公开列表响应缓存过滤器
+ *
+ * <p>
+ * 对匿名调用方的 {@code GET /posts}、{@code /comments/post/{postId}}
+ * 直接返回 {@link ResponseCache} 中的字节（客户端支持时返回预压缩的 gzip），未命中时照常执行并把成功响应写入缓存。
+ * 过滤器排在安全过滤器链之后，命中的响应同样带有安全响应头。
+ * 查询参数只保留接口实际使用的参数并补齐默认值，{@code /posts} 与 {@code /posts?page=1&size=10} 共用一个条目；
+ * 带搜索词的文章列表不缓存，每页条数按控制器的上限截断后再生成键。
+ * 标签、分类列表由控制器返回 {@link com.example.blog.util.JsonEnvelopeCache} 中的预序列化响应，这里不再重复缓存。
+ * </p>
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(prefix = "response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern COMMENTS_OF_POST = Pattern.compile("/comments/post/(\\d+)");
+
+    private static final byte[] SUCCESS_PREFIX = "{\"code\":200".getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * 可缓存请求：规范化后的键与失效标签
+     */
+    private record Cacheable(String key, List<String> tags) {
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        Cacheable cacheable = resolve(request);
+        if (cacheable == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ResponseCache.Entry entry = responseCache.get(cacheable.key());
+        if (entry != null) {
+            write(request, response, entry);
+            return;
+        }
+
+        long[] snapshot = responseCache.generations(cacheable.tags());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader("X-Cache", "MISS");
+        try {
+            filterChain.doFilter(request, wrapper);
+            byte[] body = wrapper.getContentAsByteArray();
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && startsWith(body, SUCCESS_PREFIX)) {
+                responseCache.put(cacheable.key(), cacheable.tags(), snapshot, body, wrapper.getContentType());
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, ResponseCache.Entry entry)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.getContentType());
+        response.setHeader("X-Cache", "HIT");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = entry.getBody();
+        if (entry.getGzipBody() != null && acceptsGzip(request)) {
+            // 已带 Content-Encoding 的响应不会被 Tomcat 再次压缩
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.getGzipBody();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 判断请求是否可缓存，并生成规范化的键
+     *
+     * @return 不可缓存时返回 null
+     */
+    private Cacheable resolve(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        switch (path) {
+            case "/posts": {
+                // 搜索词由客户端任意构造，命中率低，不缓存
+                String keyword = request.getParameter("keyword");
+                if (keyword != null && !keyword.isEmpty()) {
+                    return null;
+                }
+                Integer page = intParam(request, "page", 1);
+                Integer size = intParam(request, "size", 10);
+                if (page == null || size == null) {
+                    return null;
+                }
+                // 与控制器相同的每页条数上限，超出上限的请求共用同一个条目
+                size = Math.max(1, Math.min(size, PageResult.MAX_SIZE));
+                return new Cacheable("/posts?page=" + page + "&size=" + size, List.of(ResponseCache.TAG_POSTS));
+            }
+            default:
+                Matcher matcher = COMMENTS_OF_POST.matcher(path);
+                if (matcher.matches()) {
+                    long postId = Long.parseLong(matcher.group(1));
+                    return new Cacheable("/comments/post/" + postId,
+                            List.of(ResponseCache.TAG_COMMENTS_PREFIX + postId));
+                }
+                return null;
+        }
+    }
+
+    /**
+     * 读取整数参数，缺省时取默认值；无法解析时返回 null，交给控制器按原逻辑处理
+     */
+    private static Integer intParam(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static boolean startsWith(byte[] body, byte[] prefix) {
+        if (body.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (body[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
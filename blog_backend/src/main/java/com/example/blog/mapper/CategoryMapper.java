@@ -2,6 +2,8 @@ package com.example.blog.mapper;
 
 import com.example.blog.entity.Category;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -19,4 +21,7 @@ public interface CategoryMapper {
     int update(Category category);
     
     int deleteById(Long id);
-}
\ No newline at end of file
+
+    // 数据导出：按ID游标分段读取分类，ID大于 afterId，最多 limit 行
+    Cursor<Category> exportAfter(@Param("afterId") Long afterId, @Param("limit") Integer limit);
+}
@@ -3,6 +3,7 @@ package com.example.blog.mapper;
 import com.example.blog.entity.Comment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -29,4 +30,10 @@ public interface CommentMapper {
     int update(Comment comment);
     
     int deleteById(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // 数据导出：按ID游标分段读取评论，ID大于 afterId，最多 limit 行
+    Cursor<Comment> exportAfter(@Param("afterId") Long afterId, @Param("limit") Integer limit);
+
+    // 批量导入：保留状态、删除标记与时间
+    int insertImported(Comment comment);
+}
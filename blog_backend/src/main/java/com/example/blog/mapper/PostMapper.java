@@ -3,7 +3,10 @@ package com.example.blog.mapper;
 import com.example.blog.entity.Post;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -42,7 +45,56 @@ public interface PostMapper {
     
     int deleteById(@Param("id") Long id);
     
+    // 重新渲染：按ID顺序分批查询渲染版本过旧的文章
+    List<Post> findStaleRendered(@Param("renderVersion") Integer renderVersion,
+                                 @Param("afterId") Long afterId,
+                                 @Param("limit") Integer limit);
+    
+    int updateRendered(Post post);
+    
+    // 订阅源：按发布时间倒序查询最新文章，可按分类或标签过滤
+    List<Post> findFeedPosts(@Param("categoryId") Long categoryId,
+                             @Param("tagId") Long tagId,
+                             @Param("limit") Integer limit);
+    
+    // 站点地图：按ID顺序分批查询 [afterId, beforeId) 区间内已发布文章的ID与时间
+    List<Post> findSitemapPosts(@Param("afterId") Long afterId,
+                                @Param("beforeId") Long beforeId,
+                                @Param("limit") Integer limit);
+    
+    // 按ID查询已发布文章（列表字段），顺序由调用方排列
+    List<Post> findListByIds(@Param("ids") Collection<Long> ids);
+    
+    // 相关文章索引：按ID顺序分批查询已发布文章的ID与分类，ids 不为空时只查询指定文章
+    List<Post> findIndexPosts(@Param("afterId") Long afterId,
+                              @Param("ids") Collection<Long> ids,
+                              @Param("limit") Integer limit);
+    
+    // 热门排行冷启动：按累计浏览、点赞、评论加权排序取前 limit 篇的ID与计数
+    List<Post> findTopEngaged(@Param("viewWeight") Double viewWeight,
+                              @Param("likeWeight") Double likeWeight,
+                              @Param("commentWeight") Double commentWeight,
+                              @Param("limit") Integer limit);
+    
+    // 定时发布：启动时按索引读取等待发布的文章ID与时间
+    List<Post> findScheduled();
+    
+    int updateScheduledTime(@Param("id") Long id, @Param("scheduledTime") LocalDateTime scheduledTime);
+    
+    int publishScheduled(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // 草稿自动保存：只查询作者与正文，不关联其他表
+    Long findAuthorId(@Param("id") Long id);
+    
+    String findContent(@Param("id") Long id);
+    
     void increaseViewCount(@Param("id") Long id);
     
     void increaseLikeCount(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // 数据导出：按ID游标分段读取文章（只含源字段，渲染结果导入后重新生成），ID大于 afterId，最多 limit 行
+    Cursor<Post> exportAfter(@Param("afterId") Long afterId, @Param("limit") Integer limit);
+
+    // 批量导入：写入源字段，render_version 为 0，由 PostRenderJob 补齐渲染结果
+    int insertImported(Post post);
+}
@@ -0,0 +1,27 @@
+package com.example.blog.mapper;
+
+import com.example.blog.entity.PostRevision;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface PostRevisionMapper {
+    
+    int insert(PostRevision revision);
+    
+    // 最新修订（不含 body），没有修订时返回 null
+    PostRevision findLatest(@Param("postId") Long postId);
+    
+    // 修订列表（不含 body），按修订号倒序
+    List<PostRevision> findByPostId(@Param("postId") Long postId);
+    
+    // 还原指定修订所需的记录：不晚于该修订的最近一个快照及其后的编辑，按修订号升序
+    List<PostRevision> findChain(@Param("postId") Long postId, @Param("revision") Integer revision);
+    
+    // 不晚于指定修订的最近一个快照的修订号
+    Integer findSnapshotRevision(@Param("postId") Long postId, @Param("revision") Integer revision);
+    
+    int deleteBefore(@Param("postId") Long postId, @Param("revision") Integer revision);
+}
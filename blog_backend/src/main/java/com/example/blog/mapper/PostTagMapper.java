@@ -3,7 +3,10 @@ package com.example.blog.mapper;
 import com.example.blog.entity.PostTag;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,5 +16,18 @@ public interface PostTagMapper {
 
     void deleteByPostId(Long postId);
 
+    void deleteByPostIdAndTagIds(@Param("postId") Long postId, @Param("tagIds") Collection<Long> tagIds);
+
     List<Long> findTagIdsByPostId(Long postId);
+
+    List<PostTag> findByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 标签分类目录全量加载：按文章ID、标签ID顺序逐行回调，不在内存中保留整张表的实体
+    void scanAll(ResultHandler<PostTag> handler);
+
+    // 数据导出：文章ID大于 afterId 的前 limit 篇文章的全部标签关联，按文章ID、标签ID排序
+    Cursor<PostTag> exportAfter(@Param("afterId") Long afterId, @Param("limit") Integer limit);
+
+    // 批量导入：单行插入，BATCH 执行器下由驱动合并为多行 INSERT
+    int insert(PostTag postTag);
 }
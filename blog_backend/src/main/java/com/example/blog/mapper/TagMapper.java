@@ -2,6 +2,8 @@ package com.example.blog.mapper;
 
 import com.example.blog.entity.Tag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -21,4 +23,7 @@ public interface TagMapper {
     int deleteById(Long id);
     
     List<Tag> findByPostId(Long postId);
-}
\ No newline at end of file
+
+    // 数据导出：按ID游标分段读取标签，ID大于 afterId，最多 limit 行
+    Cursor<Tag> exportAfter(@Param("afterId") Long afterId, @Param("limit") Integer limit);
+}
@@ -3,6 +3,7 @@ package com.example.blog.mapper;
 import com.example.blog.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -19,5 +20,14 @@ public interface UserMapper {
     
     int update(User user);
     
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+    
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
+    
+    int batchUpdateLastLoginTime(@Param("users") List<User> users);
+    
     int deleteById(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // 数据导出：按ID游标分段读取用户，ID大于 afterId，最多 limit 行
+    Cursor<User> exportAfter(@Param("afterId") Long afterId, @Param("limit") Integer limit);
+}
@@ -0,0 +1,23 @@
+package com.example.blog.mapper;
+
+import com.example.blog.entity.UserTokenVersion;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface UserTokenVersionMapper {
+    
+    List<UserTokenVersion> findAll();
+    
+    Integer findVersionByUserId(@Param("userId") Long userId);
+    
+    int increment(@Param("userId") Long userId);
+    
+    // 版本仍为 expected 时加一，返回受影响行数；用于刷新令牌轮换
+    int rotate(@Param("userId") Long userId, @Param("expected") Integer expected);
+    
+    // 从未吊销过的用户首次轮换，主键冲突说明版本已被其他请求写入
+    int insertFirst(@Param("userId") Long userId);
+}
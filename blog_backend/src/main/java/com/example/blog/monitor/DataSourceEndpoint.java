@@ -0,0 +1,61 @@
+package com.example.blog.monitor;
+
+import com.example.blog.datasource.ReplicaRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 连接池 actuator 端点
+ *
+ * <p>
+ * GET {@code /actuator/datasources} 查看每个 Hikari 连接池（主库 BlogHikariCP，开启读写分离后还有只读库
+ * BlogReplicaCP）的活动、空闲、等待连接数，以及只读事务的路由统计。完整的时间序列指标见
+ * {@code /actuator/metrics/hikaricp.connections.active?tag=pool:BlogReplicaCP}。
+ * </p>
+ */
+@Component
+@Endpoint(id = "datasources")
+public class DataSourceEndpoint {
+
+    private final ObjectProvider<HikariDataSource> pools;
+
+    private final ObjectProvider<ReplicaRouter> router;
+
+    public DataSourceEndpoint(ObjectProvider<HikariDataSource> pools, ObjectProvider<ReplicaRouter> router) {
+        this.pools = pools;
+        this.router = router;
+    }
+
+    @ReadOperation
+    public Report report() {
+        List<Pool> snapshot = pools.orderedStream().map(DataSourceEndpoint::pool).toList();
+        ReplicaRouter replicaRouter = router.getIfAvailable();
+        return new Report(snapshot, replicaRouter != null ? replicaRouter.stats() : null);
+    }
+
+    private static Pool pool(HikariDataSource dataSource) {
+        HikariPoolMXBean bean = dataSource.getHikariPoolMXBean();
+        if (bean == null) {
+            // 连接池尚未初始化
+            return new Pool(dataSource.getPoolName(), dataSource.getMaximumPoolSize(), 0, 0, 0, 0);
+        }
+        return new Pool(dataSource.getPoolName(), dataSource.getMaximumPoolSize(), bean.getTotalConnections(),
+                bean.getActiveConnections(), bean.getIdleConnections(), bean.getThreadsAwaitingConnection());
+    }
+
+    public record Pool(String name, int maximum, int total, int active, int idle, int waiting) {
+    }
+
+    /**
+     * @param pools   各连接池状态
+     * @param routing 只读路由统计，未开启读写分离时为 null
+     */
+    public record Report(List<Pool> pools, ReplicaRouter.Stats routing) {
+    }
+}
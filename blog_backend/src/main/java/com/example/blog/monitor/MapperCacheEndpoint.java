@@ -0,0 +1,45 @@
+package com.example.blog.monitor;
+
+import com.example.blog.util.MapperCache;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * MyBatis 二级缓存 actuator 端点
+ *
+ * <p>
+ * GET {@code /actuator/mappercache} 查看各命名空间的条目数、命中率与淘汰次数；
+ * DELETE 清空缓存，{@code ?namespace=com.example.blog.mapper.TagMapper} 只清空一个命名空间，
+ * 用于绕过 Mapper 直接修改数据库之后。
+ * </p>
+ */
+@Component
+@Endpoint(id = "mappercache")
+public class MapperCacheEndpoint {
+
+    @ReadOperation
+    public List<MapperCache.Stats> stats() {
+        return MapperCache.instances().stream()
+                .map(MapperCache::stats)
+                .sorted(Comparator.comparing(MapperCache.Stats::namespace))
+                .toList();
+    }
+
+    @DeleteOperation
+    public void clear(@Nullable String namespace) {
+        if (namespace == null) {
+            MapperCache.instances().forEach(MapperCache::clear);
+            return;
+        }
+        MapperCache cache = MapperCache.instance(namespace);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.blog.monitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 请求级 SQL 台账
+ *
+ * <p>
+ * 记录单个 HTTP 请求内执行过的所有 SQL 语句。相同的语句（Mapper 语句 ID + SQL + 参数值）会被合并计数，
+ * 便于在请求结束时识别重复查询（N+1）与慢查询。台账通过 {@link ThreadLocal} 绑定到请求线程，
+ * 由 {@code QueryLedgerFilter} 负责开启和关闭。
+ * </p>
+ */
+public class QueryLedger {
+
+    private static final ThreadLocal<QueryLedger> CURRENT = new ThreadLocal<>();
+
+    /** 以语句指纹为键的执行记录，保持首次出现的顺序 */
+    private final Map<String, Execution> executions = new LinkedHashMap<>();
+
+    /** 本次请求执行的语句总数 */
+    private int statementCount;
+
+    /** 本次请求 SQL 总耗时（纳秒） */
+    private long totalNanos;
+
+    /**
+     * 为当前线程开启新的台账
+     *
+     * @return 新台账
+     */
+    public static QueryLedger begin() {
+        QueryLedger ledger = new QueryLedger();
+        CURRENT.set(ledger);
+        return ledger;
+    }
+
+    /**
+     * 获取当前线程的台账
+     *
+     * @return 台账，如果当前线程不在请求上下文中则返回null
+     */
+    public static QueryLedger current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 解除当前线程绑定的台账
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 记录一次语句执行
+     *
+     * @param statementId Mapper 语句ID
+     * @param sql         SQL 文本
+     * @param parameters  参数值描述
+     * @param nanos       执行耗时（纳秒）
+     */
+    public void record(String statementId, String sql, String parameters, long nanos) {
+        statementCount++;
+        totalNanos += nanos;
+        String fingerprint = statementId + '\n' + parameters;
+        executions.computeIfAbsent(fingerprint, key -> new Execution(statementId, sql, parameters))
+                .add(nanos);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 获取所有合并后的执行记录
+     *
+     * @return 执行记录列表
+     */
+    public List<Execution> getExecutions() {
+        return Collections.unmodifiableList(new ArrayList<>(executions.values()));
+    }
+
+    /**
+     * 同一语句、同一参数的执行记录
+     */
+    public static class Execution {
+
+        private final String statementId;
+        private final String sql;
+        private final String parameters;
+        private int count;
+        private long maxNanos;
+
+        Execution(String statementId, String sql, String parameters) {
+            this.statementId = statementId;
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        void add(long nanos) {
+            count++;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        public String getStatementId() {
+            return statementId;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getParameters() {
+            return parameters;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.blog.monitor;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * SQL 台账 actuator 端点
+ *
+ * <p>
+ * GET {@code /actuator/queryledger} 查看重复查询、慢查询和语句过多的接口；DELETE 清空记录，
+ * 便于在回归测试前后对比。
+ * </p>
+ */
+@Component
+@Endpoint(id = "queryledger")
+@ConditionalOnProperty(prefix = "query-ledger", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLedgerEndpoint {
+
+    private final QueryLedgerReport queryLedgerReport;
+
+    public QueryLedgerEndpoint(QueryLedgerReport queryLedgerReport) {
+        this.queryLedgerReport = queryLedgerReport;
+    }
+
+    @ReadOperation
+    public List<QueryLedgerReport.Offender> offenders() {
+        return queryLedgerReport.getOffenders();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryLedgerReport.reset();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.blog.monitor;
+
+import com.example.blog.mapper.UserMapper;
+import com.example.blog.mapper.UserTokenVersionMapper;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * SQL 台账 MyBatis 插件
+ *
+ * <p>
+ * 拦截 {@link StatementHandler} 的查询与更新，统计真正发往数据库的语句（二级缓存命中不会经过这里），
+ * 并把语句ID、SQL、参数值和耗时写入当前请求的 {@link QueryLedger}。不在请求上下文中的调用（定时任务等）直接放行。
+ * </p>
+ * <p>
+ * 台账会出现在告警日志与 actuator 报告中，用户、令牌相关语句以及名称含 password、token、email 等的参数
+ * 只记录类型、长度和加盐摘要（数字、布尔、时间类型照常记录），不输出密码哈希等原始值；
+ * 摘要仍能区分不同的值，重复查询的判断不受影响。
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "query-ledger", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = { Statement.class, ResultHandler.class }),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = { Statement.class }),
+        @Signature(type = StatementHandler.class, method = "update", args = { Statement.class })
+})
+public class QueryLedgerInterceptor implements Interceptor {
+
+    /** 参数描述的最大长度，避免大文本参数（如文章内容）撑大台账 */
+    private static final int MAX_PARAMETER_LENGTH = 64;
+
+    /** 参数一律脱敏的 Mapper 命名空间 */
+    private static final Set<String> SENSITIVE_NAMESPACES = Set.of(UserMapper.class.getName(),
+            UserTokenVersionMapper.class.getName());
+
+    /** 参数名包含这些片段时脱敏（不区分大小写） */
+    private static final List<String> SENSITIVE_PROPERTIES = List.of("password", "token", "secret", "email", "phone");
+
+    /** 摘要的盐，每次启动随机生成，摘要无法离线比对字典 */
+    private static final byte[] DIGEST_SALT = new SecureRandom().generateSeed(16);
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        QueryLedger ledger = QueryLedger.current();
+        if (ledger == null) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            StatementHandler handler = (StatementHandler) invocation.getTarget();
+            BoundSql boundSql = handler.getBoundSql();
+            MappedStatement mappedStatement = resolveMappedStatement(handler);
+            String statementId = mappedStatement != null ? mappedStatement.getId() : "unknown";
+            String parameters = mappedStatement != null
+                    ? describeParameters(mappedStatement.getConfiguration(), statementId, boundSql)
+                    : String.valueOf(boundSql.getParameterObject());
+            ledger.record(statementId, compact(boundSql.getSql()), parameters, elapsed);
+        }
+    }
+
+    /**
+     * 从 RoutingStatementHandler 中取出实际的 MappedStatement
+     */
+    private MappedStatement resolveMappedStatement(StatementHandler handler) {
+        MetaObject metaObject = SystemMetaObject.forObject(handler);
+        if (metaObject.hasGetter("delegate")) {
+            return (MappedStatement) metaObject.getValue("delegate.mappedStatement");
+        }
+        if (metaObject.hasGetter("mappedStatement")) {
+            return (MappedStatement) metaObject.getValue("mappedStatement");
+        }
+        return null;
+    }
+
+    /**
+     * 按 DefaultParameterHandler 的取值规则还原参数值，用于判断“相同语句 + 相同参数”
+     */
+    private String describeParameters(Configuration configuration, String statementId, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        if (mappings == null || mappings.isEmpty()) {
+            return "";
+        }
+
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject metaObject = null;
+        StringJoiner joiner = new StringJoiner(", ");
+        for (ParameterMapping mapping : mappings) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+            joiner.add(describe(statementId, property, value));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 单个参数的台账描述：敏感参数脱敏，其余截断到 {@link #MAX_PARAMETER_LENGTH}
+     */
+    static String describe(String statementId, String property, Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof Enum<?>
+                || value instanceof Temporal || !isSensitive(statementId, property)) {
+            return abbreviate(String.valueOf(value));
+        }
+        String text = String.valueOf(value);
+        return "<" + value.getClass().getSimpleName() + " " + text.length() + " chars #" + digest(text) + ">";
+    }
+
+    private static boolean isSensitive(String statementId, String property) {
+        int dot = statementId.lastIndexOf('.');
+        if (dot > 0 && SENSITIVE_NAMESPACES.contains(statementId.substring(0, dot))) {
+            return true;
+        }
+        String name = property.toLowerCase(Locale.ROOT);
+        return SENSITIVE_PROPERTIES.stream().anyMatch(name::contains);
+    }
+
+    private static String digest(String value) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(DIGEST_SALT);
+            byte[] hash = sha256.digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String abbreviate(String value) {
+        if (value.length() <= MAX_PARAMETER_LENGTH) {
+            return value;
+        }
+        // 附带长度与哈希，保证截断后不同的长参数仍能区分
+        return value.substring(0, MAX_PARAMETER_LENGTH) + "...(" + value.length() + " chars #"
+                + Integer.toHexString(value.hashCode()) + ")";
+    }
+
+    private static String compact(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.blog.monitor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 台账汇总
+ *
+ * <p>
+ * 在请求结束时分析 {@link QueryLedger}，识别三类问题并输出 WARN 日志：
+ * <ul>
+ *     <li>REPEATED：同一语句以相同参数在一次请求内重复执行</li>
+ *     <li>SLOW：单条语句耗时超过阈值</li>
+ *     <li>TOO_MANY：一次请求执行的语句数超过上限（常见于 N+1 查询）</li>
+ * </ul>
+ * 问题按“路由 + 语句 + 类型”聚合保存，供 actuator 端点 {@code /actuator/queryledger} 查看。
+ * 聚合条目数量有上限，超出后丢弃新出现的问题，保证内存占用固定。
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "query-ledger", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLedgerReport {
+
+    /** 问题类型 */
+    public enum OffenseType {
+        REPEATED, SLOW, TOO_MANY
+    }
+
+    /** 慢查询阈值（毫秒） */
+    @Value("${query-ledger.slow-threshold-ms:200}")
+    private long slowThresholdMillis;
+
+    /** 同一语句同一参数允许的最大执行次数 */
+    @Value("${query-ledger.repeat-threshold:1}")
+    private int repeatThreshold;
+
+    /** 单次请求允许的最大语句数 */
+    @Value("${query-ledger.max-statements:20}")
+    private int maxStatements;
+
+    /** 聚合条目上限 */
+    @Value("${query-ledger.max-offenders:500}")
+    private int maxOffenders;
+
+    private final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+
+    /**
+     * 分析一次请求的台账
+     *
+     * @param route  请求路由，如 {@code PUT /posts/{id}}
+     * @param ledger 请求台账
+     */
+    public void analyze(String route, QueryLedger ledger) {
+        if (ledger.getStatementCount() == 0) {
+            return;
+        }
+
+        long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        List<String> problems = new ArrayList<>();
+        for (QueryLedger.Execution execution : ledger.getExecutions()) {
+            if (execution.getCount() > repeatThreshold) {
+                problems.add(execution.getStatementId() + " 重复执行 " + execution.getCount() + " 次，参数 ["
+                        + execution.getParameters() + "]");
+                offend(route, execution, OffenseType.REPEATED);
+            }
+            if (execution.getMaxNanos() > slowThresholdNanos) {
+                problems.add(execution.getStatementId() + " 耗时 "
+                        + TimeUnit.NANOSECONDS.toMillis(execution.getMaxNanos()) + "ms");
+                offend(route, execution, OffenseType.SLOW);
+            }
+        }
+        if (ledger.getStatementCount() > maxStatements) {
+            problems.add("共执行 " + ledger.getStatementCount() + " 条语句，超过上限 " + maxStatements);
+            offend(route, null, OffenseType.TOO_MANY);
+        }
+
+        if (!problems.isEmpty()) {
+            log.warn("SQL台账告警 [{}]：{} 条语句，总耗时 {}ms；{}", route, ledger.getStatementCount(),
+                    TimeUnit.NANOSECONDS.toMillis(ledger.getTotalNanos()), String.join("；", problems));
+        }
+    }
+
+    private void offend(String route, QueryLedger.Execution execution, OffenseType type) {
+        String statementId = execution != null ? execution.getStatementId() : "*";
+        String key = route + '|' + statementId + '|' + type;
+        Offender offender = offenders.get(key);
+        if (offender == null) {
+            if (offenders.size() >= maxOffenders) {
+                return;
+            }
+            offender = offenders.computeIfAbsent(key, k -> new Offender(route, statementId, type));
+        }
+        offender.hit(execution);
+    }
+
+    /**
+     * 获取所有问题，按出现次数倒序
+     *
+     * @return 问题列表
+     */
+    public List<Offender> getOffenders() {
+        List<Offender> result = new ArrayList<>(offenders.values());
+        result.sort(Comparator.comparingLong(Offender::getOccurrences).reversed());
+        return result;
+    }
+
+    /**
+     * 清空已记录的问题
+     */
+    public void reset() {
+        offenders.clear();
+    }
+
+    /**
+     * 聚合后的问题条目
+     */
+    public static class Offender {
+
+        private final String route;
+        private final String statementId;
+        private final OffenseType type;
+        private long occurrences;
+        private int maxCount;
+        private long maxMillis;
+        private String sampleSql;
+        private LocalDateTime lastSeen;
+
+        Offender(String route, String statementId, OffenseType type) {
+            this.route = route;
+            this.statementId = statementId;
+            this.type = type;
+        }
+
+        synchronized void hit(QueryLedger.Execution execution) {
+            occurrences++;
+            lastSeen = LocalDateTime.now();
+            if (execution != null) {
+                maxCount = Math.max(maxCount, execution.getCount());
+                maxMillis = Math.max(maxMillis, TimeUnit.NANOSECONDS.toMillis(execution.getMaxNanos()));
+                sampleSql = execution.getSql();
+            }
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public String getStatementId() {
+            return statementId;
+        }
+
+        public OffenseType getType() {
+            return type;
+        }
+
+        public synchronized long getOccurrences() {
+            return occurrences;
+        }
+
+        public synchronized int getMaxCount() {
+            return maxCount;
+        }
+
+        public synchronized long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public synchronized String getSampleSql() {
+            return sampleSql;
+        }
+
+        public synchronized LocalDateTime getLastSeen() {
+            return lastSeen;
+        }
+    }
+}
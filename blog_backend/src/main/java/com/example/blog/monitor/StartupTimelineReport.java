@@ -0,0 +1,78 @@
+package com.example.blog.monitor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * 启动时间线报告
+ *
+ * <p>
+ * 启动时记录了时间线（环境变量 {@code STARTUP_TIMELINE=true}，见 {@code BlogApplication}）时，
+ * 在应用就绪后输出自身耗时最长的步骤，即扣除子步骤后的耗时，例如某个 Bean 的初始化方法、
+ * Mapper XML 解析、Web 服务器启动，用于定位拖慢启动的组件。
+ * 只读取不清空时间线，完整时间线仍可通过 {@code /actuator/startup} 获取。
+ * </p>
+ */
+@Slf4j
+@Component
+public class StartupTimelineReport {
+
+    /** 输出的步骤数 */
+    @Value("${startup.report-steps:20}")
+    private int reportSteps;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+
+        // 子步骤耗时按父步骤汇总，得到每个步骤的自身耗时
+        Map<Long, Duration> childDurations = new HashMap<>();
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            Long parentId = timelineEvent.getStartupStep().getParentId();
+            if (parentId != null) {
+                childDurations.merge(parentId, timelineEvent.getDuration(), Duration::plus);
+            }
+        }
+
+        String slowest = events.stream()
+                .map(e -> new Step(e, e.getDuration().minus(childDurations.getOrDefault(e.getStartupStep().getId(), Duration.ZERO))))
+                .sorted(Comparator.comparing(Step::self).reversed())
+                .limit(reportSteps)
+                .map(Step::describe)
+                .collect(Collectors.joining("\n"));
+        log.info("启动时间线：共 {} 个步骤，就绪耗时 {} ms，自身耗时最长的步骤：\n{}",
+                events.size(), event.getTimeTaken().toMillis(), slowest);
+    }
+
+    private record Step(StartupTimeline.TimelineEvent event, Duration self) {
+
+        String describe() {
+            StartupStep step = event.getStartupStep();
+            String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+                    .map(tag -> tag.getKey() + "=" + tag.getValue())
+                    .collect(Collectors.joining(", "));
+            return String.format("%8d ms (总 %d ms)  %s [%s]", self.toMillis(), event.getDuration().toMillis(),
+                    step.getName(), tags);
+        }
+    }
+}
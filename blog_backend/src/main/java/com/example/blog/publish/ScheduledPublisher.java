@@ -0,0 +1,138 @@
+package com.example.blog.publish;
+
+import com.example.blog.entity.Post;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.event.PostScheduledEvent;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.service.IPostService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时发布
+ *
+ * <p>
+ * 等待发布的文章放在内存中的 {@link TimerWheel} 里，按秒推进，到期时调用
+ * {@link IPostService#publishScheduled(Long)}；发布产生的文章更新事件照常触发缓存失效、订阅源重新生成等。
+ * 不轮询文章表：启动时按 scheduled_time 索引读取一次等待发布的文章，之后只根据设置、取消定时发布的事件增删任务。
+ * 停机期间到期的文章在启动后的第一个刻度发布。
+ * </p>
+ * <p>
+ * 时间轮只在一个专用线程中访问，事件回调把操作提交到该线程执行，不需要加锁，
+ * 也不与其他 {@code @Scheduled} 任务共用调度线程，发布不会因其他任务耗时而延后。
+ * 发布使用条件更新，已手动发布、已改期或多实例重复触发时不会重复发布。
+ * </p>
+ */
+@Slf4j
+@Component
+public class ScheduledPublisher {
+
+    private static final int LEVELS = 6;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private IPostService postService;
+
+    @Value("${publish.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${publish.retry-delay-ms:30000}")
+    private long retryDelayMillis;
+
+    private TimerWheel<Long> wheel;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        wheel = new TimerWheel<>(tickMillis, LEVELS, now);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-publish");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::load);
+        // 对齐到刻度边界，整秒发布
+        executor.scheduleAtFixedRate(this::tick, tickMillis - now % tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduled(PostScheduledEvent event) {
+        Long postId = event.getPostId();
+        LocalDateTime time = event.getScheduledTime();
+        if (time == null) {
+            executor.execute(() -> wheel.cancel(postId));
+        } else {
+            long deadline = toMillis(time);
+            executor.execute(() -> wheel.schedule(postId, deadline));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getAction() == ContentChangedEvent.Action.IMPORTED) {
+            // 导入的文章可能带有定时发布时间，重新加载（已在时间轮中的文章按原时间改期）
+            executor.execute(this::load);
+            return;
+        }
+        if (event.getContentType() == ContentChangedEvent.ContentType.POST
+                && event.getAction() == ContentChangedEvent.Action.DELETED) {
+            Long postId = event.getPostId();
+            executor.execute(() -> wheel.cancel(postId));
+        }
+    }
+
+    /**
+     * 启动时读取等待发布的文章，失败时稍后重试
+     */
+    private void load() {
+        try {
+            List<Post> posts = postMapper.findScheduled();
+            for (Post post : posts) {
+                wheel.schedule(post.getId(), toMillis(post.getScheduledTime()));
+            }
+            log.info("加载定时发布文章 {} 篇", posts.size());
+        } catch (RuntimeException e) {
+            log.warn("加载定时发布文章失败，{} ms 后重试", retryDelayMillis, e);
+            executor.schedule(this::load, retryDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        for (Long postId : wheel.advance(now)) {
+            try {
+                if (postService.publishScheduled(postId)) {
+                    log.info("定时发布文章: {}", postId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("定时发布文章 {} 失败，{} ms 后重试", postId, retryDelayMillis, e);
+                wheel.schedule(postId, now + retryDelayMillis);
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
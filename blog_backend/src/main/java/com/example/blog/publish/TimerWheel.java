@@ -0,0 +1,186 @@
+package com.example.blog.publish;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分层时间轮
+ *
+ * <p>
+ * 按固定刻度（如 1 秒）推进，共 {@code levels} 层，每层 64 个槽：第 0 层每槽一个刻度，
+ * 第 n 层每槽 64<sup>n</sup> 个刻度，6 层即可覆盖两千年以上。到期时间距当前刻度越远，放在越高的层；
+ * 高层槽随时间推进到达时整体下移（级联）到低层，最终在第 0 层按刻度精确到期。
+ * 添加、取消为 O(1)，推进一个刻度只处理到达的槽，与等待中的任务总数无关。
+ * </p>
+ * <p>
+ * 每个键只保留一个任务，重复添加视为改期；取消与改期只标记旧任务，旧任务在级联或到期时丢弃。
+ * 非线程安全，由调用方串行访问。
+ * </p>
+ *
+ * @param <K> 任务键
+ */
+public class TimerWheel<K> {
+
+    private static final int BITS = 6;
+
+    private static final int SLOTS = 1 << BITS;
+
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+
+    private final int levels;
+
+    private final List<List<Task<K>>> slots;
+
+    private final Map<K, Task<K>> tasks = new HashMap<>();
+
+    /** 已推进到的刻度，此刻度及之前到期的任务都已取出 */
+    private long currentTick;
+
+    /** 添加时已经到期、等待下次推进时取出的任务 */
+    private List<Task<K>> overdue = new ArrayList<>();
+
+    /**
+     * @param tickMillis 刻度（毫秒）
+     * @param levels     层数
+     * @param nowMillis  当前时间
+     */
+    public TimerWheel(long tickMillis, int levels, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.slots = new ArrayList<>(levels * SLOTS);
+        for (int i = 0; i < levels * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * 添加或改期任务
+     *
+     * @param key            任务键
+     * @param deadlineMillis 到期时间，不晚于当前时间时在下次推进时立即到期
+     */
+    public void schedule(K key, long deadlineMillis) {
+        Task<K> task = new Task<>(key, Math.floorDiv(deadlineMillis, tickMillis));
+        Task<K> previous = tasks.put(key, task);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        place(task);
+    }
+
+    /**
+     * 取消任务
+     *
+     * @return 任务存在返回 true
+     */
+    public boolean cancel(K key) {
+        Task<K> task = tasks.remove(key);
+        if (task == null) {
+            return false;
+        }
+        task.cancelled = true;
+        return true;
+    }
+
+    /**
+     * 推进到指定时间，返回期间到期的任务键；时间回拨时不推进
+     *
+     * @param nowMillis 当前时间
+     * @return 到期的任务键，按到期刻度排列
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> due = new ArrayList<>();
+        collectOverdue(due);
+
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            // 从高层到低层级联：某层的低位全为 0 时，该层当前槽中的任务已进入下一层的范围
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    List<Task<K>> slot = takeSlot(level, currentTick);
+                    for (Task<K> task : slot) {
+                        if (!task.cancelled) {
+                            place(task);
+                        }
+                    }
+                }
+            }
+            collect(takeSlot(0, currentTick), due);
+            collectOverdue(due);
+        }
+        return due;
+    }
+
+    /**
+     * 等待中的任务数
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    private void place(Task<K> task) {
+        long delta = task.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(task);
+            return;
+        }
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        long index = task.deadlineTick >>> (BITS * level);
+        if (level == levels - 1 && delta >= 1L << (BITS * levels)) {
+            // 超出时间轮范围：放在最高层最远的槽，到达时再重新放置
+            index = (currentTick >>> (BITS * level)) + MASK;
+        }
+        slots.get(level * SLOTS + (int) (index & MASK)).add(task);
+    }
+
+    private List<Task<K>> takeSlot(int level, long tick) {
+        int position = level * SLOTS + (int) ((tick >>> (BITS * level)) & MASK);
+        List<Task<K>> slot = slots.get(position);
+        if (slot.isEmpty()) {
+            return slot;
+        }
+        slots.set(position, new ArrayList<>());
+        return slot;
+    }
+
+    private void collectOverdue(List<K> due) {
+        if (!overdue.isEmpty()) {
+            List<Task<K>> ready = overdue;
+            overdue = new ArrayList<>();
+            collect(ready, due);
+        }
+    }
+
+    private void collect(List<Task<K>> expired, List<K> due) {
+        for (Task<K> task : expired) {
+            if (!task.cancelled) {
+                task.cancelled = true;
+                tasks.remove(task.key);
+                due.add(task.key);
+            }
+        }
+    }
+
+    private static final class Task<K> {
+
+        private final K key;
+
+        private final long deadlineTick;
+
+        private boolean cancelled;
+
+        Task(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
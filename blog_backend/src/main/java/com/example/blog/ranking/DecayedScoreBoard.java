@@ -0,0 +1,215 @@
+package com.example.blog.ranking;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 按时间指数衰减的计分榜
+ *
+ * <p>
+ * 每次互动为文章加一个权重，权重随时间按半衰期指数衰减：t 时刻加入的权重 w 在 now 时刻的分值为
+ * {@code w · 2^(-(now - t) / halfLife)}。
+ * 采用前向衰减：内部保存的是折算到基准时刻的分值 {@code w · 2^((t - landmark) / halfLife)}，
+ * 所有文章按同一比例衰减，排序不随时间变化，因此无需定时衰减全部条目，加分只是一次累加。
+ * 折算系数随时间指数增长，超过阈值时统一换算到新的基准时刻，避免溢出。
+ * </p>
+ * <p>
+ * 条目数超过容量后，由 {@link #prune()} 淘汰分值最低的条目，内存上限固定；
+ * 被淘汰的文章再次获得互动时从零开始计分。
+ * </p>
+ */
+public class DecayedScoreBoard {
+
+    /** 折算系数的指数超过该值（约 2^500）时换算基准时刻 */
+    private static final double REBASE_EXPONENT = 500;
+
+    private final double halfLifeMillis;
+
+    private final int capacity;
+
+    private final LongSupplier clock;
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+
+    /** 加分持读锁可并发进行，换算基准时刻持写锁 */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile long landmark;
+
+    /**
+     * 创建计分榜
+     *
+     * @param halfLife 半衰期
+     * @param capacity 最多保留的条目数
+     */
+    public DecayedScoreBoard(Duration halfLife, int capacity) {
+        this(halfLife, capacity, System::currentTimeMillis);
+    }
+
+    DecayedScoreBoard(Duration halfLife, int capacity, LongSupplier clock) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.capacity = capacity;
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    /**
+     * 当前时刻为文章加分
+     *
+     * @param id     文章ID
+     * @param weight 权重
+     */
+    public void add(long id, double weight) {
+        add(id, weight, clock.getAsLong());
+    }
+
+    /**
+     * 按指定时刻为文章加分，用于从快照或历史数据恢复
+     *
+     * @param id         文章ID
+     * @param weight     该时刻的分值
+     * @param timeMillis 加分时刻
+     */
+    public void add(long id, double weight, long timeMillis) {
+        if (weight <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (exponent(now) > REBASE_EXPONENT) {
+            rebase(now);
+        }
+        lock.readLock().lock();
+        try {
+            scores.merge(id, weight * Math.pow(2, exponent(timeMillis)), Double::sum);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 移除文章
+     */
+    public void remove(long id) {
+        scores.remove(id);
+    }
+
+    /**
+     * 分值最高的若干条目
+     *
+     * <p>使用大小为 n 的小顶堆遍历全部条目，复杂度 O(m·log n)。</p>
+     *
+     * @param n 条目数上限
+     * @return 按当前分值降序排列的条目
+     */
+    public List<Entry> top(int n) {
+        lock.readLock().lock();
+        try {
+            double decay = Math.pow(2, -exponent(clock.getAsLong()));
+            List<Entry> result = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : highest(n)) {
+                result.add(new Entry(entry.getKey(), entry.getValue() * decay));
+            }
+            result.sort(Comparator.comparingDouble(Entry::score).reversed().thenComparingLong(Entry::id));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 全部条目的当前分值，用于写入快照
+     */
+    public List<Entry> entries() {
+        return top(scores.size());
+    }
+
+    /**
+     * 条目数超过容量时淘汰分值最低的条目
+     *
+     * @return 淘汰的条目数
+     */
+    public int prune() {
+        if (scores.size() <= capacity) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Map.Entry<Long, Double>> kept = highest(capacity);
+            if (kept.isEmpty()) {
+                return 0;
+            }
+            double threshold = kept.peek().getValue();
+            int before = scores.size();
+            scores.values().removeIf(score -> score < threshold);
+            return before - scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    public void clear() {
+        scores.clear();
+    }
+
+    /**
+     * 把全部分值换算到新的基准时刻
+     */
+    private void rebase(long now) {
+        lock.writeLock().lock();
+        try {
+            double exponent = exponent(now);
+            if (exponent <= REBASE_EXPONENT) {
+                return;
+            }
+            double factor = Math.pow(2, -exponent);
+            scores.replaceAll((id, score) -> score * factor);
+            landmark = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 内部分值最高的 n 个条目，堆顶为其中最低者
+     */
+    private PriorityQueue<Map.Entry<Long, Double>> highest(int n) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Math.max(1, n), Map.Entry.comparingByValue());
+        if (n <= 0) {
+            return heap;
+        }
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < n) {
+                heap.add(Map.entry(entry.getKey(), entry.getValue()));
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        return heap;
+    }
+
+    private double exponent(long timeMillis) {
+        return (timeMillis - landmark) / halfLifeMillis;
+    }
+
+    /**
+     * 排行条目
+     *
+     * @param id    文章ID
+     * @param score 当前分值
+     */
+    public record Entry(long id, double score) {
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.blog.ranking;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.dto.JsonEnvelope;
+import com.example.blog.entity.Post;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.event.PostEngagementEvent;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.taxonomy.TaxonomyStore;
+import com.example.blog.util.AtomicFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文章热门排行
+ *
+ * <p>
+ * 维护两个按时间衰减的计分榜：趋势榜（半衰期以小时计，反映近期热度）与热门榜（半衰期以天计）。
+ * 浏览、点赞来自 {@link PostEngagementEvent}，评论来自评论创建的 {@link ContentChangedEvent}，按权重加分。
+ * </p>
+ * <p>
+ * 定时任务在有新互动时取各榜前 {@code ranking.size} 名，一次查询取回文章列表字段，生成榜单快照；
+ * 接口直接返回快照中预序列化的响应体，请求路径上不查库、不排序。
+ * 衰减对所有文章同比例生效，没有新互动时排名不变，因此只在收到事件后才重建快照。
+ * 已下架或删除的文章在重建时被查询过滤掉，并从计分榜中移除。
+ * </p>
+ * <p>
+ * 分值定期写入快照文件（先写临时文件再原子替换），重启后从快照恢复并按停机时长继续衰减；
+ * 没有快照文件时按文章累计的浏览、点赞、评论数以发布时间为加分时刻初始化。
+ * </p>
+ */
+@Slf4j
+@Component
+public class PostRanking {
+
+    /** 榜单 */
+    public enum Board {
+        TRENDING, POPULAR
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x504f5354;
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private TaxonomyStore taxonomy;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ranking.trending-half-life-hours:24}")
+    private long trendingHalfLifeHours;
+
+    @Value("${ranking.popular-half-life-days:30}")
+    private long popularHalfLifeDays;
+
+    @Value("${ranking.capacity:10000}")
+    private int capacity;
+
+    @Value("${ranking.size:50}")
+    private int size;
+
+    @Value("${ranking.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${ranking.weight.like:5}")
+    private double likeWeight;
+
+    @Value("${ranking.weight.comment:10}")
+    private double commentWeight;
+
+    @Value("${ranking.snapshot-file:ranking/snapshot.bin}")
+    private String snapshotFile;
+
+    private final Map<Board, DecayedScoreBoard> boards = new EnumMap<>(Board.class);
+
+    private final Map<Board, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** 有新互动、尚未反映到榜单快照 */
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    /** 有新互动、尚未写入快照文件 */
+    private final AtomicBoolean unsaved = new AtomicBoolean();
+
+    /** 没有快照文件，首次刷新时按累计互动数初始化 */
+    private final AtomicBoolean seedPending = new AtomicBoolean();
+
+    private Path snapshotPath;
+
+    @PostConstruct
+    public void init() {
+        boards.put(Board.TRENDING, new DecayedScoreBoard(Duration.ofHours(trendingHalfLifeHours), capacity));
+        boards.put(Board.POPULAR, new DecayedScoreBoard(Duration.ofDays(popularHalfLifeDays), capacity));
+        for (Board board : Board.values()) {
+            snapshots.put(board, new Snapshot(List.of()));
+        }
+        snapshotPath = Paths.get(snapshotFile).toAbsolutePath();
+        seedPending.set(!load());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        record(event.getPostId(), event.getKind() == PostEngagementEvent.Kind.LIKE ? likeWeight : viewWeight);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getContentType() == ContentChangedEvent.ContentType.COMMENT
+                && event.getAction() == ContentChangedEvent.Action.CREATED) {
+            record(event.getPostId(), commentWeight);
+        } else if (event.getContentType() == ContentChangedEvent.ContentType.POST) {
+            if (event.getAction() == ContentChangedEvent.Action.DELETED) {
+                boards.values().forEach(board -> board.remove(event.getPostId()));
+                unsaved.set(true);
+            }
+            // 标题、分类、状态可能变化，榜单上的文章需要重新查询
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * 榜单前 limit 名的预序列化响应
+     *
+     * @param board 榜单
+     * @param limit 条数，超出榜单长度时按榜单长度返回
+     * @return 预序列化的响应体
+     */
+    public JsonEnvelope<List<Post>> envelope(Board board, int limit) {
+        Snapshot snapshot = snapshots.get(board);
+        int n = Math.max(1, Math.min(limit, size));
+        return snapshot.envelopes.computeIfAbsent(n, key -> JsonEnvelope.of(objectMapper,
+                ApiResponse.success("获取排行成功", snapshot.posts.subList(0, Math.min(key, snapshot.posts.size())))));
+    }
+
+    /**
+     * 有新互动时重建榜单快照
+     */
+    @Scheduled(initialDelayString = "${ranking.refresh-interval-ms:5000}",
+            fixedDelayString = "${ranking.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (seedPending.getAndSet(false)) {
+            seed();
+        }
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Map<Board, List<DecayedScoreBoard.Entry>> tops = new EnumMap<>(Board.class);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Map.Entry<Board, DecayedScoreBoard> entry : boards.entrySet()) {
+            entry.getValue().prune();
+            List<DecayedScoreBoard.Entry> top = entry.getValue().top(size);
+            tops.put(entry.getKey(), top);
+            top.forEach(e -> ids.add(e.id()));
+        }
+
+        Map<Long, Post> cards = new HashMap<>();
+        if (!ids.isEmpty()) {
+            List<Post> posts = postMapper.findListByIds(ids);
+            taxonomy.attach(posts);
+            for (Post post : posts) {
+                cards.put(post.getId(), post);
+            }
+        }
+        for (Map.Entry<Board, List<DecayedScoreBoard.Entry>> entry : tops.entrySet()) {
+            List<Post> posts = new ArrayList<>();
+            for (DecayedScoreBoard.Entry e : entry.getValue()) {
+                Post post = cards.get(e.id());
+                if (post != null) {
+                    posts.add(post);
+                } else {
+                    // 已下架或删除，不再参与排行
+                    boards.get(entry.getKey()).remove(e.id());
+                }
+            }
+            snapshots.put(entry.getKey(), new Snapshot(List.copyOf(posts)));
+        }
+    }
+
+    /**
+     * 定期把分值写入快照文件
+     */
+    @Scheduled(initialDelayString = "${ranking.snapshot-interval-ms:60000}",
+            fixedDelayString = "${ranking.snapshot-interval-ms:60000}")
+    public void persist() {
+        if (!unsaved.getAndSet(false)) {
+            return;
+        }
+        try (AtomicFile file = AtomicFile.create(snapshotPath)) {
+            DataOutputStream out = new DataOutputStream(file.out());
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(boards.size());
+            for (Map.Entry<Board, DecayedScoreBoard> entry : boards.entrySet()) {
+                List<DecayedScoreBoard.Entry> entries = entry.getValue().entries();
+                out.writeUTF(entry.getKey().name());
+                out.writeInt(entries.size());
+                for (DecayedScoreBoard.Entry e : entries) {
+                    out.writeLong(e.id());
+                    out.writeDouble(e.score());
+                }
+            }
+            out.flush();
+            file.commit();
+        } catch (IOException e) {
+            unsaved.set(true);
+            log.warn("写入排行快照失败: {}", snapshotPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persist();
+    }
+
+    private void record(Long postId, double weight) {
+        if (postId == null) {
+            return;
+        }
+        boards.values().forEach(board -> board.add(postId, weight));
+        dirty.set(true);
+        unsaved.set(true);
+    }
+
+    /**
+     * 从快照文件恢复分值，快照中的分值以写入时刻为加分时刻，恢复后继续衰减
+     *
+     * @return 快照存在且读取成功返回 true
+     */
+    private boolean load() {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshotPath))) {
+            DataInputStream data = new DataInputStream(in);
+            if (data.readInt() != SNAPSHOT_MAGIC || data.readInt() != SNAPSHOT_VERSION) {
+                log.warn("排行快照格式不符，忽略: {}", snapshotPath);
+                return false;
+            }
+            long savedAt = data.readLong();
+            int boardCount = data.readInt();
+            int restored = 0;
+            for (int i = 0; i < boardCount; i++) {
+                String name = data.readUTF();
+                int count = data.readInt();
+                DecayedScoreBoard board = boards.get(parseBoard(name));
+                for (int j = 0; j < count; j++) {
+                    long id = data.readLong();
+                    double score = data.readDouble();
+                    if (board != null) {
+                        board.add(id, score, savedAt);
+                        restored++;
+                    }
+                }
+            }
+            log.info("从快照恢复排行 {} 条: {}", restored, snapshotPath);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            boards.values().forEach(DecayedScoreBoard::clear);
+            log.warn("读取排行快照失败，按累计互动数重新初始化: {}", snapshotPath, e);
+            return false;
+        }
+    }
+
+    /**
+     * 按累计浏览、点赞、评论数初始化，以发布时间为加分时刻
+     */
+    private void seed() {
+        List<Post> posts = postMapper.findTopEngaged(viewWeight, likeWeight, commentWeight, capacity);
+        ZoneId zone = ZoneId.systemDefault();
+        for (Post post : posts) {
+            double weight = count(post.getViewCount()) * viewWeight
+                    + count(post.getLikeCount()) * likeWeight
+                    + count(post.getCommentCount()) * commentWeight;
+            LocalDateTime time = post.getPublishedTime() != null ? post.getPublishedTime() : post.getCreateTime();
+            long millis = time != null ? time.atZone(zone).toInstant().toEpochMilli() : System.currentTimeMillis();
+            boards.values().forEach(board -> board.add(post.getId(), weight, millis));
+        }
+        dirty.set(true);
+        unsaved.set(true);
+        log.info("按累计互动数初始化排行 {} 篇", posts.size());
+    }
+
+    private static Board parseBoard(String name) {
+        try {
+            return Board.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * 榜单快照：按排名排列的文章与按条数缓存的响应体
+     */
+    private static final class Snapshot {
+
+        private final List<Post> posts;
+
+        private final Map<Integer, JsonEnvelope<List<Post>>> envelopes = new ConcurrentHashMap<>();
+
+        Snapshot(List<Post> posts) {
+            this.posts = posts;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.blog.ranking;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 相关文章索引
+ *
+ * <p>
+ * 保存每篇文章的分类与标签（升序 int 数组），以及标签、分类到文章的倒排表（升序 int 数组）。
+ * 相似度为标签集合的 Jaccard 系数 {@code |A∩B| / |A∪B|}，同分类再加 {@code categoryWeight}；
+ * 有共同标签的文章不足 k 篇时，用同分类的最新文章补足。
+ * 计算时把各标签的倒排表拼接后排序，按连续相同的ID计数得到交集大小，全程使用基本类型数组，不装箱。
+ * </p>
+ * <p>
+ * 写操作串行执行，每次替换为新数组（写时复制）；读操作不加锁，最多看到某篇文章更新到一半的状态，
+ * 只影响一次推荐结果。全量构建使用 {@link Builder}，先追加到可增长的缓冲区，最后一次性生成数组。
+ * </p>
+ */
+public class RelatedPostIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final double categoryWeight;
+
+    private final Map<Integer, Entry> posts = new ConcurrentHashMap<>();
+
+    private final Map<Integer, int[]> tagPosts = new ConcurrentHashMap<>();
+
+    private final Map<Integer, int[]> categoryPosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param categoryWeight 同分类的加分，Jaccard 系数的取值范围为 (0, 1]
+     */
+    public RelatedPostIndex(double categoryWeight) {
+        this.categoryWeight = categoryWeight;
+    }
+
+    /**
+     * 写入或更新一篇文章
+     *
+     * @param postId     文章ID
+     * @param categoryId 分类ID，没有分类时为 0
+     * @param tagIds     标签ID，无需有序、可重复
+     */
+    public synchronized void put(int postId, int categoryId, int[] tagIds) {
+        int[] tags = Arrays.stream(tagIds).sorted().distinct().toArray();
+        Entry old = posts.get(postId);
+        if (old != null && old.categoryId == categoryId && Arrays.equals(old.tags, tags)) {
+            return;
+        }
+        if (old != null) {
+            unlink(postId, old);
+        }
+        Entry entry = new Entry(categoryId, tags);
+        posts.put(postId, entry);
+        for (int tag : tags) {
+            tagPosts.compute(tag, (key, ids) -> insert(ids, postId));
+        }
+        if (categoryId != 0) {
+            categoryPosts.compute(categoryId, (key, ids) -> insert(ids, postId));
+        }
+    }
+
+    /**
+     * 移除一篇文章
+     */
+    public synchronized void remove(int postId) {
+        Entry old = posts.remove(postId);
+        if (old != null) {
+            unlink(postId, old);
+        }
+    }
+
+    public int size() {
+        return posts.size();
+    }
+
+    /**
+     * 与指定文章最相关的文章
+     *
+     * @param postId 文章ID
+     * @param k      条数
+     * @return 按相似度降序排列的文章ID，相似度相同时新文章（ID较大）在前；文章不在索引中时返回空数组
+     */
+    public int[] related(int postId, int k) {
+        Entry self = posts.get(postId);
+        if (self == null || k <= 0) {
+            return EMPTY;
+        }
+        int[] topIds = new int[k];
+        double[] topScores = new double[k];
+        int count = 0;
+
+        // 各标签倒排表拼接后排序，连续相同的ID个数即共同标签数
+        int total = 0;
+        int[][] lists = new int[self.tags.length][];
+        for (int i = 0; i < self.tags.length; i++) {
+            lists[i] = tagPosts.getOrDefault(self.tags[i], EMPTY);
+            total += lists[i].length;
+        }
+        int[] candidates = new int[total];
+        int offset = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, candidates, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(candidates);
+        for (int i = 0; i < candidates.length; ) {
+            int id = candidates[i];
+            int j = i;
+            while (j < candidates.length && candidates[j] == id) {
+                j++;
+            }
+            int common = j - i;
+            i = j;
+            Entry other = posts.get(id);
+            if (id == postId || other == null) {
+                continue;
+            }
+            double score = (double) common / (self.tags.length + other.tags.length - common);
+            if (self.categoryId != 0 && self.categoryId == other.categoryId) {
+                score += categoryWeight;
+            }
+            count = offer(topIds, topScores, count, id, score);
+        }
+
+        // 共同标签的文章不足时，用同分类的最新文章补足
+        if (count < k && self.categoryId != 0) {
+            int[] sameCategory = categoryPosts.getOrDefault(self.categoryId, EMPTY);
+            for (int i = sameCategory.length - 1; i >= 0 && count < k; i--) {
+                int id = sameCategory[i];
+                if (id != postId && !contains(topIds, count, id)) {
+                    count = offer(topIds, topScores, count, id, categoryWeight);
+                }
+            }
+        }
+        return Arrays.copyOf(topIds, count);
+    }
+
+    private void unlink(int postId, Entry old) {
+        for (int tag : old.tags) {
+            tagPosts.computeIfPresent(tag, (key, ids) -> delete(ids, postId));
+        }
+        if (old.categoryId != 0) {
+            categoryPosts.computeIfPresent(old.categoryId, (key, ids) -> delete(ids, postId));
+        }
+    }
+
+    /**
+     * 插入到按分值降序的定长数组中，返回新的条数
+     */
+    private static int offer(int[] ids, double[] scores, int count, int id, double score) {
+        int k = ids.length;
+        if (count == k && !better(score, id, scores[k - 1], ids[k - 1])) {
+            return count;
+        }
+        int pos = Math.min(count, k - 1);
+        while (pos > 0 && better(score, id, scores[pos - 1], ids[pos - 1])) {
+            ids[pos] = ids[pos - 1];
+            scores[pos] = scores[pos - 1];
+            pos--;
+        }
+        ids[pos] = id;
+        scores[pos] = score;
+        return Math.min(count + 1, k);
+    }
+
+    private static boolean better(double score, int id, double otherScore, int otherId) {
+        return score > otherScore || (score == otherScore && id > otherId);
+    }
+
+    private static boolean contains(int[] ids, int count, int id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 插入到升序数组，返回新数组
+     */
+    private static int[] insert(int[] ids, int id) {
+        if (ids == null) {
+            return new int[]{id};
+        }
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        pos = -pos - 1;
+        int[] result = new int[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, pos);
+        result[pos] = id;
+        System.arraycopy(ids, pos, result, pos + 1, ids.length - pos);
+        return result;
+    }
+
+    /**
+     * 从升序数组中删除，返回新数组，删空时返回 null 以移除映射
+     */
+    private static int[] delete(int[] ids, int id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        int[] result = new int[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, pos);
+        System.arraycopy(ids, pos + 1, result, pos, ids.length - pos - 1);
+        return result;
+    }
+
+    /**
+     * 全量构建
+     */
+    public static final class Builder {
+
+        private final RelatedPostIndex index;
+
+        private final Map<Integer, IntBuffer> tagBuffers = new HashMap<>();
+
+        private final Map<Integer, IntBuffer> categoryBuffers = new HashMap<>();
+
+        public Builder(double categoryWeight) {
+            this.index = new RelatedPostIndex(categoryWeight);
+        }
+
+        /**
+         * 追加一篇文章，同一篇文章只能追加一次
+         */
+        public Builder add(int postId, int categoryId, int[] tagIds) {
+            int[] tags = Arrays.stream(tagIds).sorted().distinct().toArray();
+            index.posts.put(postId, new Entry(categoryId, tags));
+            for (int tag : tags) {
+                tagBuffers.computeIfAbsent(tag, key -> new IntBuffer()).add(postId);
+            }
+            if (categoryId != 0) {
+                categoryBuffers.computeIfAbsent(categoryId, key -> new IntBuffer()).add(postId);
+            }
+            return this;
+        }
+
+        public RelatedPostIndex build() {
+            tagBuffers.forEach((tag, buffer) -> index.tagPosts.put(tag, buffer.toSortedArray()));
+            categoryBuffers.forEach((category, buffer) -> index.categoryPosts.put(category, buffer.toSortedArray()));
+            return index;
+        }
+    }
+
+    /**
+     * 可增长的 int 缓冲区
+     */
+    private static final class IntBuffer {
+
+        private int[] data = new int[8];
+
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int[] toSortedArray() {
+            int[] result = Arrays.copyOf(data, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    /**
+     * 文章的分类与升序标签数组
+     */
+    private record Entry(int categoryId, int[] tags) {
+    }
+}
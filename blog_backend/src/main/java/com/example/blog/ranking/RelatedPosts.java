@@ -0,0 +1,178 @@
+package com.example.blog.ranking;
+
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostTag;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.PostTagMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 相关文章
+ *
+ * <p>
+ * 维护基于标签共现的 {@link RelatedPostIndex}，只包含已发布的文章。
+ * 启动后分批全量构建一次，之后文章创建、更新、删除时只重新加载该文章的分类与标签；
+ * 标签、分类删除会级联修改大量关联，直接全量重建。事件只记入待处理集合，由定时任务合并处理，
+ * 与全量构建在同一线程串行执行，构建期间的变更不会丢失。
+ * </p>
+ */
+@Slf4j
+@Component
+public class RelatedPosts {
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private PostTagMapper postTagMapper;
+
+    @Value("${related.category-weight:0.2}")
+    private double categoryWeight;
+
+    @Value("${related.batch-size:1000}")
+    private int batchSize;
+
+    private volatile RelatedPostIndex index;
+
+    private final AtomicBoolean rebuildAll = new AtomicBoolean(true);
+
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getAction() == ContentChangedEvent.Action.IMPORTED) {
+            rebuildAll.set(true);
+            return;
+        }
+        switch (event.getContentType()) {
+            case POST -> dirtyPosts.add(event.getPostId());
+            case TAG, CATEGORY -> {
+                if (event.getAction() == ContentChangedEvent.Action.DELETED) {
+                    rebuildAll.set(true);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 与指定文章最相关的文章ID
+     *
+     * @param postId 文章ID
+     * @param limit  条数
+     * @return 按相关度降序排列的文章ID，索引尚未构建或文章未发布时为空
+     */
+    public List<Long> find(Long postId, int limit) {
+        RelatedPostIndex current = index;
+        if (current == null || postId == null) {
+            return List.of();
+        }
+        int[] ids = current.related(postId.intValue(), limit);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add((long) id);
+        }
+        return result;
+    }
+
+    /**
+     * 全量构建或合并处理待更新的文章
+     */
+    @Scheduled(initialDelayString = "${related.initial-delay-ms:3000}",
+            fixedDelayString = "${related.flush-interval-ms:2000}")
+    public void flush() {
+        if (rebuildAll.getAndSet(false)) {
+            // 此前的变更已包含在全量数据中；构建期间到达的事件留在待处理集合中，下次再应用
+            dirtyPosts.clear();
+            rebuild();
+            return;
+        }
+        if (dirtyPosts.isEmpty() || index == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(dirtyPosts);
+        dirtyPosts.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            List<Post> posts = postMapper.findIndexPosts(null, batch, batch.size());
+            Map<Long, int[]> tags = loadTags(posts);
+            Set<Long> published = new HashSet<>();
+            for (Post post : posts) {
+                published.add(post.getId());
+                index.put(post.getId().intValue(), categoryOf(post), tags.get(post.getId()));
+            }
+            for (Long id : batch) {
+                if (!published.contains(id)) {
+                    index.remove(id.intValue());
+                }
+            }
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        RelatedPostIndex.Builder builder = new RelatedPostIndex.Builder(categoryWeight);
+        long afterId = 0;
+        int count = 0;
+        while (true) {
+            List<Post> posts = postMapper.findIndexPosts(afterId, null, batchSize);
+            if (posts.isEmpty()) {
+                break;
+            }
+            Map<Long, int[]> tags = loadTags(posts);
+            for (Post post : posts) {
+                builder.add(post.getId().intValue(), categoryOf(post), tags.get(post.getId()));
+            }
+            count += posts.size();
+            afterId = posts.get(posts.size() - 1).getId();
+        }
+        index = builder.build();
+        log.info("相关文章索引构建完成：{} 篇，耗时 {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 一次查询取回一批文章的标签，没有标签的文章为空数组
+     */
+    private Map<Long, int[]> loadTags(List<Post> posts) {
+        Map<Long, int[]> result = new HashMap<>();
+        if (posts.isEmpty()) {
+            return result;
+        }
+        List<Long> ids = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            ids.add(post.getId());
+            result.put(post.getId(), new int[0]);
+        }
+        for (PostTag postTag : postTagMapper.findByPostIds(ids)) {
+            result.merge(postTag.getPostId(), new int[]{postTag.getTagId().intValue()}, RelatedPosts::concat);
+        }
+        return result;
+    }
+
+    private static int categoryOf(Post post) {
+        return post.getCategoryId() != null ? post.getCategoryId().intValue() : 0;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.blog.service;
 
 import com.example.blog.dto.LoginRequest;
+import com.example.blog.dto.LoginUser;
 import com.example.blog.dto.RegisterRequest;
 import com.example.blog.entity.User;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
 import com.example.blog.util.JwtUtil;
+import com.example.blog.util.LastLoginBuffer;
+import com.example.blog.util.TokenVersionStore;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -11,6 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,6 +33,12 @@ public class AuthService implements IAuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private TokenVersionStore tokenVersionStore;
+
     @Override
     public Map<String, String> login(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -35,17 +48,11 @@ public class AuthService implements IAuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        User user = userService.findByUsername(loginRequest.getUsername());
+        // 认证时已查出用户实体，直接从认证主体中取出
+        User user = ((LoginUser) authentication.getPrincipal()).getUser();
+        lastLoginBuffer.record(user.getId(), LocalDateTime.now());
 
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
-
-        Map<String, String> tokenMap = new HashMap<>();
-        tokenMap.put("token", token);
-        tokenMap.put("refreshToken", refreshToken);
-        tokenMap.put("type", "Bearer");
-
-        return tokenMap;
+        return issueTokens(user, tokenVersionStore.current(user.getId()));
     }
 
     @Override
@@ -60,15 +67,71 @@ public class AuthService implements IAuthService {
     }
 
     @Override
-    public String refreshToken(String refreshToken) {
-        String username = jwtUtil.getUsernameFromToken(refreshToken);
-        User user = userService.findByUsername(username);
+    public Map<String, String> refreshToken(String refreshToken) {
+        Claims claims = refreshToken == null ? null : jwtUtil.parseToken(refreshToken);
+        if (claims == null || !JwtUtil.TYPE_REFRESH.equals(claims.get(JwtUtil.CLAIM_TYPE))) {
+            throw new BusinessException(ErrorCode.REFRESH_TOKEN_INVALID);
+        }
+
+        Long userId = JwtUtil.getUserId(claims);
+        Integer version = JwtUtil.getVersion(claims);
+        if (userId == null || version == null) {
+            throw new BusinessException(ErrorCode.REFRESH_TOKEN_INVALID);
+        }
+        if (!tokenVersionStore.isValid(userId, version)) {
+            throw reused(userId);
+        }
 
-        if (user != null && jwtUtil.validateToken(refreshToken, username)) {
-            return jwtUtil.generateToken(user.getUsername(), user.getRole());
+        // 重新读取用户（经 MyBatis 二级缓存），被禁用或删除的用户不能继续刷新，角色以当前值为准
+        User user = userService.findById(userId);
+        if (user == null) {
+            throw new BusinessException(ErrorCode.REFRESH_TOKEN_INVALID);
         }
+        if (!LoginUser.isActive(user)) {
+            throw new BusinessException(ErrorCode.USER_DISABLED);
+        }
+
+        // 轮换：版本加一后签发新的访问令牌和刷新令牌，旧刷新令牌随即失效；并发使用同一令牌时只有一个请求成功
+        int next = tokenVersionStore.rotate(userId, version);
+        if (next < 0) {
+            throw reused(userId);
+        }
+        return issueTokens(user, next);
+    }
 
-        throw new RuntimeException("无效的刷新令牌");
+    /**
+     * 刷新令牌的版本已被轮换或吊销：可能是令牌被盗用后重放，吊销该用户的全部令牌，
+     * 让此前用它换到的新令牌一并失效
+     */
+    private BusinessException reused(Long userId) {
+        tokenVersionStore.revoke(userId);
+        return new BusinessException(ErrorCode.REFRESH_TOKEN_REUSED);
+    }
+
+    @Override
+    public void logout() {
+        User user = getCurrentUser();
+        if (user == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED);
+        }
+        // 吊销该用户已签发的全部令牌
+        tokenVersionStore.revoke(user.getId());
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 签发访问令牌与刷新令牌
+     *
+     * @param user    用户
+     * @param version 令牌版本
+     * @return 包含 token 和 refreshToken 的 Map
+     */
+    private Map<String, String> issueTokens(User user, int version) {
+        Map<String, String> tokenMap = new HashMap<>();
+        tokenMap.put("token", jwtUtil.generateToken(user, version));
+        tokenMap.put("refreshToken", jwtUtil.generateRefreshToken(user, version));
+        tokenMap.put("type", "Bearer");
+        return tokenMap;
     }
 
     @Override
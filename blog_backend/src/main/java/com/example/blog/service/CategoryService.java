@@ -1,8 +1,10 @@
 package com.example.blog.service;
 
 import com.example.blog.entity.Category;
+import com.example.blog.event.ContentChangedEvent;
 import com.example.blog.mapper.CategoryMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,6 +15,9 @@ public class CategoryService implements ICategoryService {
     @Autowired
     private CategoryMapper categoryMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Category> findAll() {
         return categoryMapper.findAll();
@@ -36,6 +41,7 @@ public class CategoryService implements ICategoryService {
         }
 
         categoryMapper.insert(category);
+        eventPublisher.publishEvent(ContentChangedEvent.category(this, ContentChangedEvent.Action.CREATED, category.getId()));
         return category;
     }
 
@@ -47,11 +53,13 @@ public class CategoryService implements ICategoryService {
         }
 
         categoryMapper.update(category);
+        eventPublisher.publishEvent(ContentChangedEvent.category(this, ContentChangedEvent.Action.UPDATED, category.getId()));
         return findById(category.getId());
     }
 
     @Override
     public void deleteById(Long id) {
         categoryMapper.deleteById(id);
+        eventPublisher.publishEvent(ContentChangedEvent.category(this, ContentChangedEvent.Action.DELETED, id));
     }
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.example.blog.service;
 
 import com.example.blog.dto.PageResult;
 import com.example.blog.entity.Comment;
+import com.example.blog.event.ContentChangedEvent;
 import com.example.blog.mapper.CommentMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,27 +17,35 @@ public class CommentService implements ICommentService {
     @Autowired
     private CommentMapper commentMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
+    @Transactional(readOnly = true)
     public List<Comment> findByPostId(Long postId) {
         return commentMapper.findByPostId(postId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Comment> findByUserId(Long userId) {
         return commentMapper.findByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Comment findById(Long id) {
         return commentMapper.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Comment> findByParentId(Long parentId) {
         return commentMapper.findByParentId(parentId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResult<Comment> findAllWithPage(Integer page, Integer size, Integer status) {
         int offset = (page - 1) * size;
         List<Comment> comments = commentMapper.findAllWithPage(offset, size, status);
@@ -50,6 +61,8 @@ public class CommentService implements ICommentService {
         }
 
         commentMapper.insert(comment);
+        eventPublisher.publishEvent(ContentChangedEvent.comment(this, ContentChangedEvent.Action.CREATED,
+                comment.getId(), comment.getPostId()));
         return comment;
     }
 
@@ -61,12 +74,20 @@ public class CommentService implements ICommentService {
         }
 
         commentMapper.update(comment);
+        eventPublisher.publishEvent(ContentChangedEvent.comment(this, ContentChangedEvent.Action.UPDATED,
+                comment.getId(), existingComment.getPostId()));
         return findById(comment.getId());
     }
 
     @Override
     public void deleteById(Long id) {
+        // 失效评论列表需要知道所属文章
+        Comment existingComment = findById(id);
         commentMapper.deleteById(id);
+        if (existingComment != null) {
+            eventPublisher.publishEvent(ContentChangedEvent.comment(this, ContentChangedEvent.Action.DELETED,
+                    id, existingComment.getPostId()));
+        }
     }
 
     @Override
@@ -78,6 +99,8 @@ public class CommentService implements ICommentService {
 
         comment.setStatus(1);
         commentMapper.update(comment);
+        eventPublisher.publishEvent(ContentChangedEvent.comment(this, ContentChangedEvent.Action.UPDATED,
+                id, comment.getPostId()));
         return comment;
     }
 
@@ -90,6 +113,8 @@ public class CommentService implements ICommentService {
 
         comment.setStatus(2);
         commentMapper.update(comment);
+        eventPublisher.publishEvent(ContentChangedEvent.comment(this, ContentChangedEvent.Action.UPDATED,
+                id, comment.getPostId()));
         return comment;
     }
 }
\ No newline at end of file
@@ -0,0 +1,267 @@
+package com.example.blog.service;
+
+import com.example.blog.dto.DraftPatchRequest;
+import com.example.blog.dto.DraftVO;
+import com.example.blog.entity.PostRevision;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.PostRevisionMapper;
+import com.example.blog.util.TextPatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 草稿自动保存服务
+ *
+ * <p>
+ * 自动保存只向 post_revision 追加修订，不改写文章表中的正文，文章仍由“保存/发布”整体更新。
+ * 客户端提交相对最新修订的编辑操作，服务端在最新正文上应用后保存编辑本身；
+ * 第 1 个修订、修订号为 {@code draft.snapshot-interval} 倍数的修订以及编辑比正文一半还大的修订保存完整快照，
+ * 还原任一修订最多回放一个快照间隔的编辑。
+ * </p>
+ * <p>
+ * 基准修订不是最新修订时拒绝保存，由 (post_id, revision) 唯一索引保证并发保存只有一个成功。
+ * 每写入一个快照时压缩历史：保留最近 {@code draft.keep-revisions} 个修订，删除更早快照之前的记录，与写入修订在同一事务中完成。
+ * 各文章最新修订的正文缓存在内存中，连续自动保存不需要从数据库还原。
+ * </p>
+ */
+@Slf4j
+@Service
+public class DraftService implements IDraftService {
+
+    private static final TypeReference<List<TextPatch.Edit>> EDITS = new TypeReference<>() {
+    };
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private PostRevisionMapper revisionMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${draft.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Value("${draft.keep-revisions:100}")
+    private int keepRevisions;
+
+    @Value("${draft.cache-size:128}")
+    private int cacheSize;
+
+    /** 文章ID -> 最新修订的正文，按访问顺序淘汰 */
+    private Map<Long, Latest> latest;
+
+    @PostConstruct
+    public void init() {
+        if (snapshotInterval < 1) {
+            log.warn("draft.snapshot-interval 应大于0，当前为 {}，按每个修订都保存快照处理", snapshotInterval);
+            snapshotInterval = 1;
+        }
+        latest = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Latest> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getContentType() == ContentChangedEvent.ContentType.POST
+                && event.getAction() == ContentChangedEvent.Action.DELETED) {
+            latest.remove(event.getPostId());
+        }
+    }
+
+    @Override
+    public Long findAuthorId(Long postId) {
+        return postMapper.findAuthorId(postId);
+    }
+
+    @Override
+    public DraftVO getDraft(Long postId) {
+        PostRevision current = revisionMapper.findLatest(postId);
+        if (current == null) {
+            String content = postMapper.findContent(postId);
+            if (content == null) {
+                throw new BusinessException(ErrorCode.POST_NOT_FOUND);
+            }
+            return draft(postId, 0, content, content.length(), null);
+        }
+        String content = content(postId, current.getRevision());
+        return draft(postId, current.getRevision(), content, content.length(), current.getCreateTime());
+    }
+
+    @Override
+    @Transactional
+    public DraftVO save(Long postId, Long userId, DraftPatchRequest request) {
+        PostRevision current = revisionMapper.findLatest(postId);
+        int base = current != null ? current.getRevision() : 0;
+        if (request.getBaseRevision() != base) {
+            throw new BusinessException(ErrorCode.DRAFT_REVISION_CONFLICT);
+        }
+        String baseContent = content(postId, base);
+        if (baseContent == null) {
+            throw new BusinessException(ErrorCode.POST_NOT_FOUND);
+        }
+
+        List<TextPatch.Edit> edits;
+        String content;
+        if (request.getEdits() != null) {
+            edits = request.getEdits();
+            try {
+                content = TextPatch.apply(baseContent, edits);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(ErrorCode.DRAFT_PATCH_INVALID.getCode(), e.getMessage());
+            }
+        } else if (request.getContent() != null) {
+            content = request.getContent();
+            edits = TextPatch.diff(baseContent, content);
+        } else {
+            throw new BusinessException(ErrorCode.DRAFT_PATCH_INVALID, "编辑操作与正文不能同时为空");
+        }
+        if (content.length() != request.getLength()) {
+            throw new BusinessException(ErrorCode.DRAFT_PATCH_INVALID, "编辑后的正文长度与客户端不一致");
+        }
+        if (content.equals(baseContent)) {
+            return draft(postId, base, null, content.length(), current != null ? current.getCreateTime() : null);
+        }
+
+        int revision = base + 1;
+        String delta = write(edits);
+        boolean snapshot = revision == 1 || revision % snapshotInterval == 0 || delta.length() * 2 > content.length();
+
+        PostRevision record = new PostRevision();
+        record.setPostId(postId);
+        record.setRevision(revision);
+        record.setSnapshot(snapshot ? 1 : 0);
+        record.setBody(snapshot ? content : delta);
+        record.setContentLength(content.length());
+        record.setAuthorId(userId);
+        try {
+            revisionMapper.insert(record);
+        } catch (DuplicateKeyException e) {
+            // 并发保存了同一基准修订
+            throw new BusinessException(ErrorCode.DRAFT_REVISION_CONFLICT);
+        }
+        if (snapshot) {
+            compact(postId, revision);
+        }
+        latest.put(postId, new Latest(revision, content));
+        return draft(postId, revision, null, content.length(), LocalDateTime.now());
+    }
+
+    @Override
+    public List<PostRevision> findRevisions(Long postId) {
+        return revisionMapper.findByPostId(postId);
+    }
+
+    @Override
+    public DraftVO getRevision(Long postId, Integer revision) {
+        if (revision == 0) {
+            String content = postMapper.findContent(postId);
+            if (content == null) {
+                throw new BusinessException(ErrorCode.POST_NOT_FOUND);
+            }
+            return draft(postId, 0, content, content.length(), null);
+        }
+        List<PostRevision> chain = revisionMapper.findChain(postId, revision);
+        String content = replay(chain, revision);
+        return draft(postId, revision, content, content.length(), chain.get(chain.size() - 1).getCreateTime());
+    }
+
+    /**
+     * 取得指定修订的正文：优先使用缓存的最新正文，否则从最近的快照回放编辑
+     */
+    private String content(Long postId, int revision) {
+        Latest cached = latest.get(postId);
+        if (cached != null && cached.revision() == revision) {
+            return cached.content();
+        }
+        if (revision == 0) {
+            return postMapper.findContent(postId);
+        }
+        String content = replay(revisionMapper.findChain(postId, revision), revision);
+        latest.put(postId, new Latest(revision, content));
+        return content;
+    }
+
+    private String replay(List<PostRevision> chain, int revision) {
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != revision) {
+            // 修订不存在或已被压缩
+            throw new BusinessException(ErrorCode.REVISION_NOT_FOUND);
+        }
+        String content = chain.get(0).getBody();
+        for (PostRevision step : chain.subList(1, chain.size())) {
+            content = TextPatch.apply(content, read(step.getBody()));
+        }
+        return content;
+    }
+
+    /**
+     * 压缩历史：找到不晚于“最新修订 - keepRevisions”的最近快照，删除它之前的修订
+     */
+    private void compact(Long postId, int revision) {
+        if (revision <= keepRevisions) {
+            return;
+        }
+        Integer floor = revisionMapper.findSnapshotRevision(postId, revision - keepRevisions);
+        if (floor != null) {
+            int deleted = revisionMapper.deleteBefore(postId, floor);
+            if (deleted > 0) {
+                log.debug("压缩文章 {} 的修订历史：删除修订 {} 之前的 {} 条记录", postId, floor, deleted);
+            }
+        }
+    }
+
+    private String write(List<TextPatch.Edit> edits) {
+        try {
+            return objectMapper.writeValueAsString(edits);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化编辑操作失败", e);
+        }
+    }
+
+    private List<TextPatch.Edit> read(String body) {
+        try {
+            return objectMapper.readValue(body, EDITS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("解析编辑操作失败", e);
+        }
+    }
+
+    private static DraftVO draft(Long postId, int revision, String content, int length, LocalDateTime saveTime) {
+        DraftVO draft = new DraftVO();
+        draft.setPostId(postId);
+        draft.setRevision(revision);
+        draft.setContent(content);
+        draft.setLength(length);
+        draft.setSaveTime(saveTime);
+        return draft;
+    }
+
+    /**
+     * 缓存的最新修订
+     */
+    private record Latest(int revision, String content) {
+    }
+}
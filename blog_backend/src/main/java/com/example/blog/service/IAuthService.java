@@ -31,9 +31,14 @@ public interface IAuthService {
      * 刷新访问令牌
      * 
      * @param refreshToken 刷新令牌
-     * @return 新的访问令牌
+     * @return 包含新的 token 和 refreshToken 的 Map
      */
-    String refreshToken(String refreshToken);
+    Map<String, String> refreshToken(String refreshToken);
+
+    /**
+     * 退出登录，吊销当前用户已签发的全部令牌
+     */
+    void logout();
 
     /**
      * 获取当前登录用户
@@ -0,0 +1,56 @@
+package com.example.blog.service;
+
+import com.example.blog.dto.DraftPatchRequest;
+import com.example.blog.dto.DraftVO;
+import com.example.blog.entity.PostRevision;
+
+import java.util.List;
+
+/**
+ * 草稿自动保存服务接口
+ */
+public interface IDraftService {
+
+    /**
+     * 查询文章作者，用于权限校验
+     *
+     * @param postId 文章ID
+     * @return 作者ID，文章不存在时返回 null
+     */
+    Long findAuthorId(Long postId);
+
+    /**
+     * 查询最新草稿
+     *
+     * @param postId 文章ID
+     * @return 最新修订的正文，没有修订时为文章表中的正文（修订号 0）
+     */
+    DraftVO getDraft(Long postId);
+
+    /**
+     * 自动保存：在基准修订上应用编辑，追加一个新修订，不修改文章表
+     *
+     * @param postId  文章ID
+     * @param userId  保存者ID
+     * @param request 编辑请求
+     * @return 新的修订号与正文长度，内容没有变化时返回当前修订
+     */
+    DraftVO save(Long postId, Long userId, DraftPatchRequest request);
+
+    /**
+     * 查询修订历史
+     *
+     * @param postId 文章ID
+     * @return 修订列表（不含正文），按修订号倒序
+     */
+    List<PostRevision> findRevisions(Long postId);
+
+    /**
+     * 还原指定修订的正文
+     *
+     * @param postId   文章ID
+     * @param revision 修订号
+     * @return 该修订的正文
+     */
+    DraftVO getRevision(Long postId, Integer revision);
+}
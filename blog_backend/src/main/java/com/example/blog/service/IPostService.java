@@ -3,6 +3,7 @@ package com.example.blog.service;
 import com.example.blog.dto.PageResult;
 import com.example.blog.entity.Post;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -76,6 +77,15 @@ public interface IPostService {
      */
     List<Post> findByTagId(Long tagId);
 
+    /**
+     * 查询相关文章
+     * 
+     * @param id    文章ID
+     * @param limit 条数
+     * @return 按标签重合度与分类排序的已发布文章列表
+     */
+    List<Post> findRelated(Long id, Integer limit);
+
     /**
      * 创建文章
      * 
@@ -94,6 +104,22 @@ public interface IPostService {
      */
     Post update(Post post, List<Long> tagIds);
 
+    /**
+     * 设置或取消定时发布
+     * 
+     * @param id            文章ID
+     * @param scheduledTime 定时发布时间，为 null 时取消
+     */
+    void schedule(Long id, LocalDateTime scheduledTime);
+
+    /**
+     * 发布到期的定时发布文章
+     * 
+     * @param id 文章ID
+     * @return 已发布返回 true；文章已手动发布、已改期或已删除时返回 false
+     */
+    boolean publishScheduled(Long id);
+
     /**
      * 删除文章（软删除）
      * 
@@ -1,6 +1,7 @@
 package com.example.blog.service;
 
 import com.example.blog.entity.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.List;
@@ -8,7 +9,7 @@ import java.util.List;
 /**
  * 用户服务接口
  */
-public interface IUserService extends UserDetailsService {
+public interface IUserService extends UserDetailsService, UserDetailsPasswordService {
 
     /**
      * 根据用户名查询用户
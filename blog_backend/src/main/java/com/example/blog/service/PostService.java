@@ -3,14 +3,29 @@ package com.example.blog.service;
 import com.example.blog.dto.PageResult;
 import com.example.blog.entity.Post;
 import com.example.blog.entity.PostTag;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.event.PostEngagementEvent;
+import com.example.blog.event.PostScheduledEvent;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
 import com.example.blog.mapper.PostMapper;
 import com.example.blog.mapper.PostTagMapper;
+import com.example.blog.ranking.RelatedPosts;
+import com.example.blog.taxonomy.TaxonomyStore;
+import com.example.blog.util.MarkdownRenderer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 文章业务实现
@@ -18,6 +33,11 @@ import java.util.List;
  * <p>
  * 封装文章的查询、分页、创建、更新、删除及统计逻辑，负责协调文章与标签之间的关联，并在必要时
  * 维护发布时间、置顶状态、删除标记等字段。
+ * 写入正文时同步渲染 HTML 与目录，并提取摘录、字数与阅读时长，详情无需客户端解析 Markdown，列表也无需返回正文。
+ * 查询不连接标签与分类表，由 {@link TaxonomyStore} 按内存快照补全分类与标签。
+ * 更新时只写入实际变化的字段，标签按差集增删，没有任何变化时不执行写操作。
+ * 定时发布只记录发布时间，到期后由 {@link com.example.blog.publish.ScheduledPublisher} 调用 {@link #publishScheduled(Long)}。
+ * 查询方法标注只读事务，开启读写分离（{@code datasource.replica.enabled}）后走只读库。
  * </p>
  */
 @Service
@@ -29,50 +49,84 @@ public class PostService implements IPostService {
     @Autowired
     private PostTagMapper postTagMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private RelatedPosts relatedPosts;
+
+    @Autowired
+    private TaxonomyStore taxonomy;
+
     @Override
     public List<Post> findAll() {
         return postMapper.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Post> findPublished() {
-        return postMapper.findByStatus(1);
+        return attach(postMapper.findByStatus(1));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResult<Post> findPublishedWithPage(Integer page, Integer size, String keyword) {
         int offset = (page - 1) * size;
-        List<Post> posts = postMapper.findByStatusWithPage(1, offset, size, keyword);
+        List<Post> posts = attach(postMapper.findByStatusWithPage(1, offset, size, keyword));
         Long total = postMapper.countByStatus(1, keyword);
         return PageResult.of(posts, total, page, size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageResult<Post> findAllWithPage(Integer page, Integer size, String keyword) {
         int offset = (page - 1) * size;
-        List<Post> posts = postMapper.findAllWithPage(offset, size, keyword);
+        List<Post> posts = attach(postMapper.findAllWithPage(offset, size, keyword));
         Long total = postMapper.countAll(keyword);
         return PageResult.of(posts, total, page, size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Post findById(Long id) {
-        return postMapper.findById(id);
+        Post post = postMapper.findById(id);
+        taxonomy.attach(post);
+        return post;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Post> findByAuthorId(Long authorId) {
         return postMapper.findByAuthorId(authorId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Post> findByCategoryId(Long categoryId) {
-        return postMapper.findByCategoryId(categoryId);
+        return attach(postMapper.findByCategoryId(categoryId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Post> findByTagId(Long tagId) {
-        return postMapper.findByTagId(tagId);
+        return attach(postMapper.findByTagId(tagId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> findRelated(Long id, Integer limit) {
+        // 相关度由内存索引计算，这里只按主键取回列表字段，再按索引给出的顺序排列
+        List<Long> ids = relatedPosts.find(id, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Post> posts = new ArrayList<>(attach(postMapper.findListByIds(ids)));
+        posts.sort(Comparator.comparingInt(post -> ids.indexOf(post.getId())));
+        return posts;
     }
 
     @Override
@@ -88,24 +142,18 @@ public class PostService implements IPostService {
         }
         // 如果是发布状态，设置发布时间
         if (post.getStatus() != null && post.getStatus() == 1) {
-            post.setPublishedTime(java.time.LocalDateTime.now());
+            post.setPublishedTime(LocalDateTime.now());
         }
 
+        render(post);
         postMapper.insert(post);
 
         // 关联标签：文章插入完成后才能拿到自增ID
-        if (tagIds != null && !tagIds.isEmpty()) {
-            List<PostTag> postTags = new ArrayList<>();
-            for (Long tagId : tagIds) {
-
-                PostTag postTag = new PostTag();
-                postTag.setPostId(post.getId());
-                postTag.setTagId(tagId);
-                postTags.add(postTag);
-            }
-            postTagMapper.insertBatch(postTags);
+        if (tagIds != null) {
+            insertTags(post.getId(), new LinkedHashSet<>(tagIds));
         }
 
+        eventPublisher.publishEvent(ContentChangedEvent.post(this, ContentChangedEvent.Action.CREATED, post.getId()));
         return post;
     }
 
@@ -113,35 +161,70 @@ public class PostService implements IPostService {
     @Transactional
     public Post update(Post post, List<Long> tagIds) {
         Post existingPost = findById(post.getId());
+        if (existingPost == null) {
+            return null;
+        }
+
+        // 只保留真正变化的字段：编辑器频繁自动保存，多数请求与已保存内容相同
+        post.setTitle(changed(post.getTitle(), existingPost.getTitle()));
+        post.setSummary(changed(post.getSummary(), existingPost.getSummary()));
+        post.setContent(changed(post.getContent(), existingPost.getContent()));
+        post.setCoverImage(changed(post.getCoverImage(), existingPost.getCoverImage()));
+        post.setCategoryId(changed(post.getCategoryId(), existingPost.getCategoryId()));
+        post.setStatus(changed(post.getStatus(), existingPost.getStatus()));
+        boolean columnsChanged = post.getTitle() != null || post.getSummary() != null || post.getContent() != null
+                || post.getCoverImage() != null || post.getCategoryId() != null || post.getStatus() != null;
 
         // 如果从草稿改为发布，设置发布时间，实现“首次发布时间”记录
-        if (existingPost != null && existingPost.getStatus() != 1 && post.getStatus() != null
-                && post.getStatus() == 1) {
-            post.setPublishedTime(java.time.LocalDateTime.now());
+        if (!Integer.valueOf(1).equals(existingPost.getStatus()) && post.getStatus() != null && post.getStatus() == 1) {
+            post.setPublishedTime(LocalDateTime.now());
         }
 
-        postMapper.update(post);
+        // 只有正文变化时才需要重新渲染
+        if (post.getContent() != null) {
+            render(post);
+        }
+        if (columnsChanged) {
+            postMapper.update(post);
+            merge(existingPost, post);
+        }
 
-        // 更新标签关联：先清理旧数据，保持映射关系正确
+        // 标签按差集增删，标签集合不变时不触碰关联表；差集以关联表为准，内存快照可能尚未应用并发的修改
+        boolean tagsChanged = false;
         if (tagIds != null) {
+            Set<Long> oldTagIds = new LinkedHashSet<>(postTagMapper.findTagIdsByPostId(post.getId()));
+            Set<Long> newTagIds = new LinkedHashSet<>(tagIds);
+            newTagIds.remove(null);
 
-            // 先删除旧的关联
-            postTagMapper.deleteByPostId(post.getId());
-
-            // 如果有新标签，则添加
-            if (!tagIds.isEmpty()) {
-                List<PostTag> postTags = new ArrayList<>();
-                for (Long tagId : tagIds) {
-                    PostTag postTag = new PostTag();
-                    postTag.setPostId(post.getId());
-                    postTag.setTagId(tagId);
-                    postTags.add(postTag);
-                }
-                postTagMapper.insertBatch(postTags);
+            List<Long> removed = new ArrayList<>(oldTagIds);
+            removed.removeAll(newTagIds);
+            Set<Long> added = new LinkedHashSet<>(newTagIds);
+            added.removeAll(oldTagIds);
+
+            if (!removed.isEmpty()) {
+                postTagMapper.deleteByPostIdAndTagIds(post.getId(), removed);
+            }
+            insertTags(post.getId(), added);
+            tagsChanged = !removed.isEmpty() || !added.isEmpty();
+            if (tagsChanged) {
+                // 关联表的修改提交后才进入快照，标签按本次的标签ID补全
+                taxonomy.attach(existingPost, newTagIds);
             }
         }
+        if (!tagsChanged && post.getCategoryId() != null) {
+            taxonomy.attach(existingPost);
+        }
 
-        return findById(post.getId());
+        if (columnsChanged || tagsChanged) {
+            eventPublisher.publishEvent(ContentChangedEvent.post(this, ContentChangedEvent.Action.UPDATED, post.getId()));
+        }
+        // 手动发布时已清空定时发布时间（见 PostMapper.update），取消调度
+        if (post.getStatus() != null && post.getStatus() == 1 && existingPost.getScheduledTime() != null) {
+            existingPost.setScheduledTime(null);
+            eventPublisher.publishEvent(new PostScheduledEvent(this, post.getId(), null));
+        }
+        // 返回合并后的实体，不再重新查询
+        return existingPost;
     }
 
     @Override
@@ -151,15 +234,121 @@ public class PostService implements IPostService {
         post.setId(id);
         post.setIsDeleted(1);
         postMapper.update(post);
+        eventPublisher.publishEvent(ContentChangedEvent.post(this, ContentChangedEvent.Action.DELETED, id));
+    }
+
+    @Override
+    @Transactional
+    public void schedule(Long id, LocalDateTime scheduledTime) {
+        if (scheduledTime != null && !scheduledTime.isAfter(LocalDateTime.now())) {
+            throw new BusinessException(ErrorCode.SCHEDULE_TIME_INVALID);
+        }
+        // DATETIME 只保存到秒，调度时间与库中保持一致
+        if (scheduledTime != null) {
+            scheduledTime = scheduledTime.truncatedTo(ChronoUnit.SECONDS);
+        }
+        // 只更新未发布的文章
+        if (postMapper.updateScheduledTime(id, scheduledTime) == 0) {
+            throw new BusinessException(ErrorCode.POST_ALREADY_PUBLISHED);
+        }
+        eventPublisher.publishEvent(new PostScheduledEvent(this, id, scheduledTime));
+    }
+
+    @Override
+    @Transactional
+    public boolean publishScheduled(Long id) {
+        // 条件更新保证只发布一次，发布时间取计划时间
+        if (postMapper.publishScheduled(id, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(ContentChangedEvent.post(this, ContentChangedEvent.Action.UPDATED, id));
+        return true;
+    }
+
+    /**
+     * 按目录快照补全分类与标签
+     */
+    private List<Post> attach(List<Post> posts) {
+        taxonomy.attach(posts);
+        return posts;
+    }
+
+    /**
+     * 批量插入标签关联
+     */
+    private void insertTags(Long postId, Collection<Long> tagIds) {
+        List<PostTag> postTags = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            if (tagId != null) {
+                PostTag postTag = new PostTag();
+                postTag.setPostId(postId);
+                postTag.setTagId(tagId);
+                postTags.add(postTag);
+            }
+        }
+        if (!postTags.isEmpty()) {
+            postTagMapper.insertBatch(postTags);
+        }
+    }
+
+    /**
+     * 把已写入数据库的字段合并到查询出的实体上，作为更新结果返回
+     */
+    private void merge(Post target, Post changes) {
+        if (changes.getTitle() != null) {
+            target.setTitle(changes.getTitle());
+        }
+        if (changes.getSummary() != null) {
+            target.setSummary(changes.getSummary());
+        }
+        if (changes.getContent() != null) {
+            target.setContent(changes.getContent());
+            target.setContentHtml(changes.getContentHtml());
+            target.setToc(changes.getToc());
+            target.setExcerpt(changes.getExcerpt());
+            target.setWordCount(changes.getWordCount());
+            target.setCharCount(changes.getCharCount());
+            target.setReadingMinutes(changes.getReadingMinutes());
+            target.setRenderVersion(changes.getRenderVersion());
+        }
+        if (changes.getCoverImage() != null) {
+            target.setCoverImage(changes.getCoverImage());
+        }
+        if (changes.getCategoryId() != null) {
+            target.setCategoryId(changes.getCategoryId());
+        }
+        if (changes.getStatus() != null) {
+            target.setStatus(changes.getStatus());
+        }
+        if (changes.getPublishedTime() != null) {
+            target.setPublishedTime(changes.getPublishedTime());
+        }
+        target.setUpdateTime(LocalDateTime.now());
+    }
+
+    /**
+     * 与当前值相同时返回 null，使该字段不参与更新
+     */
+    private static <T> T changed(T value, T current) {
+        return value != null && !value.equals(current) ? value : null;
+    }
+
+    /**
+     * 渲染正文，写入 HTML、目录、摘录、字数统计与渲染版本
+     */
+    private void render(Post post) {
+        markdownRenderer.render(post.getContent()).applyTo(post);
     }
 
     @Override
     public void increaseViewCount(Long id) {
         postMapper.increaseViewCount(id);
+        eventPublisher.publishEvent(new PostEngagementEvent(this, PostEngagementEvent.Kind.VIEW, id));
     }
 
     @Override
     public void increaseLikeCount(Long id) {
         postMapper.increaseLikeCount(id);
+        eventPublisher.publishEvent(new PostEngagementEvent(this, PostEngagementEvent.Kind.LIKE, id));
     }
 }
\ No newline at end of file
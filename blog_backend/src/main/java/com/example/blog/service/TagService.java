@@ -1,8 +1,10 @@
 package com.example.blog.service;
 
 import com.example.blog.entity.Tag;
+import com.example.blog.event.ContentChangedEvent;
 import com.example.blog.mapper.TagMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,6 +15,9 @@ public class TagService implements ITagService {
     @Autowired
     private TagMapper tagMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Tag> findAll() {
         return tagMapper.findAll();
@@ -41,6 +46,7 @@ public class TagService implements ITagService {
         }
 
         tagMapper.insert(tag);
+        eventPublisher.publishEvent(ContentChangedEvent.tag(this, ContentChangedEvent.Action.CREATED, tag.getId()));
         return tag;
     }
 
@@ -52,11 +58,13 @@ public class TagService implements ITagService {
         }
 
         tagMapper.update(tag);
+        eventPublisher.publishEvent(ContentChangedEvent.tag(this, ContentChangedEvent.Action.UPDATED, tag.getId()));
         return findById(tag.getId());
     }
 
     @Override
     public void deleteById(Long id) {
         tagMapper.deleteById(id);
+        eventPublisher.publishEvent(ContentChangedEvent.tag(this, ContentChangedEvent.Action.DELETED, id));
     }
 }
\ No newline at end of file
@@ -1,25 +1,27 @@
 package com.example.blog.service;
 
+import com.example.blog.dto.LoginUser;
 import com.example.blog.entity.User;
 import com.example.blog.mapper.UserMapper;
+import com.example.blog.util.TokenVersionStore;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
 import java.util.List;
 
 @Service
 public class UserService implements IUserService {
 
     private final UserMapper userMapper;
+    private final TokenVersionStore tokenVersionStore;
     private PasswordEncoder passwordEncoder;
 
-    public UserService(UserMapper userMapper) {
+    public UserService(UserMapper userMapper, TokenVersionStore tokenVersionStore) {
         this.userMapper = userMapper;
+        this.tokenVersionStore = tokenVersionStore;
     }
 
     @Autowired
@@ -34,10 +36,20 @@ public class UserService implements IUserService {
             throw new UsernameNotFoundException("用户不存在");
         }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole())))
+        // 携带完整的用户实体，登录成功后无需再次查询
+        return new LoginUser(user);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // 登录时旧哈希的 cost 低于当前配置，保存按新 cost 生成的哈希
+        userMapper.updatePasswordByUsername(user.getUsername(), newPassword);
+        if (user instanceof LoginUser loginUser) {
+            loginUser.getUser().setPassword(newPassword);
+            return loginUser;
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
                 .build();
     }
 
@@ -87,12 +99,17 @@ public class UserService implements IUserService {
         user.setUsername(null);
 
         userMapper.update(user);
+        // 角色写在令牌中，角色变更后吊销旧令牌
+        if (user.getRole() != null && !user.getRole().equals(existingUser.getRole())) {
+            tokenVersionStore.revoke(user.getId());
+        }
         return findById(user.getId());
     }
 
     @Override
     public void deleteById(Long id) {
         userMapper.deleteById(id);
+        tokenVersionStore.revoke(id);
     }
 
     @Override
@@ -107,7 +124,8 @@ public class UserService implements IUserService {
             throw new RuntimeException("用户不存在");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userMapper.update(user);
+        userMapper.updatePassword(userId, passwordEncoder.encode(newPassword));
+        // 修改密码后吊销已签发的令牌，需要重新登录
+        tokenVersionStore.revoke(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.example.blog.taxonomy;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 标签、分类与文章标签关联的不可变快照
+ *
+ * <p>
+ * 标签名、分类名按 ID 升序保存在 ID 数组与对应的名称数组中，按二分查找取名称，ID 稀疏或超过 int 范围都不影响占用；
+ * 文章到标签的关联按压缩行格式保存：{@code postIds} 升序，第 i 篇文章的标签为
+ * {@code linkTagIds[offsets[i] .. offsets[i + 1])}，同一文章内升序。全部使用基本类型数组，查询不加锁、不装箱。
+ * </p>
+ * <p>
+ * 快照创建后不再修改，{@code with*} 方法返回新快照（写时复制），未变化的数组在新旧快照间共享。
+ * 更新文章标签需要复制关联数组，代价与文章数加关联数成正比，与一次更新的文章数无关，
+ * 因此多篇文章的变更应合并为一次 {@link #withPostTags(Map)}；批量导入等大规模变更直接全量构建。
+ * 全量构建使用 {@link Builder}，按文章ID、标签ID顺序追加关联。
+ * </p>
+ */
+public final class TaxonomySnapshot {
+
+    private static final long[] EMPTY = new long[0];
+
+    /** 空快照 */
+    public static final TaxonomySnapshot EMPTY_SNAPSHOT = new TaxonomySnapshot(NameTable.EMPTY, NameTable.EMPTY,
+            EMPTY, new int[]{0}, EMPTY);
+
+    private final NameTable tags;
+
+    private final NameTable categories;
+
+    private final long[] postIds;
+
+    private final int[] offsets;
+
+    private final long[] linkTagIds;
+
+    private TaxonomySnapshot(NameTable tags, NameTable categories, long[] postIds, int[] offsets, long[] linkTagIds) {
+        this.tags = tags;
+        this.categories = categories;
+        this.postIds = postIds;
+        this.offsets = offsets;
+        this.linkTagIds = linkTagIds;
+    }
+
+    /**
+     * 标签名称
+     *
+     * @return 标签不存在时返回 null
+     */
+    public String tagName(long tagId) {
+        return tags.get(tagId);
+    }
+
+    /**
+     * 分类名称
+     *
+     * @return 分类不存在时返回 null
+     */
+    public String categoryName(long categoryId) {
+        return categories.get(categoryId);
+    }
+
+    /**
+     * 文章的标签ID，升序
+     *
+     * @return 文章没有标签时返回空数组
+     */
+    public long[] tagIdsOf(long postId) {
+        int pos = Arrays.binarySearch(postIds, postId);
+        if (pos < 0) {
+            return EMPTY;
+        }
+        return Arrays.copyOfRange(linkTagIds, offsets[pos], offsets[pos + 1]);
+    }
+
+    /**
+     * 有标签的文章数
+     */
+    public int postCount() {
+        return postIds.length;
+    }
+
+    /**
+     * 文章标签关联数
+     */
+    public int linkCount() {
+        return linkTagIds.length;
+    }
+
+    /**
+     * 替换全部标签；已删除的标签同时从文章关联中移除（数据库按外键级联删除）
+     */
+    public TaxonomySnapshot withTags(List<Tag> tags) {
+        NameTable table = NameTable.of(tags, Tag::getId, Tag::getName);
+        boolean removed = false;
+        for (int i = 0; i < this.tags.ids.length && !removed; i++) {
+            removed = !table.contains(this.tags.ids[i]);
+        }
+        if (!removed) {
+            return new TaxonomySnapshot(table, categories, postIds, offsets, linkTagIds);
+        }
+        Builder builder = new Builder();
+        for (int i = 0; i < postIds.length; i++) {
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                if (table.contains(linkTagIds[j])) {
+                    builder.add(postIds[i], linkTagIds[j]);
+                }
+            }
+        }
+        return builder.build(table, categories);
+    }
+
+    /**
+     * 替换全部分类
+     */
+    public TaxonomySnapshot withCategories(List<Category> categories) {
+        return new TaxonomySnapshot(tags, NameTable.of(categories, Category::getId, Category::getName),
+                postIds, offsets, linkTagIds);
+    }
+
+    /**
+     * 替换一篇文章的标签，标签为空时移除该文章
+     *
+     * @param postId 文章ID
+     * @param tags   标签ID，无需有序、可重复
+     */
+    public TaxonomySnapshot withPostTags(long postId, List<Long> tags) {
+        return withPostTags(Map.of(postId, tags));
+    }
+
+    /**
+     * 一次替换多篇文章的标签，标签为空的文章被移除；只复制一遍关联数组
+     *
+     * @param changes 文章ID -> 标签ID（无需有序、可重复）
+     */
+    public TaxonomySnapshot withPostTags(Map<Long, List<Long>> changes) {
+        long[] changed = changes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        long[][] changedTags = new long[changed.length][];
+        int changedLinks = 0;
+        boolean modified = false;
+        for (int c = 0; c < changed.length; c++) {
+            changedTags[c] = changes.get(changed[c]).stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            changedLinks += changedTags[c].length;
+            modified |= !Arrays.equals(tagIdsOf(changed[c]), changedTags[c]);
+        }
+        if (!modified) {
+            return this;
+        }
+
+        long[] newPostIds = new long[postIds.length + changed.length];
+        int[] newOffsets = new int[postIds.length + changed.length + 1];
+        long[] newLinkTagIds = new long[linkTagIds.length + changedLinks];
+        int posts = 0;
+        int links = 0;
+        int from = 0;
+        for (int c = 0; c <= changed.length; c++) {
+            // 原样复制下一篇变更文章之前的文章，偏移量整体平移
+            int to = postIds.length;
+            if (c < changed.length) {
+                int pos = Arrays.binarySearch(postIds, from, postIds.length, changed[c]);
+                to = pos >= 0 ? pos : -pos - 1;
+            }
+            System.arraycopy(postIds, from, newPostIds, posts, to - from);
+            for (int i = from; i < to; i++) {
+                newOffsets[posts++] = offsets[i] - offsets[from] + links;
+            }
+            System.arraycopy(linkTagIds, offsets[from], newLinkTagIds, links, offsets[to] - offsets[from]);
+            links += offsets[to] - offsets[from];
+            if (c == changed.length) {
+                break;
+            }
+
+            from = to < postIds.length && postIds[to] == changed[c] ? to + 1 : to;
+            if (changedTags[c].length > 0) {
+                newPostIds[posts] = changed[c];
+                newOffsets[posts++] = links;
+                System.arraycopy(changedTags[c], 0, newLinkTagIds, links, changedTags[c].length);
+                links += changedTags[c].length;
+            }
+        }
+        newOffsets[posts] = links;
+        return new TaxonomySnapshot(tags, categories, Arrays.copyOf(newPostIds, posts),
+                Arrays.copyOf(newOffsets, posts + 1), Arrays.copyOf(newLinkTagIds, links));
+    }
+
+    /**
+     * 按 ID 升序保存的名称表
+     */
+    private static final class NameTable {
+
+        static final NameTable EMPTY = new NameTable(TaxonomySnapshot.EMPTY, new String[0]);
+
+        final long[] ids;
+
+        final String[] names;
+
+        private NameTable(long[] ids, String[] names) {
+            this.ids = ids;
+            this.names = names;
+        }
+
+        static <T> NameTable of(List<T> items, ToLongFunction<T> id, Function<T, String> name) {
+            List<T> sorted = new ArrayList<>(items);
+            sorted.sort(Comparator.comparingLong(id));
+            long[] ids = new long[sorted.size()];
+            String[] names = new String[sorted.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = id.applyAsLong(sorted.get(i));
+                names[i] = name.apply(sorted.get(i));
+            }
+            return new NameTable(ids, names);
+        }
+
+        String get(long id) {
+            int pos = Arrays.binarySearch(ids, id);
+            return pos >= 0 ? names[pos] : null;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+    }
+
+    /**
+     * 全量构建：按文章ID、标签ID升序追加关联，重复的关联只保留一条
+     */
+    public static class Builder {
+
+        private long[] postIds = new long[64];
+
+        private int[] offsets = new int[65];
+
+        private long[] tagIds = new long[256];
+
+        private int postCount;
+
+        private int linkCount;
+
+        public void add(long postId, long tagId) {
+            if (postCount > 0 && postIds[postCount - 1] == postId) {
+                if (tagIds[linkCount - 1] >= tagId) {
+                    if (tagIds[linkCount - 1] == tagId) {
+                        return;
+                    }
+                    throw new IllegalArgumentException("关联未按标签ID排序: post " + postId + ", tag " + tagId);
+                }
+            } else {
+                if (postCount > 0 && postIds[postCount - 1] > postId) {
+                    throw new IllegalArgumentException("关联未按文章ID排序: post " + postId);
+                }
+                if (postCount == postIds.length) {
+                    postIds = Arrays.copyOf(postIds, postCount * 2);
+                    offsets = Arrays.copyOf(offsets, postCount * 2 + 1);
+                }
+                postIds[postCount++] = postId;
+            }
+            if (linkCount == tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, linkCount * 2);
+            }
+            tagIds[linkCount++] = tagId;
+            offsets[postCount] = linkCount;
+        }
+
+        public TaxonomySnapshot build(List<Tag> tags, List<Category> categories) {
+            return build(NameTable.of(tags, Tag::getId, Tag::getName),
+                    NameTable.of(categories, Category::getId, Category::getName));
+        }
+
+        private TaxonomySnapshot build(NameTable tags, NameTable categories) {
+            return new TaxonomySnapshot(tags, categories, Arrays.copyOf(postIds, postCount),
+                    Arrays.copyOf(offsets, postCount + 1), Arrays.copyOf(tagIds, linkCount));
+        }
+    }
+}
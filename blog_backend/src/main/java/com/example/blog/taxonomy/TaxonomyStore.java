@@ -0,0 +1,202 @@
+package com.example.blog.taxonomy;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostTag;
+import com.example.blog.entity.Tag;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.mapper.CategoryMapper;
+import com.example.blog.mapper.PostTagMapper;
+import com.example.blog.mapper.TagMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 标签与分类目录
+ *
+ * <p>
+ * 在内存中保存全部标签名、分类名与文章标签关联（{@link TaxonomySnapshot}），文章查询不再连接
+ * {@code tag}、{@code category}、{@code post_tag} 三张表，由 {@link #attach} 按快照补全分类与标签。
+ * 首次使用时全量加载；标签、分类或文章提交后收到 {@link ContentChangedEvent}，只重新查询变化的部分，
+ * 生成新快照后通过 volatile 引用发布，读操作不加锁。写操作串行执行，后执行的查询总能看到更晚的提交；
+ * 并发提交的多篇文章合并为一次更新，批量导入直接全量重新加载。
+ * 定时全量重新加载，兜底绕过服务层直接修改数据库的情况。
+ * </p>
+ */
+@Slf4j
+@Component
+public class TaxonomyStore {
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private PostTagMapper postTagMapper;
+
+    private volatile TaxonomySnapshot snapshot;
+
+    /** 已提交、尚未应用到快照的文章ID */
+    private final Set<Long> pendingPosts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 当前快照，首次调用时全量加载
+     */
+    public TaxonomySnapshot snapshot() {
+        TaxonomySnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 按快照补全文章的分类与标签
+     */
+    public void attach(Post post) {
+        if (post != null) {
+            attach(snapshot(), post);
+        }
+    }
+
+    /**
+     * 按快照补全文章的分类，标签使用给定的ID
+     *
+     * <p>用于刚修改过标签的文章：关联表的修改在事务提交后才进入快照，此时快照中的标签仍是旧的。</p>
+     *
+     * @param post   文章
+     * @param tagIds 标签ID，无需有序、可重复
+     */
+    public void attach(Post post, Collection<Long> tagIds) {
+        if (post != null) {
+            long[] ids = tagIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).sorted().distinct().toArray();
+            attach(snapshot(), post, ids);
+        }
+    }
+
+    /**
+     * 按同一份快照补全一批文章的分类与标签
+     */
+    public void attach(Collection<Post> posts) {
+        TaxonomySnapshot current = snapshot();
+        for (Post post : posts) {
+            attach(current, post);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getAction() == ContentChangedEvent.Action.IMPORTED) {
+            refresh();
+            return;
+        }
+        switch (event.getContentType()) {
+            case TAG -> update(current -> current.withTags(tagMapper.findAll()));
+            case CATEGORY -> update(current -> current.withCategories(categoryMapper.findAll()));
+            case POST -> {
+                pendingPosts.add(event.getPostId());
+                applyPendingPosts();
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 定时全量重新加载
+     */
+    @Scheduled(initialDelayString = "${taxonomy.refresh-interval-ms:300000}",
+            fixedDelayString = "${taxonomy.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        snapshot = load();
+    }
+
+    /**
+     * 把已提交的文章变更合并为一次快照更新：每次更新都要复制整个关联数组，
+     * 等待写锁期间其他线程提交的文章由先拿到锁的线程一并处理
+     */
+    private synchronized void applyPendingPosts() {
+        if (pendingPosts.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> changes = new HashMap<>();
+        for (Iterator<Long> it = pendingPosts.iterator(); it.hasNext(); ) {
+            Long postId = it.next();
+            // 先移除再查询，查询之后提交的变更会重新加入
+            it.remove();
+            changes.put(postId, postTagMapper.findTagIdsByPostId(postId));
+        }
+        update(current -> current.withPostTags(changes));
+    }
+
+    private synchronized void update(UnaryOperator<TaxonomySnapshot> change) {
+        // 尚未加载时直接全量加载，已包含本次变更
+        snapshot = snapshot == null ? load() : change.apply(snapshot);
+    }
+
+    private TaxonomySnapshot load() {
+        long start = System.currentTimeMillis();
+        List<Tag> tags = tagMapper.findAll();
+        List<Category> categories = categoryMapper.findAll();
+        TaxonomySnapshot.Builder builder = new TaxonomySnapshot.Builder();
+        postTagMapper.scanAll(context -> {
+            PostTag postTag = context.getResultObject();
+            builder.add(postTag.getPostId(), postTag.getTagId());
+        });
+        TaxonomySnapshot loaded = builder.build(tags, categories);
+        log.info("标签分类目录加载完成：{} 个标签，{} 个分类，{} 篇文章的 {} 条标签关联，耗时 {} ms",
+                tags.size(), categories.size(), loaded.postCount(), loaded.linkCount(),
+                System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private static void attach(TaxonomySnapshot current, Post post) {
+        attach(current, post, post.getId() != null ? current.tagIdsOf(post.getId()) : new long[0]);
+    }
+
+    private static void attach(TaxonomySnapshot current, Post post, long[] tagIds) {
+        Category category = null;
+        if (post.getCategoryId() != null) {
+            String name = current.categoryName(post.getCategoryId());
+            if (name != null) {
+                category = new Category();
+                category.setId(post.getCategoryId());
+                category.setName(name);
+            }
+        }
+        post.setCategory(category);
+
+        List<Tag> tags = new ArrayList<>();
+        for (long tagId : tagIds) {
+            String name = current.tagName(tagId);
+            if (name != null) {
+                Tag tag = new Tag();
+                tag.setId(tagId);
+                tag.setName(name);
+                tags.add(tag);
+            }
+        }
+        post.setTags(tags);
+    }
+}
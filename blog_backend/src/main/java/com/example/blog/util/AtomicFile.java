@@ -0,0 +1,68 @@
+package com.example.blog.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 原子替换的文件
+ *
+ * <p>
+ * 先写入同目录下的临时文件，{@link #commit()} 时以原子重命名替换目标文件，读取方要么看到旧文件、要么看到完整的新文件，
+ * 不会读到写了一半的内容。未提交就关闭时删除临时文件，目标文件保持不变。
+ * </p>
+ */
+public final class AtomicFile implements Closeable {
+
+    private final Path target;
+
+    private final Path temp;
+
+    private final OutputStream out;
+
+    private boolean committed;
+
+    private AtomicFile(Path target, Path temp, OutputStream out) {
+        this.target = target;
+        this.temp = temp;
+        this.out = out;
+    }
+
+    /**
+     * 开始写入目标文件，必要时创建父目录
+     *
+     * @param target 目标文件
+     * @return 原子文件
+     */
+    public static AtomicFile create(Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, "." + target.getFileName(), ".tmp");
+        return new AtomicFile(target, temp, new BufferedOutputStream(Files.newOutputStream(temp)));
+    }
+
+    public OutputStream out() {
+        return out;
+    }
+
+    /**
+     * 写入完成，替换目标文件
+     */
+    public void commit() throws IOException {
+        out.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            out.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.blog.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt cost 校准器
+ *
+ * <p>
+ * 在当前机器上实测各个 cost 的单次哈希耗时，选取耗时不超过目标的最大 cost。
+ * cost 每加一耗时翻倍，因此从下限开始逐级测量，一旦超过目标即可停止。
+ * 每个 cost 先预热一次再取多次测量的最小值，减少 JIT 与调度抖动的影响。
+ * </p>
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * 选取耗时不超过目标的最大 cost
+     *
+     * @param minStrength     cost 下限，即使超过目标也不会低于此值
+     * @param maxStrength     cost 上限
+     * @param targetLatencyMs 单次哈希的目标耗时（毫秒）
+     * @return 选定的 cost
+     */
+    public static int calibrate(int minStrength, int maxStrength, long targetLatencyMs) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long millis = measureMillis(strength);
+            log.info("BCrypt cost {} 单次哈希耗时 {} ms", strength, millis);
+            if (millis > targetLatencyMs) {
+                break;
+            }
+            chosen = strength;
+        }
+        log.info("BCrypt cost 校准完成：目标 {} ms，选定 cost {}", targetLatencyMs, chosen);
+        return chosen;
+    }
+
+    private static long measureMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
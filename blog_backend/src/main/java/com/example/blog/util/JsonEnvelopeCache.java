@@ -0,0 +1,99 @@
+package com.example.blog.util;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.dto.JsonEnvelope;
+import com.example.blog.event.ContentChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 预序列化响应缓存
+ *
+ * <p>
+ * 按名称缓存整份序列化好的 ApiResponse，命中时既不查库也不序列化。
+ * 每个名称带一个代数计数器：失效时代数加一，加载期间若代数发生变化则丢弃本次结果，
+ * 避免“读到旧数据 → 写操作失效 → 旧数据写回缓存”的竞态。标签、分类变更通过 {@link ContentChangedEvent} 触发失效。
+ * </p>
+ */
+@Component
+public class JsonEnvelopeCache {
+
+    /** 全部标签列表 */
+    public static final String TAGS = "tags";
+
+    /** 全部分类列表 */
+    public static final String CATEGORIES = "categories";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, JsonEnvelope<?>> envelopes = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * 获取缓存的响应体，未命中时加载并序列化
+     *
+     * @param name   缓存名称，同一名称的响应数据类型须一致
+     * @param loader 构造响应对象（包含查库）
+     * @return 预序列化的响应体
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonEnvelope<T> get(String name, Supplier<ApiResponse<T>> loader) {
+        JsonEnvelope<T> cached = (JsonEnvelope<T>) envelopes.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        AtomicLong generation = generation(name);
+        long before = generation.get();
+        JsonEnvelope<T> loaded = JsonEnvelope.of(objectMapper, loader.get());
+        if (generation.get() == before) {
+            envelopes.put(name, loaded);
+            // put 与 evict 之间仍可能交错，写入后再校验一次代数
+            if (generation.get() != before) {
+                envelopes.remove(name, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 使缓存失效，在对应数据的写操作完成后调用
+     *
+     * @param name 缓存名称
+     */
+    public void evict(String name) {
+        generation(name).incrementAndGet();
+        envelopes.remove(name);
+    }
+
+    /**
+     * 标签、分类变更后失效对应的列表
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getAction() == ContentChangedEvent.Action.IMPORTED) {
+            evict(TAGS);
+            evict(CATEGORIES);
+            return;
+        }
+        switch (event.getContentType()) {
+            case TAG -> evict(TAGS);
+            case CATEGORY -> evict(CATEGORIES);
+            default -> {
+            }
+        }
+    }
+
+    private AtomicLong generation(String name) {
+        return generations.computeIfAbsent(name, key -> new AtomicLong());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.blog.util;
 
+import com.example.blog.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,10 +14,30 @@ import java.util.Map;
 /**
  * JWT工具类
  * 
- * 负责JWT令牌的生成、解析和验证
+ * 负责JWT令牌的生成、解析和验证。
+ * 令牌携带用户ID、角色、令牌版本与类型，验证令牌时无需查询数据库；
+ * 签名密钥与解析器只构建一次，每个令牌只解析一次。
  */
 @Component
 public class JwtUtil {
+
+    /** 用户ID声明 */
+    public static final String CLAIM_USER_ID = "uid";
+
+    /** 用户角色声明 */
+    public static final String CLAIM_ROLE = "role";
+
+    /** 令牌版本声明，低于用户当前版本的令牌视为已吊销 */
+    public static final String CLAIM_VERSION = "ver";
+
+    /** 令牌类型声明 */
+    public static final String CLAIM_TYPE = "typ";
+
+    /** 访问令牌 */
+    public static final String TYPE_ACCESS = "access";
+
+    /** 刷新令牌 */
+    public static final String TYPE_REFRESH = "refresh";
     
     /** JWT密钥 */
     @Value("${jwt.secret}")
@@ -30,36 +51,77 @@ public class JwtUtil {
     @Value("${jwt.refresh.expiration}")
     private Long refreshExpiration;
     
+    /** 签名密钥，首次使用时构建 */
+    private volatile SecretKey signingKey;
+    
+    /** 令牌解析器，首次使用时构建 */
+    private volatile JwtParser parser;
+    
     /**
      * 获取签名密钥
      * 
      * @return 签名密钥
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+    
+    /**
+     * 获取令牌解析器
+     * 
+     * @return 令牌解析器
+     */
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
     
     /**
      * 生成访问令牌
      * 
-     * @param username 用户名
-     * @param role 用户角色
+     * @param user 用户
+     * @param version 用户当前的令牌版本
      * @return JWT访问令牌
      */
-    public String generateToken(String username, String role) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
-        return createToken(claims, username, expiration);
+    public String generateToken(User user, int version) {
+        return createToken(claimsOf(user, version, TYPE_ACCESS), user.getUsername(), expiration);
     }
     
     /**
      * 生成刷新令牌
      * 
-     * @param username 用户名
+     * @param user 用户
+     * @param version 用户当前的令牌版本
      * @return JWT刷新令牌
      */
-    public String generateRefreshToken(String username) {
-        return createToken(new HashMap<>(), username, refreshExpiration);
+    public String generateRefreshToken(User user, int version) {
+        return createToken(claimsOf(user, version, TYPE_REFRESH), user.getUsername(), refreshExpiration);
+    }
+    
+    /**
+     * 构造令牌声明
+     * 
+     * @param user 用户
+     * @param version 令牌版本
+     * @param type 令牌类型
+     * @return 声明信息
+     */
+    private Map<String, Object> claimsOf(User user, int version, String type) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole());
+        claims.put(CLAIM_VERSION, version);
+        claims.put(CLAIM_TYPE, type);
+        return claims;
     }
     
     /**
@@ -100,7 +162,7 @@ public class JwtUtil {
      * @return 用户角色
      */
     public String getRoleFromToken(String token) {
-        return (String) getClaimsFromToken(token).get("role");
+        return (String) getClaimsFromToken(token).get(CLAIM_ROLE);
     }
     
     /**
@@ -113,6 +175,20 @@ public class JwtUtil {
         return getClaimsFromToken(token).getExpiration();
     }
     
+    /**
+     * 解析并校验令牌，签名错误或已过期时返回 null
+     * 
+     * @param token JWT令牌
+     * @return 声明信息
+     */
+    public Claims parseToken(String token) {
+        try {
+            return getClaimsFromToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
     /**
      * 从令牌中获取声明信息
      * 
@@ -120,9 +196,7 @@ public class JwtUtil {
      * @return 声明信息
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -150,11 +224,30 @@ public class JwtUtil {
      * @return 如果有效返回true，否则返回false
      */
     public Boolean validateToken(String token, String username) {
-        try {
-            final String tokenUsername = getUsernameFromToken(token);
-            return (tokenUsername.equals(username) && !isTokenExpired(token));
-        } catch (JwtException e) {
-            return false;
-        }
+        // 解析时已校验签名与过期时间
+        Claims claims = parseToken(token);
+        return claims != null && claims.getSubject().equals(username);
+    }
+    
+    /**
+     * 从声明中获取用户ID
+     * 
+     * @param claims 声明信息
+     * @return 用户ID，缺失时返回null
+     */
+    public static Long getUserId(Claims claims) {
+        Object value = claims.get(CLAIM_USER_ID);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+    
+    /**
+     * 从声明中获取令牌版本
+     * 
+     * @param claims 声明信息
+     * @return 令牌版本，缺失时返回null
+     */
+    public static Integer getVersion(Claims claims) {
+        Object value = claims.get(CLAIM_VERSION);
+        return value instanceof Number number ? number.intValue() : null;
     }
 }
\ No newline at end of file
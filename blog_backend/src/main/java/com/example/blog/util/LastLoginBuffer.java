@@ -0,0 +1,99 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.User;
+import com.example.blog.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 最后登录时间写缓冲
+ *
+ * <p>
+ * 登录成功时只把时间记入内存，同一用户多次登录合并为最新的一次，由定时任务按批写回数据库。
+ * 登录风暴期间写库次数只取决于活跃用户数与刷新间隔，而不是登录次数。
+ * 写库失败的条目会放回缓冲区等待下一次刷新；应用关闭时会再刷新一次。
+ * </p>
+ */
+@Slf4j
+@Component
+public class LastLoginBuffer implements DisposableBean {
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Value("${last-login.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次登录
+     *
+     * @param userId    用户ID
+     * @param loginTime 登录时间
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * 待写回的用户数
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * 把缓冲区中的登录时间批量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<User> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        // 先取键的快照，写库失败放回的条目留到下一次刷新
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime == null) {
+                continue;
+            }
+            User user = new User();
+            user.setId(userId);
+            user.setLastLoginTime(loginTime);
+            batch.add(user);
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private void write(List<User> batch) {
+        try {
+            userMapper.batchUpdateLastLoginTime(batch);
+        } catch (RuntimeException e) {
+            log.warn("写入最后登录时间失败，{} 条记录留待下次刷新", batch.size(), e);
+            batch.forEach(user -> record(user.getId(), user.getLastLoginTime()));
+        }
+    }
+}
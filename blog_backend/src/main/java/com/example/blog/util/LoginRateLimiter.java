@@ -0,0 +1,161 @@
+package com.example.blog.util;
+
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 登录限流器
+ *
+ * <p>
+ * 按客户端 IP 与用户名各维护一个令牌桶：IP 桶限制单个来源的撞库速率，用户名桶限制针对单个账号的猜测速率。
+ * 两个桶都有令牌才放行，并在 BCrypt 校验之前执行，被拒绝的请求不消耗任何哈希计算。
+ * 令牌按时间惰性补充。每类桶保存在按访问顺序排列的有界 LRU 表中，键数量达到 max-keys 后新键淘汰最久未访问的桶，
+ * 轮换用户名或来源 IP 也无法让内存无限增长；定时任务在请求路径之外清理已经补满（即近期无请求）的桶，
+ * 正常流量下表远达不到上限。
+ * </p>
+ */
+@Component
+public class LoginRateLimiter {
+
+    @Value("${login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${login-throttle.ip.refill-per-minute:10}")
+    private int ipRefillPerMinute;
+
+    @Value("${login-throttle.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${login-throttle.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+
+    @Value("${login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private final BucketMap ipBuckets = new BucketMap();
+
+    private final BucketMap usernameBuckets = new BucketMap();
+
+    /**
+     * 申请一次登录尝试，超出速率时抛出 {@link TooManyRequestsException}
+     *
+     * @param clientIp 客户端 IP
+     * @param username 登录用户名
+     */
+    public void acquire(String clientIp, String username) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket ipBucket = bucket(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute, now);
+        if (!ipBucket.tryAcquire(now)) {
+            throw new TooManyRequestsException(ErrorCode.LOGIN_TOO_FREQUENT);
+        }
+        if (username == null) {
+            return;
+        }
+        TokenBucket usernameBucket = bucket(usernameBuckets, username.toLowerCase(), usernameCapacity,
+                usernameRefillPerMinute, now);
+        if (!usernameBucket.tryAcquire(now)) {
+            throw new TooManyRequestsException(ErrorCode.LOGIN_TOO_FREQUENT);
+        }
+    }
+
+    private TokenBucket bucket(BucketMap buckets, String key, int capacity, int refillPerMinute, long now) {
+        synchronized (buckets) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(capacity, refillPerMinute, now);
+                buckets.put(key, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    /**
+     * 清理已经补满的桶，补满的桶与新建的桶等价，删除不影响限流结果
+     */
+    @Scheduled(fixedDelayString = "${login-throttle.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (BucketMap buckets : new BucketMap[] { ipBuckets, usernameBuckets }) {
+            synchronized (buckets) {
+                buckets.values().removeIf(bucket -> bucket.isFull(now));
+            }
+        }
+    }
+
+    /**
+     * 当前保存的桶数量（IP 桶 + 用户名桶）
+     */
+    public int size() {
+        int size;
+        synchronized (ipBuckets) {
+            size = ipBuckets.size();
+        }
+        synchronized (usernameBuckets) {
+            return size + usernameBuckets.size();
+        }
+    }
+
+    /**
+     * 按访问顺序排列的有界表，超过 max-keys 时淘汰最久未访问的桶，插入与淘汰都是 O(1)；调用方持有对象锁
+     */
+    private final class BucketMap extends LinkedHashMap<String, TokenBucket> {
+
+        BucketMap() {
+            super(256, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+
+    /**
+     * 令牌桶：容量 capacity，每分钟补充 refillPerMinute 个令牌
+     */
+    static final class TokenBucket {
+
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, int refillPerMinute, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.blog.util;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MyBatis 二级缓存：有界 LRU + TTL，带命中统计
+ *
+ * <p>
+ * 在 Mapper XML 中以 {@code <cache type="com.example.blog.util.MapperCache">} 启用，每个命名空间一个实例，
+ * 容量与过期时间由 {@code size}、{@code ttlSeconds} 属性配置。同命名空间的 insert/update/delete 提交后
+ * MyBatis 调用 {@link #clear()} 清空整个命名空间；也可通过 actuator 端点 {@code mappercache} 手动清空。
+ * </p>
+ * <p>
+ * 值以 Java 序列化字节保存，每次读取返回新的副本（与 MyBatis 默认的读写缓存语义一致）：
+ * 调用方修改返回的实体（例如登录成功后 Spring Security 擦除 User 的密码）不会污染缓存。
+ * 缓存的实体须实现 {@link java.io.Serializable}。
+ * </p>
+ * <p>
+ * MyBatis 在查询未命中后、事务提交时才写入结果。为避免“查询开始 → 其他事务更新并清空 → 本次旧结果写入”
+ * 留下过期数据，未命中时记录当前代数，清空时代数加一，写入时代数已变化的结果直接丢弃。
+ * </p>
+ */
+public class MapperCache implements Cache {
+
+    /** 反序列化时只允许实体与 JDK 类型 */
+    private static final ObjectInputFilter FILTER =
+            ObjectInputFilter.Config.createFilter("com.example.blog.entity.*;java.base/*;!*");
+
+    /** 各命名空间的实例，供监控端点读取；同一命名空间重新创建时替换旧实例 */
+    private static final Map<String, MapperCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String id;
+
+    private volatile int size = 1024;
+
+    private volatile long ttlMillis = 600_000;
+
+    private final Map<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** 未命中的键及其发生时的代数，写入时据此判断期间是否被清空过 */
+    private final Map<Object, Long> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder stalePuts = new LongAdder();
+
+    private final LongAdder flushes = new LongAdder();
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+
+    /**
+     * 统计快照
+     *
+     * @param namespace   Mapper 命名空间
+     * @param entries     当前条目数（含未清理的过期条目）
+     * @param capacity    容量
+     * @param ttlSeconds  过期时间（秒）
+     * @param hits        命中次数
+     * @param misses      未命中次数
+     * @param hitRatio    命中率
+     * @param expirations 过期淘汰次数
+     * @param evictions   容量淘汰次数
+     * @param stalePuts   因期间发生清空而丢弃的写入次数
+     * @param flushes     清空次数
+     */
+    public record Stats(String namespace, int entries, int capacity, long ttlSeconds, long hits, long misses,
+                        double hitRatio, long expirations, long evictions, long stalePuts, long flushes) {
+    }
+
+    public MapperCache(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Cache instances require an ID");
+        }
+        this.id = id;
+        INSTANCES.put(id, this);
+    }
+
+    /**
+     * 全部命名空间的缓存实例
+     */
+    public static Collection<MapperCache> instances() {
+        return INSTANCES.values();
+    }
+
+    /**
+     * 按命名空间查找缓存实例
+     *
+     * @return 未启用缓存的命名空间返回 null
+     */
+    public static MapperCache instance(String namespace) {
+        return INSTANCES.get(namespace);
+    }
+
+    /**
+     * 容量，由 XML 中的 {@code <property name="size">} 设置
+     */
+    public void setSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * 过期时间（秒），由 XML 中的 {@code <property name="ttlSeconds">} 设置
+     */
+    public void setTtlSeconds(long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("ttlSeconds must be positive: " + ttlSeconds);
+        }
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        Long missedAt = pending.remove(key);
+        if (value == null) {
+            return;
+        }
+        if (missedAt == null || missedAt != generation.get()) {
+            stalePuts.increment();
+            return;
+        }
+        Entry entry = new Entry(serialize(value), System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            // 加锁后再比较一次，清空与写入互斥
+            if (missedAt != generation.get()) {
+                stalePuts.increment();
+                return;
+            }
+            entries.put(key, entry);
+            while (entries.size() > size) {
+                entries.remove(entries.keySet().iterator().next());
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                if (pending.size() >= size) {
+                    // 未提交就关闭的会话不会写回，丢弃这些记录只会让对应的写入被跳过
+                    pending.clear();
+                }
+                pending.put(key, generation.get());
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return deserialize(entry.value());
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        // MyBatis 在事务回滚时对未命中的键调用，这里只需撤销未命中记录
+        pending.remove(key);
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        flushes.increment();
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 当前统计
+     */
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new Stats(id, getSize(), size, ttlMillis / 1000, hitCount, missCount,
+                total == 0 ? 0 : (double) hitCount / total, expirations.sum(), evictions.sum(),
+                stalePuts.sum(), flushes.sum());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof MapperCache other && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new CacheException("Error serializing object: " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] value) {
+        try (ObjectInputStream in = new EntityObjectInputStream(new ByteArrayInputStream(value))) {
+            in.setObjectInputFilter(FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException("Error deserializing cached object", e);
+        }
+    }
+
+    /**
+     * 通过 MyBatis 的类加载器解析类名，与 devtools 等隔离的类加载器兼容
+     */
+    private static final class EntityObjectInputStream extends ObjectInputStream {
+
+        EntityObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Resources.classForName(desc.getName());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.heading.anchor.IdGenerator;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.HardLineBreak;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Image;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown 渲染器
+ *
+ * <p>
+ * 在文章写入时把 Markdown 渲染为 HTML，并为标题生成锚点 ID 与目录（一到三级标题），读取时直接返回结果，
+ * 浏览器无需再加载 Markdown 解析器。渲染规则与前端 markdown-it 的配置保持一致：允许内嵌 HTML、自动识别链接、
+ * 支持 GFM 表格与删除线；代码块输出 {@code language-xxx} 类名，由前端按需高亮。
+ * </p>
+ * <p>
+ * 同一次解析还提取纯文本摘录、字数、字符数与预计阅读时长，供列表页直接展示，列表查询不必再返回正文。
+ * </p>
+ * <p>
+ * 修改渲染规则（扩展、标题 ID 规则等）时必须递增 {@link #VERSION}，后台任务会据此重新渲染已有文章。
+ * </p>
+ */
+@Component
+public class MarkdownRenderer {
+
+    /** 渲染规则版本，库中 render_version 低于此值的文章会被重新渲染 */
+    public static final int VERSION = 2;
+
+    /** 进入目录的最大标题级别 */
+    private static final int TOC_MAX_LEVEL = 3;
+
+    /** 摘录最大长度（字符） */
+    private static final int EXCERPT_LENGTH = 200;
+
+    /** 中日韩文字每分钟阅读字数 */
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+
+    /** 其他语言每分钟阅读词数 */
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create(),
+            AutolinkExtension.create());
+
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+
+    private final ObjectMapper objectMapper;
+
+    public MarkdownRenderer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 渲染结果
+     *
+     * @param html           渲染后的 HTML
+     * @param tocJson        目录 JSON 数组，元素为 {@code {"id","text","level"}}
+     * @param excerpt        纯文本摘录，取自正文段落，不含标题、代码块与图片
+     * @param wordCount      字数，中日韩文字按字计，其他语言按词计
+     * @param charCount      字符数，不含空白
+     * @param readingMinutes 预计阅读分钟数，正文为空时为 0
+     */
+    public record Rendered(String html, String tocJson, String excerpt, int wordCount, int charCount,
+                           int readingMinutes) {
+
+        /**
+         * 把渲染结果与当前渲染版本写入文章
+         *
+         * @param post 文章
+         */
+        public void applyTo(Post post) {
+            post.setContentHtml(html);
+            post.setToc(tocJson);
+            post.setExcerpt(excerpt);
+            post.setWordCount(wordCount);
+            post.setCharCount(charCount);
+            post.setReadingMinutes(readingMinutes);
+            post.setRenderVersion(VERSION);
+        }
+    }
+
+    /**
+     * 目录项
+     */
+    public record TocItem(String id, String text, int level) {
+    }
+
+    /**
+     * 渲染 Markdown
+     *
+     * @param markdown Markdown 原文
+     * @return 渲染结果
+     */
+    public Rendered render(String markdown) {
+        Node document = parser.parse(markdown == null ? "" : markdown);
+
+        // 先按文档顺序为所有标题生成唯一 ID，同名标题自动追加序号
+        IdGenerator idGenerator = IdGenerator.builder().defaultId("heading").build();
+        Map<Node, String> headingIds = new IdentityHashMap<>();
+        List<TocItem> toc = new ArrayList<>();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = textOf(heading);
+                String id = idGenerator.generateId(text);
+                headingIds.put(heading, id);
+                if (heading.getLevel() <= TOC_MAX_LEVEL) {
+                    toc.add(new TocItem(id, text, heading.getLevel()));
+                }
+            }
+        });
+
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String id = headingIds.get(node);
+                    if (id != null) {
+                        attributes.put("id", id);
+                    }
+                })
+                .build();
+
+        TextCollector text = new TextCollector();
+        document.accept(text);
+        TextStats stats = TextStats.of(normalize(text.all));
+
+        try {
+            return new Rendered(renderer.render(document), objectMapper.writeValueAsString(toc),
+                    excerpt(normalize(text.prose)), stats.words(), stats.chars(), stats.readingMinutes());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("目录序列化失败", e);
+        }
+    }
+
+    /**
+     * 提取标题的纯文本
+     */
+    private static String textOf(Node node) {
+        StringBuilder text = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text textNode) {
+                text.append(textNode.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                text.append(code.getLiteral());
+            }
+        });
+        return text.toString().trim();
+    }
+
+    /**
+     * 合并连续空白
+     */
+    private static String normalize(CharSequence text) {
+        return text.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * 截取摘录，按码点截断，超长时追加省略号
+     */
+    private static String excerpt(String prose) {
+        if (prose.codePointCount(0, prose.length()) <= EXCERPT_LENGTH) {
+            return prose;
+        }
+        return prose.substring(0, prose.offsetByCodePoints(0, EXCERPT_LENGTH)).trim() + "…";
+    }
+
+    /**
+     * 收集可阅读的纯文本：段落文本进入摘录，段落、标题、表格与代码块文本都计入字数
+     */
+    private static final class TextCollector extends AbstractVisitor {
+
+        private final StringBuilder prose = new StringBuilder();
+        private final StringBuilder all = new StringBuilder();
+        private int paragraphDepth;
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            paragraphDepth++;
+            visitChildren(paragraph);
+            paragraphDepth--;
+            append(" ");
+        }
+
+        @Override
+        public void visit(Heading heading) {
+            visitChildren(heading);
+            all.append(' ');
+        }
+
+        @Override
+        public void visit(Text text) {
+            append(text.getLiteral());
+        }
+
+        @Override
+        public void visit(Code code) {
+            append(code.getLiteral());
+        }
+
+        @Override
+        public void visit(SoftLineBreak softLineBreak) {
+            append(" ");
+        }
+
+        @Override
+        public void visit(HardLineBreak hardLineBreak) {
+            append(" ");
+        }
+
+        @Override
+        public void visit(Image image) {
+            // 图片的替代文本不属于正文
+        }
+
+        @Override
+        public void visit(FencedCodeBlock codeBlock) {
+            all.append(codeBlock.getLiteral()).append(' ');
+        }
+
+        @Override
+        public void visit(IndentedCodeBlock codeBlock) {
+            all.append(codeBlock.getLiteral()).append(' ');
+        }
+
+        private void append(String literal) {
+            all.append(literal);
+            // 摘录只需要开头一段，收集到足够长度后不再追加
+            if (paragraphDepth > 0 && prose.length() <= EXCERPT_LENGTH * 2) {
+                prose.append(literal);
+            }
+        }
+    }
+
+    /**
+     * 文本统计
+     */
+    private record TextStats(int words, int chars, int readingMinutes) {
+
+        static TextStats of(String text) {
+            int cjk = 0;
+            int otherWords = 0;
+            int chars = 0;
+            boolean inWord = false;
+            for (int i = 0; i < text.length(); ) {
+                int cp = text.codePointAt(i);
+                i += Character.charCount(cp);
+                if (Character.isWhitespace(cp)) {
+                    inWord = false;
+                    continue;
+                }
+                chars++;
+                if (isCjk(cp)) {
+                    cjk++;
+                    inWord = false;
+                } else if (Character.isLetterOrDigit(cp)) {
+                    if (!inWord) {
+                        otherWords++;
+                    }
+                    inWord = true;
+                } else {
+                    inWord = false;
+                }
+            }
+            int minutes = chars == 0 ? 0
+                    : Math.max(1, (int) Math.ceil((double) cjk / CJK_CHARS_PER_MINUTE
+                            + (double) otherWords / WORDS_PER_MINUTE));
+            return new TextStats(cjk + otherWords, chars, minutes);
+        }
+
+        private static boolean isCjk(int cp) {
+            Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+            return script == Character.UnicodeScript.HAN
+                    || script == Character.UnicodeScript.HIRAGANA
+                    || script == Character.UnicodeScript.KATAKANA
+                    || script == Character.UnicodeScript.HANGUL;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.Post;
+import com.example.blog.mapper.PostMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文章重新渲染任务
+ *
+ * <p>
+ * 查找 render_version 低于 {@link MarkdownRenderer#VERSION} 的文章（包括升级前没有 HTML、摘录与字数的旧文章），
+ * 按 ID 顺序分批重新渲染。进度完全由 render_version 记录，任务中断或应用重启后从剩余的文章继续；
+ * 写回时只覆盖仍低于目标版本的行，不会覆盖期间被作者编辑过的文章。
+ * </p>
+ * <p>
+ * 任务运行在共用的调度线程池上，升级或批量导入后的补齐可能涉及大量文章，因此每轮最多运行 time-budget-ms，
+ * 用完后让出调度线程，pause-ms 后从上次停下的文章继续，令牌吊销同步、登录时间写回等任务不会被长时间阻塞。
+ * 同一时间只有一轮在运行。
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "markdown.rerender", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PostRenderJob {
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${markdown.rerender.batch-size:100}")
+    private int batchSize;
+
+    @Value("${markdown.rerender.time-budget-ms:5000}")
+    private long timeBudgetMillis;
+
+    @Value("${markdown.rerender.pause-ms:1000}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 重新渲染所有过期的文章
+     */
+    @Scheduled(initialDelayString = "${markdown.rerender.initial-delay-ms:10000}",
+            fixedDelayString = "${markdown.rerender.interval-ms:3600000}")
+    public void run() {
+        renderFrom(0);
+    }
+
+    /**
+     * 立即在调度线程池上开始一轮（批量导入完成后调用）
+     */
+    public void trigger() {
+        taskScheduler.schedule(this::run, Instant.now());
+    }
+
+    private void renderFrom(long startAfterId) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000;
+        long afterId = startAfterId;
+        int rendered = 0;
+        boolean exhausted = false;
+        try {
+            List<Post> batch;
+            do {
+                batch = postMapper.findStaleRendered(MarkdownRenderer.VERSION, afterId, batchSize);
+                for (Post post : batch) {
+                    Post update = new Post();
+                    update.setId(post.getId());
+                    markdownRenderer.render(post.getContent()).applyTo(update);
+                    rendered += postMapper.updateRendered(update);
+                    afterId = post.getId();
+                }
+                exhausted = batch.size() == batchSize && System.nanoTime() > deadline;
+            } while (batch.size() == batchSize && !exhausted);
+        } catch (RuntimeException e) {
+            log.warn("重新渲染文章中断，已完成 {} 篇，剩余文章在下次运行时继续处理", rendered, e);
+            return;
+        } finally {
+            running.set(false);
+        }
+        if (rendered > 0) {
+            log.info("已按渲染版本 {} 重新渲染 {} 篇文章{}", MarkdownRenderer.VERSION, rendered,
+                    exhausted ? "，本轮时间用完，稍后继续" : "");
+        }
+        if (exhausted) {
+            long resumeAfterId = afterId;
+            taskScheduler.schedule(() -> renderFrom(resumeAfterId), Instant.now().plusMillis(pauseMillis));
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.blog.util;
+
+import com.example.blog.event.ContentChangedEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 公开接口响应缓存
+ *
+ * <p>
+ * 按“路由 + 规范化查询参数”缓存已经序列化好的 JSON 字节及其 gzip 压缩结果，命中时不查库、不序列化、不压缩。
+ * 每个条目带若干失效标签（如 {@code posts}、{@code comments:12}），收到 {@link ContentChangedEvent}
+ * 时按标签失效；标签各带一个代数计数器，加载期间标签被失效过的结果不会写入缓存。
+ * 浏览量、点赞数等计数器变化不触发失效，由 TTL 兜底。
+ * </p>
+ * <p>
+ * 缓存按条目数与总字节数（原始字节加 gzip 字节）双重限制，超出时淘汰最久未访问的条目，
+ * 大量一次性请求只会挤掉彼此，首页等热点条目仍保留在缓存中。
+ * </p>
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    /** 文章公开列表 */
+    public static final String TAG_POSTS = "posts";
+
+    /** 单篇文章评论列表的标签前缀 */
+    public static final String TAG_COMMENTS_PREFIX = "comments:";
+
+    /** 小于该长度的响应不值得压缩，与 server.compression.min-response-size 一致 */
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    @Value("${response-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${response-cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${response-cache.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    @Value("${response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    /** 按访问顺序排列，读写都在该对象上同步 */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** 全部条目的原始字节与 gzip 字节之和 */
+    private long totalBytes;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 缓存条目：原始字节与 gzip 字节（响应过小时为 null）
+     */
+    @Getter
+    public static final class Entry {
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final String contentType;
+        private final Set<String> tags;
+        private final long expiresAt;
+
+        Entry(byte[] body, byte[] gzipBody, String contentType, Set<String> tags, long expiresAt) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.contentType = contentType;
+            this.tags = tags;
+            this.expiresAt = expiresAt;
+        }
+
+        private long weight() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0);
+        }
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param key 规范化后的请求键
+     * @return 未过期的条目，未命中返回 null
+     */
+    public Entry get(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                remove(key);
+                entry = null;
+            }
+        }
+        (entry != null ? hits : misses).incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * 在加载前记录各标签的代数，写入时据此判断加载期间是否发生过失效
+     *
+     * @param tags 条目的失效标签
+     * @return 代数快照
+     */
+    public long[] generations(List<String> tags) {
+        long[] snapshot = new long[tags.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = generation(tags.get(i)).get();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key         规范化后的请求键
+     * @param tags        失效标签
+     * @param snapshot    加载前的代数快照
+     * @param body        响应字节
+     * @param contentType 响应类型
+     */
+    public void put(String key, List<String> tags, long[] snapshot, byte[] body, String contentType) {
+        if (body.length > maxBodyBytes || !unchanged(tags, snapshot)) {
+            return;
+        }
+
+        Entry entry = new Entry(body, body.length >= GZIP_MIN_BYTES ? gzip(body) : null, contentType,
+                Set.copyOf(tags), System.currentTimeMillis() + ttlSeconds * 1000);
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, entry);
+            totalBytes += entry.weight();
+            // 淘汰最久未访问的条目，直到条目数与总字节数都回到上限以内
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().weight();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+            // 与 evict 交错时再校验一次，确保不会留下失效前加载的数据
+            if (!unchanged(tags, snapshot) && entries.get(key) == entry) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * 按标签失效
+     *
+     * @param tag 失效标签
+     */
+    public void evict(String tag) {
+        generation(tag).incrementAndGet();
+        removeIf(entry -> entry.tags.contains(tag));
+    }
+
+    /**
+     * 内容变更后失效受影响的响应
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        // 批量导入以文章事件发布；导入的评论只属于新文章，没有已缓存的评论列表
+        List<String> tags = new ArrayList<>();
+        switch (event.getContentType()) {
+            // 文章列表中带有标签名和分类名
+            case POST, TAG, CATEGORY -> tags.add(TAG_POSTS);
+            case COMMENT -> tags.add(TAG_COMMENTS_PREFIX + event.getPostId());
+        }
+        tags.forEach(this::evict);
+        log.debug("响应缓存失效 {}：{}", event, tags);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        removeIf(entry -> true);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 全部条目占用的字节数（原始字节加 gzip 字节）
+     */
+    public long bytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private boolean unchanged(List<String> tags, long[] snapshot) {
+        for (int i = 0; i < snapshot.length; i++) {
+            if (generation(tags.get(i)).get() != snapshot[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicLong generation(String tag) {
+        return generations.computeIfAbsent(tag, key -> new AtomicLong());
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.weight();
+        }
+    }
+
+    private void removeIf(Predicate<Entry> condition) {
+        synchronized (entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (condition.test(entry)) {
+                    totalBytes -= entry.weight();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("压缩响应失败", e);
+        }
+        return out.toByteArray();
+    }
+}
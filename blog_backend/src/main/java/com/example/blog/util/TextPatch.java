@@ -0,0 +1,120 @@
+package com.example.blog.util;
+
+import java.util.List;
+
+/**
+ * 文本编辑操作
+ *
+ * <p>
+ * 一次编辑把基准文本中 {@code [start, end)} 区间替换为 {@code text}，偏移量按 UTF-16 码元计，
+ * 与浏览器中字符串的下标一致。一组编辑的区间都以基准文本为准，必须按起点升序排列且互不重叠。
+ * 区间端点不能落在代理对中间，替换文本不能包含不成对的代理字符，否则保存下来的正文不再是合法的 UTF-16。
+ * </p>
+ */
+public final class TextPatch {
+
+    private TextPatch() {
+    }
+
+    /**
+     * 单个编辑操作
+     *
+     * @param start 替换区间起点（含）
+     * @param end   替换区间终点（不含）
+     * @param text  替换后的文本，纯删除时为空串
+     */
+    public record Edit(int start, int end, String text) {
+    }
+
+    /**
+     * 在基准文本上应用一组编辑
+     *
+     * @param base  基准文本
+     * @param edits 编辑操作
+     * @return 编辑后的文本
+     * @throws IllegalArgumentException 区间越界、重叠、未按升序排列、切分代理对，或替换文本包含不成对的代理字符
+     */
+    public static String apply(String base, List<Edit> edits) {
+        int delta = 0;
+        for (Edit edit : edits) {
+            delta += length(edit.text()) - (edit.end() - edit.start());
+        }
+        StringBuilder result = new StringBuilder(Math.max(0, base.length() + delta));
+        int position = 0;
+        for (Edit edit : edits) {
+            if (edit.start() < position || edit.end() < edit.start() || edit.end() > base.length()) {
+                throw new IllegalArgumentException("编辑区间无效: [" + edit.start() + ", " + edit.end() + ")");
+            }
+            if (splitsSurrogatePair(base, edit.start()) || splitsSurrogatePair(base, edit.end())) {
+                throw new IllegalArgumentException("编辑区间切分了代理对: [" + edit.start() + ", " + edit.end() + ")");
+            }
+            if (edit.text() != null && !isWellFormed(edit.text())) {
+                throw new IllegalArgumentException("编辑文本包含不成对的代理字符: [" + edit.start() + ", " + edit.end() + ")");
+            }
+            result.append(base, position, edit.start());
+            if (edit.text() != null) {
+                result.append(edit.text());
+            }
+            position = edit.end();
+        }
+        result.append(base, position, base.length());
+        return result.toString();
+    }
+
+    /**
+     * 计算把 from 变为 to 的单个编辑：去掉公共前缀和后缀，替换中间部分
+     *
+     * <p>编辑器自动保存的两次内容之间通常只有一处连续修改，单个编辑即可表示。</p>
+     *
+     * @param from 原文本
+     * @param to   新文本
+     * @return 编辑操作，两者相同时为空列表
+     */
+    public static List<Edit> diff(String from, String to) {
+        int max = Math.min(from.length(), to.length());
+        int prefix = 0;
+        while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == from.length() && prefix == to.length()) {
+            return List.of();
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        // 不在代理对中间切分，保证编辑文本是合法的 UTF-16
+        if (prefix > 0 && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+            prefix--;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(from.charAt(from.length() - suffix))) {
+            suffix--;
+        }
+        return List.of(new Edit(prefix, from.length() - suffix, to.substring(prefix, to.length() - suffix)));
+    }
+
+    private static boolean splitsSurrogatePair(String text, int index) {
+        return index > 0 && index < text.length()
+                && Character.isHighSurrogate(text.charAt(index - 1)) && Character.isLowSurrogate(text.charAt(index));
+    }
+
+    private static boolean isWellFormed(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 == text.length() || !Character.isLowSurrogate(text.charAt(i + 1))) {
+                    return false;
+                }
+                i++;
+            } else if (Character.isLowSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.UserTokenVersion;
+import com.example.blog.mapper.UserTokenVersionMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 令牌版本存储
+ *
+ * <p>
+ * 每个用户一个递增的令牌版本号，签发 JWT 时写入 {@code ver} 声明，版本低于当前值的令牌视为已吊销。
+ * 登出、修改密码、变更角色、删除用户时把版本加一，该用户此前签发的全部令牌随即失效。
+ * 刷新令牌轮换同样把版本加一（{@link #rotate}），每个刷新令牌只能使用一次，无需为每个令牌保存状态；
+ * 代价是同一用户同一时间只有一条有效的令牌链，在一处刷新后其他设备需要重新登录。
+ * </p>
+ * <p>
+ * 版本号常驻内存，过滤器校验只是一次 Map 查找，不访问数据库；只有吊销与刷新写库，登录不写库。
+ * 只有吊销过令牌的用户才有记录，表和内存都很小。启动后及之后每隔一段时间从 user_token_version 表重新加载，
+ * 多实例部署时其他实例的吊销最迟在一个刷新间隔后生效。
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenVersionStore {
+
+    @Autowired
+    private UserTokenVersionMapper userTokenVersionMapper;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 获取用户当前的令牌版本，未吊销过的用户为 0
+     *
+     * @param userId 用户ID
+     * @return 当前版本
+     */
+    public int current(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * 判断令牌版本是否仍然有效
+     *
+     * @param userId  用户ID
+     * @param version 令牌中的版本
+     * @return 未被吊销返回 true
+     */
+    public boolean isValid(Long userId, int version) {
+        return version >= current(userId);
+    }
+
+    /**
+     * 吊销用户当前所有令牌
+     *
+     * @param userId 用户ID
+     * @return 吊销后的新版本
+     */
+    public int revoke(Long userId) {
+        userTokenVersionMapper.increment(userId);
+        Integer version = userTokenVersionMapper.findVersionByUserId(userId);
+        return versions.merge(userId, version, Math::max);
+    }
+
+    /**
+     * 轮换刷新令牌：用户版本仍为 expected 时原子地加一，expected 版本的令牌随即失效
+     *
+     * <p>比较并加一在数据库中完成，多实例部署时同一刷新令牌也只能成功使用一次。</p>
+     *
+     * @param userId   用户ID
+     * @param expected 刷新令牌中的版本
+     * @return 新版本；版本已被其他请求改变（令牌已被使用或已吊销）时返回 -1
+     */
+    public int rotate(Long userId, int expected) {
+        boolean rotated = userTokenVersionMapper.rotate(userId, expected) == 1;
+        if (!rotated && expected == 0) {
+            try {
+                rotated = userTokenVersionMapper.insertFirst(userId) == 1;
+            } catch (DuplicateKeyException e) {
+                rotated = false;
+            }
+        }
+        if (!rotated) {
+            return -1;
+        }
+        versions.merge(userId, expected + 1, Math::max);
+        return expected + 1;
+    }
+
+    /**
+     * 从数据库重新加载所有版本号
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${token-revocation.refresh-interval-ms:30000}")
+    public void reload() {
+        try {
+            for (UserTokenVersion row : userTokenVersionMapper.findAll()) {
+                versions.merge(row.getUserId(), row.getVersion(), Math::max);
+            }
+        } catch (RuntimeException e) {
+            log.warn("加载令牌版本失败，沿用内存中的版本号", e);
+        }
+    }
+}
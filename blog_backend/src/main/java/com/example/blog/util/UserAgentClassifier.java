@@ -0,0 +1,37 @@
+package com.example.blog.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * User-Agent 分类
+ *
+ * <p>
+ * 只区分“浏览器”与“自动化客户端”，用于判断一次访问是否应计入浏览量。
+ * 浏览器的 User-Agent 都以 {@code Mozilla/} 开头，不是这个前缀的（curl、脚本、HTTP 客户端库）直接视为自动化客户端；
+ * 搜索引擎、链接预览、无头浏览器等会伪装成 Mozilla，再按常见关键字识别。
+ * </p>
+ */
+public final class UserAgentClassifier {
+
+    private static final Pattern AUTOMATED = Pattern.compile(
+            "bot|crawl|spider|slurp|archiver|headless|lighthouse|pagespeed|preview|prerender"
+                    + "|facebookexternalhit|embedly|feedfetcher|phantomjs|puppeteer|playwright|selenium"
+                    + "|pingdom|uptime|monitor",
+            Pattern.CASE_INSENSITIVE);
+
+    private UserAgentClassifier() {
+    }
+
+    /**
+     * 是否为自动化客户端
+     *
+     * @param userAgent User-Agent 请求头，可为 null
+     * @return 缺失、非浏览器或命中爬虫关键字时返回 true
+     */
+    public static boolean isAutomated(String userAgent) {
+        if (userAgent == null || !userAgent.regionMatches(true, 0, "Mozilla/", 0, 8)) {
+            return true;
+        }
+        return AUTOMATED.matcher(userAgent).find();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.blog.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 浏览量计数过滤
+ *
+ * <p>
+ * 决定一次文章详情访问是否计入浏览量：预取请求与自动化客户端不计，同一访客在窗口期内重复访问同一篇文章只计一次。
+ * 访客以登录用户ID区分，匿名访客以 IP、User-Agent、Accept-Language 的哈希区分。
+ * 去重使用 {@link WindowedBloomFilter}，内存固定，重复访问既不写库也不占用额外内存；
+ * 布隆过滤器的误判只会让少量首次访问不被计数，不会重复计数。
+ * </p>
+ */
+@Slf4j
+@Component
+public class ViewCounter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @Value("${view-dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${view-dedup.window-minutes:30}")
+    private long windowMinutes;
+
+    @Value("${view-dedup.expected-views:1000000}")
+    private long expectedViews;
+
+    @Value("${view-dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private WindowedBloomFilter recentViews;
+
+    @PostConstruct
+    public void init() {
+        recentViews = new WindowedBloomFilter(expectedViews, falsePositiveRate, Duration.ofMinutes(windowMinutes));
+        log.info("浏览量去重窗口 {} 分钟，占用内存 {} KB", windowMinutes, recentViews.memoryBytes() / 1024);
+    }
+
+    /**
+     * 判断本次访问是否应计入浏览量
+     *
+     * @param request 当前请求
+     * @param userId  登录用户ID，匿名访问为 null
+     * @param postId  文章ID
+     * @return 应计数返回 true
+     */
+    public boolean shouldCount(HttpServletRequest request, Long userId, Long postId) {
+        if (!enabled) {
+            return true;
+        }
+        if (isPrefetch(request) || UserAgentClassifier.isAutomated(request.getHeader("User-Agent"))) {
+            return false;
+        }
+        long visitor = userId != null
+                ? WindowedBloomFilter.mix(userId)
+                : fnv(request.getRemoteAddr(), request.getHeader("User-Agent"), request.getHeader("Accept-Language"));
+        return recentViews.add(visitor * 31 + postId);
+    }
+
+    /**
+     * 浏览器预取、预渲染请求带有 Purpose / Sec-Purpose 请求头
+     */
+    private static boolean isPrefetch(HttpServletRequest request) {
+        String purpose = request.getHeader("Sec-Purpose");
+        if (purpose == null) {
+            purpose = request.getHeader("Purpose");
+        }
+        return purpose != null && purpose.toLowerCase().contains("prefetch");
+    }
+
+    /**
+     * FNV-1a 64 位哈希
+     */
+    private static long fnv(String... parts) {
+        long hash = FNV_OFFSET;
+        for (String part : parts) {
+            if (part != null) {
+                for (byte b : part.getBytes(StandardCharsets.UTF_8)) {
+                    hash ^= b & 0xff;
+                    hash *= FNV_PRIME;
+                }
+            }
+            // 分隔符，避免 ("ab", "c") 与 ("a", "bc") 得到相同结果
+            hash ^= 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
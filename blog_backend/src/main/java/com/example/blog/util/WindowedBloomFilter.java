@@ -0,0 +1,166 @@
+package com.example.blog.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 时间窗口布隆过滤器
+ *
+ * <p>
+ * 由“当前”和“上一代”两个位数组组成，每过一个窗口轮换一次：上一代被清空后成为新的当前代。
+ * 查询时两代任一命中即视为见过，因此一个键在加入后至少保留一个窗口、至多两个窗口。
+ * 位数组在构造时按预期插入量和误判率一次分配，之后不再增长，内存与流量无关；
+ * 超过预期插入量只会提高误判率（把新键当作见过），不会漏判已见过的键。
+ * </p>
+ * <p>
+ * 置位使用 CAS，读写都不加锁；只有轮换时短暂加锁。
+ * </p>
+ */
+public class WindowedBloomFilter {
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final long windowNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Object rotateLock = new Object();
+
+    private volatile Generation current;
+
+    private volatile Generation previous;
+
+    /**
+     * 创建过滤器
+     *
+     * @param expectedInsertions 每个窗口预期插入的键数
+     * @param falsePositiveRate  期望误判率
+     * @param window             窗口长度
+     */
+    public WindowedBloomFilter(long expectedInsertions, double falsePositiveRate, Duration window) {
+        this(expectedInsertions, falsePositiveRate, window, System::nanoTime);
+    }
+
+    WindowedBloomFilter(long expectedInsertions, double falsePositiveRate, Duration window, LongSupplier nanoClock) {
+        long n = Math.max(1, expectedInsertions);
+        // 经典公式：m = -n·ln(p) / (ln2)²，k = m/n·ln2，位数向上取整到 64 的倍数
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (bits + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.current = new Generation(bitCount, now);
+        this.previous = new Generation(bitCount, now);
+    }
+
+    /**
+     * 加入一个键
+     *
+     * @param key 键
+     * @return 窗口内第一次出现返回 true，已见过（或误判为见过）返回 false
+     */
+    public boolean add(long key) {
+        Generation cur = current(nanoClock.getAsLong());
+        Generation prev = previous;
+        long h1 = mix(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean seenBefore = true;
+        boolean newlySet = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if (!prev.get(index)) {
+                seenBefore = false;
+            }
+            // 上一代命中时也写入当前代，持续出现的键不会随轮换被遗忘
+            if (cur.set(index)) {
+                newlySet = true;
+            }
+        }
+        return !seenBefore && newlySet;
+    }
+
+    /**
+     * 两代位数组占用的字节数
+     */
+    public long memoryBytes() {
+        return bitCount / 8 * 2;
+    }
+
+    private Generation current(long now) {
+        Generation cur = current;
+        if (now - cur.startNanos < windowNanos) {
+            return cur;
+        }
+        synchronized (rotateLock) {
+            cur = current;
+            if (now - cur.startNanos >= windowNanos) {
+                Generation recycled = previous;
+                previous = cur;
+                recycled.clear(now);
+                current = recycled;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * MurmurHash3 的 64 位混合函数
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 一代位数组
+     */
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+
+        private volatile long startNanos;
+
+        Generation(long bits, long startNanos) {
+            this.words = new AtomicLongArray((int) (bits / 64));
+            this.startNanos = startNanos;
+        }
+
+        boolean get(long index) {
+            return (words.get((int) (index >>> 6)) & (1L << index)) != 0;
+        }
+
+        /**
+         * 置位
+         *
+         * @return 该位原来为 0 返回 true
+         */
+        boolean set(long index) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long old = words.get(word);
+            while ((old & mask) == 0) {
+                long witness = words.compareAndExchange(word, old, old | mask);
+                if (witness == old) {
+                    return true;
+                }
+                old = witness;
+            }
+            return false;
+        }
+
+        void clear(long now) {
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, 0);
+            }
+            startNanos = now;
+        }
+    }
+}
@@ -127,6 +127,27 @@ CREATE TABLE IF NOT EXISTS `post` (
   -- 文章内容，使用LONGTEXT存储大量文本
   `content` LONGTEXT NOT NULL COMMENT '文章内容',
   
+  -- 服务端渲染的HTML，写入文章时生成
+  `content_html` LONGTEXT DEFAULT NULL COMMENT '渲染后的HTML',
+  
+  -- 标题目录，JSON数组
+  `toc` TEXT DEFAULT NULL COMMENT '文章目录',
+  
+  -- 从正文提取的纯文本摘录，列表页展示用
+  `excerpt` VARCHAR(500) DEFAULT NULL COMMENT '正文摘录',
+  
+  -- 字数：中日韩文字按字计，其他语言按词计
+  `word_count` INT NOT NULL DEFAULT 0 COMMENT '字数',
+  
+  -- 字符数，不含空白
+  `char_count` INT NOT NULL DEFAULT 0 COMMENT '字符数',
+  
+  -- 预计阅读时长（分钟）
+  `reading_minutes` INT NOT NULL DEFAULT 0 COMMENT '阅读时长（分钟）',
+  
+  -- 渲染规则版本，低于当前版本的文章由后台任务重新渲染
+  `render_version` INT NOT NULL DEFAULT 0 COMMENT '渲染版本',
+  
   -- 封面图片URL，可为空
   `cover_image` VARCHAR(255) DEFAULT NULL COMMENT '封面图片URL',
   
@@ -157,6 +178,9 @@ CREATE TABLE IF NOT EXISTS `post` (
   -- 发布时间，可为空
   `published_time` DATETIME DEFAULT NULL COMMENT '发布时间',
   
+  -- 定时发布时间，只有等待定时发布的文章不为空，发布后清空
+  `scheduled_time` DATETIME DEFAULT NULL COMMENT '定时发布时间',
+  
   -- 创建时间，自动设置为当前时间
   `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   
@@ -184,6 +208,9 @@ CREATE TABLE IF NOT EXISTS `post` (
   -- 设置发布时间索引，便于按发布时间查询
   KEY `idx_published_time` (`published_time`),
   
+  -- 设置定时发布时间索引，启动时只按索引读取等待发布的文章
+  KEY `idx_scheduled_time` (`scheduled_time`),
+  
   -- 设置置顶索引，便于查询置顶文章
   KEY `idx_is_top` (`is_top`),
   
@@ -293,6 +320,63 @@ CREATE TABLE IF NOT EXISTS `comment` (
   CONSTRAINT `fk_comment_parent` FOREIGN KEY (`parent_id`) REFERENCES `comment` (`id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='评论表';
 
+-- ====================
+-- 用户令牌版本表 (user_token_version)
+-- 记录每个用户当前的令牌版本，版本低于此值的 JWT 视为已吊销
+-- ====================
+CREATE TABLE IF NOT EXISTS `user_token_version` (
+  -- 用户ID，主键
+  `user_id` BIGINT NOT NULL COMMENT '用户ID',
+  
+  -- 令牌版本，登出、修改密码、变更角色时加一
+  `version` INT NOT NULL DEFAULT 0 COMMENT '令牌版本',
+  
+  -- 更新时间，自动更新为当前时间
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  
+  -- 设置主键
+  PRIMARY KEY (`user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户令牌版本表';
+
+-- ====================
+-- 文章修订历史表 (post_revision)
+-- 自动保存的草稿只追加不修改：定期保存完整内容快照，其余修订只保存相对上一修订的编辑操作
+-- ====================
+CREATE TABLE IF NOT EXISTS `post_revision` (
+  -- 主键ID，自增
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  
+  -- 文章ID，关联post表
+  `post_id` BIGINT NOT NULL COMMENT '文章ID',
+  
+  -- 修订号，每篇文章从1开始连续递增，0表示文章表中已保存的正文
+  `revision` INT NOT NULL COMMENT '修订号',
+  
+  -- 是否完整快照：1时body为完整正文，0时body为相对上一修订的编辑操作(JSON)
+  `snapshot` TINYINT NOT NULL DEFAULT 0 COMMENT '是否完整快照：0否，1是',
+  
+  -- 完整正文或编辑操作
+  `body` MEDIUMTEXT NOT NULL COMMENT '完整正文或编辑操作',
+  
+  -- 该修订的正文长度，用于校验与列表展示
+  `content_length` INT NOT NULL DEFAULT 0 COMMENT '正文长度',
+  
+  -- 保存者ID
+  `author_id` BIGINT NOT NULL COMMENT '保存者ID',
+  
+  -- 创建时间，自动设置为当前时间
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  
+  -- 设置主键
+  PRIMARY KEY (`id`),
+  
+  -- 设置文章ID和修订号的联合唯一索引，并发保存同一基准修订时只有一个成功
+  UNIQUE KEY `uk_post_revision` (`post_id`, `revision`),
+  
+  -- 设置外键约束：删除文章时级联删除修订历史
+  CONSTRAINT `fk_post_revision_post` FOREIGN KEY (`post_id`) REFERENCES `post` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订历史表';
+
 -- ====================
 -- 插入初始数据
 -- ====================
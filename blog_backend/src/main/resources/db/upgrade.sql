@@ -0,0 +1,62 @@
+-- ====================
+-- 已有数据库升级脚本
+-- 新部署直接执行 init.sql 即可；已有数据库按顺序执行尚未执行过的小节
+-- ====================
+
+-- ====================
+-- 用户令牌版本表 (user_token_version)
+-- ====================
+CREATE TABLE IF NOT EXISTS `user_token_version` (
+  `user_id` BIGINT NOT NULL COMMENT '用户ID',
+  `version` INT NOT NULL DEFAULT 0 COMMENT '令牌版本',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户令牌版本表';
+
+-- ====================
+-- 文章服务端渲染字段
+-- 执行后旧文章的 render_version 为 0，应用启动后由后台任务分批渲染
+-- ====================
+ALTER TABLE `post`
+  ADD COLUMN `content_html` LONGTEXT DEFAULT NULL COMMENT '渲染后的HTML' AFTER `content`,
+  ADD COLUMN `toc` TEXT DEFAULT NULL COMMENT '文章目录' AFTER `content_html`,
+  ADD COLUMN `render_version` INT NOT NULL DEFAULT 0 COMMENT '渲染版本' AFTER `toc`;
+
+
+-- ====================
+-- 文章摘录与阅读时长字段
+-- 渲染版本随之升级，已有文章由后台任务按 ID 分批补齐
+-- ====================
+ALTER TABLE `post`
+  ADD COLUMN `excerpt` VARCHAR(500) DEFAULT NULL COMMENT '正文摘录' AFTER `toc`,
+  ADD COLUMN `word_count` INT NOT NULL DEFAULT 0 COMMENT '字数' AFTER `excerpt`,
+  ADD COLUMN `char_count` INT NOT NULL DEFAULT 0 COMMENT '字符数' AFTER `word_count`,
+  ADD COLUMN `reading_minutes` INT NOT NULL DEFAULT 0 COMMENT '阅读时长（分钟）' AFTER `char_count`;
+
+
+-- ====================
+-- 文章修订历史表 (post_revision)
+-- 草稿自动保存只追加修订，不再改写文章表的正文
+-- ====================
+CREATE TABLE IF NOT EXISTS `post_revision` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `post_id` BIGINT NOT NULL COMMENT '文章ID',
+  `revision` INT NOT NULL COMMENT '修订号',
+  `snapshot` TINYINT NOT NULL DEFAULT 0 COMMENT '是否完整快照：0否，1是',
+  `body` MEDIUMTEXT NOT NULL COMMENT '完整正文或编辑操作',
+  `content_length` INT NOT NULL DEFAULT 0 COMMENT '正文长度',
+  `author_id` BIGINT NOT NULL COMMENT '保存者ID',
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_post_revision` (`post_id`, `revision`),
+  CONSTRAINT `fk_post_revision_post` FOREIGN KEY (`post_id`) REFERENCES `post` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订历史表';
+
+
+-- ====================
+-- 文章定时发布字段
+-- 只有等待定时发布的文章不为空，应用启动时按索引读取
+-- ====================
+ALTER TABLE `post`
+  ADD COLUMN `scheduled_time` DATETIME DEFAULT NULL COMMENT '定时发布时间' AFTER `published_time`,
+  ADD KEY `idx_scheduled_time` (`scheduled_time`);
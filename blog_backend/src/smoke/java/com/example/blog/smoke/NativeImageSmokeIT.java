@@ -0,0 +1,183 @@
+package com.example.blog.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 原生镜像冒烟测试
+ *
+ * <p>
+ * 启动 {@code mvn -Pnative package} 生成的可执行文件（系统属性 {@code smoke.executable}），
+ * 调用覆盖各类可达性元数据的接口：MyBatis Mapper 代理与 XML 结果映射、Lombok 实体的 JSON 序列化、
+ * jjwt 签发与解析令牌、参数校验、springdoc 接口文档。
+ * 可执行文件继承当前进程的环境变量（数据库、JWT_SECRET 等与生产环境相同），以 prod 配置在空闲端口启动。
+ * 设置 {@code smoke.base-url} 时不启动进程，直接测试已运行的实例，例如 {@code http://host:8080/api}。
+ * 只读取数据和登录，不写入业务数据。
+ * </p>
+ */
+public class NativeImageSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static Process process;
+
+    private static String baseUrl;
+
+    @BeforeAll
+    public static void start() throws Exception {
+        baseUrl = System.getProperty("smoke.base-url", "");
+        if (!baseUrl.isEmpty()) {
+            waitUntilHealthy(System.nanoTime());
+            return;
+        }
+
+        File executable = new File(System.getProperty("smoke.executable", "target/blog"));
+        assertTrue(executable.canExecute(), "找不到原生可执行文件 " + executable + "，先执行 mvn -Pnative package");
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Path workDir = Files.createDirectories(Path.of("target", "smoke"));
+        baseUrl = "http://localhost:" + port + "/api";
+
+        long startNanos = System.nanoTime();
+        process = new ProcessBuilder(executable.getAbsolutePath(),
+                "--spring.profiles.active=prod", "--server.port=" + port)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("blog.out").toFile())
+                .start();
+        waitUntilHealthy(startNanos);
+        System.out.printf("原生镜像就绪耗时 %d ms，常驻内存 %s%n",
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis(), residentMemory(process.pid()));
+    }
+
+    @AfterAll
+    public static void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    @Test
+    public void listsPublishedPostsThroughMapperXml() throws Exception {
+        JsonNode data = success(get("/posts?page=1&size=5", null));
+        assertTrue(data.path("records").isArray());
+        assertTrue(data.path("total").isNumber());
+
+        assertTrue(success(get("/categories", null)).isArray());
+        assertTrue(success(get("/tags", null)).isArray());
+    }
+
+    @Test
+    public void issuesAndVerifiesJwt() throws Exception {
+        String username = System.getProperty("smoke.username", "admin");
+        String password = System.getProperty("smoke.password", "admin123");
+        JsonNode login = success(post("/auth/login", Map.of("username", username, "password", password)));
+        String token = login.path("token").asText();
+        assertFalse(token.isEmpty());
+
+        JsonNode me = success(get("/auth/me", token));
+        assertEquals(username, me.path("username").asText());
+    }
+
+    @Test
+    public void rejectsInvalidRequestBody() throws Exception {
+        HttpResponse<String> response = post("/auth/login", Map.of("username", ""));
+        assertEquals(400, response.statusCode());
+        assertEquals(1001, MAPPER.readTree(response.body()).path("code").asInt());
+    }
+
+    @Test
+    public void servesOpenApiDocument() throws Exception {
+        HttpResponse<String> response = get("/v3/api-docs", null);
+        assertEquals(200, response.statusCode());
+        JsonNode document = MAPPER.readTree(response.body());
+        assertEquals("博客系统 API", document.path("info").path("title").asText());
+        assertTrue(document.path("paths").has("/posts"));
+    }
+
+    private static JsonNode success(HttpResponse<String> response) throws IOException {
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode body = MAPPER.readTree(response.body());
+        assertEquals(200, body.path("code").asInt(), response.body());
+        return body.path("data");
+    }
+
+    private static HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String path, Map<String, ?> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+        return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void waitUntilHealthy(long startNanos) throws Exception {
+        long deadline = startNanos + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (process != null && !process.isAlive()) {
+                throw new IllegalStateException("进程已退出，退出码 " + process.exitValue() + "，输出见 target/smoke/blog.out");
+            }
+            try {
+                HttpResponse<String> response = get("/actuator/health", null);
+                if (response.statusCode() == 200 && response.body().contains("UP")) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // 尚未开始监听
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException(STARTUP_TIMEOUT.toSeconds() + " 秒内未就绪: " + baseUrl);
+    }
+
+    /**
+     * 读取进程的常驻内存（Linux），其他系统返回 unknown
+     */
+    private static String residentMemory(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"));
+            return lines.stream().filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst().orElse("unknown");
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.blog.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DataSourceProfileTest {
+
+    private static final List<String> DRIVER_SETTINGS = List.of("cachePrepStmts", "useServerPrepStmts",
+            "useLocalSessionState", "rewriteBatchedStatements");
+
+    @Test
+    public void prodAndDevUseDriverPerformanceProfileOnBothPools() throws Exception {
+        for (String file : List.of("application-prod.yml", "application-dev.yml")) {
+            PropertySource<?> source = load(file);
+            for (String setting : DRIVER_SETTINGS) {
+                assertEquals("true", value(source, "spring.datasource.hikari.data-source-properties." + setting),
+                        file + " " + setting);
+                // 只读库连接池通过 YAML 别名共用同一组参数
+                assertEquals("true", value(source, "datasource.replica.hikari.data-source-properties." + setting),
+                        file + " replica " + setting);
+                // URL 参数优先于连接属性，残留在 URL 中会覆盖这里的配置
+                assertFalse(value(source, "spring.datasource.url").contains(setting), file + " url " + setting);
+                assertFalse(value(source, "datasource.replica.url").contains(setting), file + " replica url " + setting);
+            }
+        }
+    }
+
+    @Test
+    public void poolsAreFixedSizeAndValidateWithJdbc4() throws Exception {
+        for (String file : List.of("application-prod.yml", "application-dev.yml")) {
+            PropertySource<?> source = load(file);
+            for (String pool : List.of("spring.datasource.hikari.", "datasource.replica.hikari.")) {
+                assertNull(source.getProperty(pool + "connection-test-query"), file + " " + pool);
+                assertNull(source.getProperty(pool + "minimum-idle"), file + " " + pool);
+                // 固定大小的连接池不会回收空闲连接，Hikari 会对多余的 idle-timeout 打印警告
+                assertNull(source.getProperty(pool + "idle-timeout"), file + " " + pool);
+            }
+        }
+    }
+
+    private static PropertySource<?> load(String file) throws Exception {
+        return new YamlPropertySourceLoader().load(file, new ClassPathResource(file)).get(0);
+    }
+
+    private static String value(PropertySource<?> source, String key) {
+        return String.valueOf(source.getProperty(key));
+    }
+}
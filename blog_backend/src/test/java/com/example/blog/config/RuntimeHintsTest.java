@@ -0,0 +1,43 @@
+package com.example.blog.config;
+
+import com.example.blog.entity.Post;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.util.TextPatch;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuntimeHintsTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    public void registersMyBatisProxiesMappingsAndResources() {
+        RuntimeHints hints = new RuntimeHints();
+        new MyBatisAotConfig.MyBatisRuntimeHints().registerHints(hints, classLoader);
+
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PostMapper.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(StatementHandler.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Post.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("mapper/PostMapper.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("org/apache/ibatis/builder/xml/mybatis-3-mapper.dtd").test(hints));
+    }
+
+    @Test
+    public void registersJjwtAndJsonBindingTypes() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.BlogRuntimeHints().registerHints(hints, classLoader);
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Post.class, "getTitle").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TextPatch.Edit.class).test(hints));
+    }
+}
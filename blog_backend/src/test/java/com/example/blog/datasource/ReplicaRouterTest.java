@@ -0,0 +1,56 @@
+package com.example.blog.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRouterTest {
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    private ReplicaRouter router;
+
+    @BeforeEach
+    public void setUp() {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        router = new ReplicaRouter(primary, replica, new ReplicaStickiness(1000), 60_000);
+    }
+
+    @Test
+    public void passesCredentialsToReplica() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(replica.getConnection("reader", "secret")).thenReturn(connection);
+
+        assertSame(connection, router.getConnection("reader", "secret"));
+        assertEquals(1, router.stats().replicaReads());
+        verify(primary, never()).getConnection("reader", "secret");
+    }
+
+    @Test
+    public void fallsBackToPrimaryWithSameCredentials() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(replica.getConnection("reader", "secret")).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection("reader", "secret")).thenReturn(connection);
+
+        assertSame(connection, router.getConnection("reader", "secret"));
+        // 重试窗口内不再尝试只读库
+        assertSame(connection, router.getConnection("reader", "secret"));
+        verify(replica).getConnection("reader", "secret");
+        assertEquals(2, router.stats().fallbackReads());
+        assertTrue(router.stats().replicaDown());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.blog.export;
+
+import com.example.blog.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DataExporterTest {
+
+    @Test
+    public void parsesCheckpointsWrittenByTheExport() {
+        assertSame(DataExporter.Checkpoint.START, DataExporter.Checkpoint.parse(null));
+        assertSame(DataExporter.Checkpoint.START, DataExporter.Checkpoint.parse(" "));
+
+        DataExporter.Checkpoint checkpoint = DataExporter.Checkpoint.parse("post_tag:42");
+        assertEquals(DataExporter.Section.POST_TAG, checkpoint.section());
+        assertEquals(42, checkpoint.afterId());
+        assertEquals("post_tag:42", checkpoint.toString());
+
+        assertThrows(BusinessException.class, () -> DataExporter.Checkpoint.parse("posts:1"));
+        assertThrows(BusinessException.class, () -> DataExporter.Checkpoint.parse("post:-1"));
+        assertThrows(BusinessException.class, () -> DataExporter.Checkpoint.parse("1234"));
+    }
+}
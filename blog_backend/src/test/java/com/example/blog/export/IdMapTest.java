@@ -0,0 +1,28 @@
+package com.example.blog.export;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class IdMapTest {
+
+    @Test
+    public void mapsAscendingAndOutOfOrderIds() {
+        IdMap map = new IdMap();
+        for (long id = 1; id <= 5000; id += 2) {
+            map.put(id, id + 100000);
+        }
+        // 乱序与重复出现的ID
+        map.put(4, 7);
+        map.put(9, 9);
+
+        assertEquals(100001L, map.get(1L));
+        assertEquals(104999L, map.get(4999L));
+        assertEquals(7L, map.get(4L));
+        assertEquals(9L, map.get(9L));
+        assertNull(map.get(2L));
+        assertNull(map.get(null));
+        assertEquals(2501, map.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.blog.feed;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.mapper.CategoryMapper;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.TagMapper;
+import com.example.blog.taxonomy.TaxonomyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FeedGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private PostMapper postMapper;
+
+    private CategoryMapper categoryMapper;
+
+    private FeedGenerator generator;
+
+    private Category category;
+
+    private Post post;
+
+    @BeforeEach
+    public void setUp() {
+        postMapper = mock(PostMapper.class);
+        categoryMapper = mock(CategoryMapper.class);
+        TagMapper tagMapper = mock(TagMapper.class);
+
+        generator = new FeedGenerator();
+        ReflectionTestUtils.setField(generator, "postMapper", postMapper);
+        ReflectionTestUtils.setField(generator, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(generator, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(generator, "taxonomy", mock(TaxonomyStore.class));
+        ReflectionTestUtils.setField(generator, "dir", dir.toString());
+        ReflectionTestUtils.setField(generator, "siteUrl", "https://blog.test");
+        ReflectionTestUtils.setField(generator, "publicUrl", "https://blog.test/api/feeds");
+        ReflectionTestUtils.setField(generator, "title", "博客");
+        ReflectionTestUtils.setField(generator, "description", "最新文章");
+        ReflectionTestUtils.setField(generator, "size", 20);
+        ReflectionTestUtils.setField(generator, "chunkSize", 100L);
+        ReflectionTestUtils.setField(generator, "batchSize", 2);
+        ReflectionTestUtils.setField(generator, "timeZone", "Asia/Shanghai");
+        generator.init();
+
+        category = new Category();
+        category.setId(3L);
+        category.setName("后端");
+        post = new Post();
+        post.setId(150L);
+        post.setTitle("A & B");
+        post.setStatus(1);
+        post.setCategoryId(3L);
+        post.setCategory(category);
+        post.setExcerpt("摘录");
+        post.setPublishedTime(LocalDateTime.of(2024, 5, 1, 12, 0));
+
+        when(categoryMapper.findAll()).thenReturn(List.of(category));
+        when(categoryMapper.findById(3L)).thenReturn(category);
+        when(tagMapper.findAll()).thenReturn(List.of());
+        when(postMapper.findFeedPosts(any(), any(), anyInt())).thenReturn(List.of(post));
+        when(postMapper.findSitemapPosts(anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+        when(postMapper.findSitemapPosts(eq(-1L), anyLong(), anyInt())).thenReturn(List.of(post));
+    }
+
+    @Test
+    public void rebuildWritesFeedsAndSitemap() throws Exception {
+        generator.flush();
+
+        String atom = Files.readString(dir.resolve("atom.xml"));
+        assertTrue(atom.contains("<title>A &amp; B</title>"), atom);
+        assertTrue(atom.contains("<id>https://blog.test/post/150</id>"), atom);
+        assertTrue(atom.contains("<published>2024-05-01T12:00:00+08:00</published>"), atom);
+        assertTrue(Files.readString(dir.resolve("category/3/rss.xml")).contains("<title>博客 - 后端</title>"));
+        assertTrue(Files.readString(dir.resolve("sitemap-posts-1.xml")).contains("<loc>https://blog.test/post/150</loc>"));
+        String index = Files.readString(dir.resolve("sitemap.xml"));
+        assertTrue(index.contains("<loc>https://blog.test/api/feeds/sitemap-pages.xml</loc>"), index);
+        assertTrue(index.contains("<loc>https://blog.test/api/feeds/sitemap-posts-1.xml</loc>"), index);
+    }
+
+    @Test
+    public void deletedPostIsRemovedIncrementally() throws Exception {
+        generator.flush();
+
+        when(postMapper.findById(150L)).thenReturn(null);
+        when(postMapper.findFeedPosts(any(), any(), anyInt())).thenReturn(List.of());
+        when(postMapper.findSitemapPosts(eq(-1L), anyLong(), anyInt())).thenReturn(List.of());
+        generator.onContentChanged(ContentChangedEvent.post(this, ContentChangedEvent.Action.DELETED, 150L));
+        generator.flush();
+
+        assertFalse(Files.readString(dir.resolve("atom.xml")).contains("post/150"));
+        // 文章不再属于任何分类，但上次生成时在该分类订阅源中，仍需重写
+        assertFalse(Files.readString(dir.resolve("category/3/atom.xml")).contains("post/150"));
+        assertFalse(Files.exists(dir.resolve("sitemap-posts-1.xml")));
+        assertFalse(Files.readString(dir.resolve("sitemap.xml")).contains("sitemap-posts-1.xml"));
+    }
+
+    @Test
+    public void chunkQueryStartsAtChunkBoundary() throws Exception {
+        generator.flush();
+        when(postMapper.findById(150L)).thenReturn(post);
+        when(postMapper.findSitemapPosts(eq(99L), eq(200L), anyInt())).thenReturn(List.of(post));
+        when(postMapper.findFeedPosts(isNull(), isNull(), anyInt())).thenReturn(List.of(post));
+
+        generator.onContentChanged(ContentChangedEvent.post(this, ContentChangedEvent.Action.UPDATED, 150L));
+        generator.flush();
+
+        assertTrue(Files.exists(dir.resolve("sitemap-posts-1.xml")));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.blog.filter;
+
+import com.example.blog.entity.User;
+import com.example.blog.mapper.UserTokenVersionMapper;
+import com.example.blog.util.JwtUtil;
+import com.example.blog.util.TokenVersionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JwtAuthenticationFilterTest {
+
+    private JwtUtil jwtUtil;
+
+    private UserTokenVersionMapper userTokenVersionMapper;
+
+    private TokenVersionStore tokenVersionStore;
+
+    private JwtAuthenticationFilter filter;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJWTThatIsLongEnoughForHmacSha256Signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 120_000L);
+
+        userTokenVersionMapper = mock(UserTokenVersionMapper.class);
+        tokenVersionStore = new TokenVersionStore();
+        ReflectionTestUtils.setField(tokenVersionStore, "userTokenVersionMapper", userTokenVersionMapper);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenVersionStore", tokenVersionStore);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setRole("USER");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void authenticatesCurrentAccessToken() throws Exception {
+        Authentication authentication = filter(jwtUtil.generateToken(user, 0));
+
+        assertEquals("alice", authentication.getName());
+    }
+
+    @Test
+    public void rejectsTokenAfterRevoke() throws Exception {
+        String token = jwtUtil.generateToken(user, 0);
+        when(userTokenVersionMapper.findVersionByUserId(7L)).thenReturn(1);
+        tokenVersionStore.revoke(7L);
+
+        assertNull(filter(token));
+        assertEquals("alice", filter(jwtUtil.generateToken(user, 1)).getName());
+    }
+
+    @Test
+    public void rejectsRefreshTokenAsAccessToken() throws Exception {
+        assertNull(filter(jwtUtil.generateRefreshToken(user, 0)));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/7");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
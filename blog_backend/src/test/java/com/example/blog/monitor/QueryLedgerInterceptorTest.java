@@ -0,0 +1,39 @@
+package com.example.blog.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryLedgerInterceptorTest {
+
+    private static final String BCRYPT = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Test
+    public void masksUserAndTokenStatementParameters() {
+        String masked = QueryLedgerInterceptor.describe("com.example.blog.mapper.UserMapper.updatePassword",
+                "password", BCRYPT);
+        assertFalse(masked.contains("$2a$"));
+        assertTrue(masked.startsWith("<String " + BCRYPT.length() + " chars #"));
+        // 同一个值摘要相同，不同的值摘要不同，重复查询的判断不受影响
+        assertEquals(masked, QueryLedgerInterceptor.describe("com.example.blog.mapper.UserMapper.updatePassword",
+                "password", BCRYPT));
+        assertNotEquals(masked, QueryLedgerInterceptor.describe("com.example.blog.mapper.UserMapper.findByUsername",
+                "username", "admin"));
+    }
+
+    @Test
+    public void masksSensitivePropertyNamesInOtherStatements() {
+        assertFalse(QueryLedgerInterceptor.describe("com.example.blog.mapper.CommentMapper.insert", "email",
+                "someone@example.com").contains("@"));
+    }
+
+    @Test
+    public void keepsIdsAndOrdinaryParameters() {
+        assertEquals("42", QueryLedgerInterceptor.describe("com.example.blog.mapper.UserMapper.findById", "id", 42L));
+        assertEquals("spring", QueryLedgerInterceptor.describe("com.example.blog.mapper.PostMapper.search", "keyword",
+                "spring"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.blog.monitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryLedgerReportTest {
+
+    private QueryLedgerReport report;
+
+    @BeforeEach
+    public void setUp() {
+        report = new QueryLedgerReport();
+        ReflectionTestUtils.setField(report, "slowThresholdMillis", 100L);
+        ReflectionTestUtils.setField(report, "repeatThreshold", 1);
+        ReflectionTestUtils.setField(report, "maxStatements", 5);
+        ReflectionTestUtils.setField(report, "maxOffenders", 10);
+    }
+
+    @Test
+    public void flagsRepeatedStatementsWithSameParameters() {
+        QueryLedger ledger = new QueryLedger();
+        ledger.record("PostMapper.findById", "SELECT ...", "1", 1_000);
+        ledger.record("UserMapper.findByUsername", "SELECT ...", "admin", 1_000);
+        ledger.record("PostMapper.findById", "SELECT ...", "1", 1_000);
+        ledger.record("PostMapper.findById", "SELECT ...", "2", 1_000);
+
+        report.analyze("PUT /posts/{id}", ledger);
+
+        List<QueryLedgerReport.Offender> offenders = report.getOffenders();
+        assertEquals(1, offenders.size());
+        assertEquals("PostMapper.findById", offenders.get(0).getStatementId());
+        assertEquals(QueryLedgerReport.OffenseType.REPEATED, offenders.get(0).getType());
+        assertEquals(2, offenders.get(0).getMaxCount());
+    }
+
+    @Test
+    public void flagsSlowAndTooManyStatements() {
+        QueryLedger ledger = new QueryLedger();
+        ledger.record("PostMapper.findByStatusWithPage", "SELECT ...", "1, 0, 10",
+                TimeUnit.MILLISECONDS.toNanos(250));
+        for (long id = 1; id <= 5; id++) {
+            ledger.record("TagMapper.findByPostId", "SELECT ...", String.valueOf(id), 1_000);
+        }
+
+        report.analyze("GET /posts", ledger);
+
+        List<QueryLedgerReport.Offender> offenders = report.getOffenders();
+        assertEquals(2, offenders.size());
+        assertTrue(offenders.stream().anyMatch(o -> o.getType() == QueryLedgerReport.OffenseType.SLOW
+                && o.getMaxMillis() >= 250));
+        assertTrue(offenders.stream().anyMatch(o -> o.getType() == QueryLedgerReport.OffenseType.TOO_MANY));
+    }
+}
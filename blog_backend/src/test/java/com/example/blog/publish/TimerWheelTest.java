@@ -0,0 +1,62 @@
+package com.example.blog.publish;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerWheelTest {
+
+    @Test
+    public void firesEachTaskAtItsSecondAcrossLevels() {
+        long start = 1_000_000_123L;
+        TimerWheel<Long> wheel = new TimerWheel<>(1000, 3, start);
+        Random random = new Random(42);
+        long[] deadlines = new long[500];
+        for (int i = 0; i < deadlines.length; i++) {
+            // 覆盖第 0 ~ 2 层，以及超出时间轮范围（64^3 秒）的任务
+            long delay = i == 0 ? 1_000_000_000L : (long) Math.pow(64, random.nextInt(3)) * (1 + random.nextInt(63)) * 1000;
+            deadlines[i] = start + delay + random.nextInt(1000);
+            wheel.schedule((long) i, deadlines[i]);
+        }
+        wheel.schedule(1000L, start - 5000);
+
+        List<Long> fired = new ArrayList<>();
+        assertEquals(List.of(1000L), wheel.advance(start));
+        long end = start + 1_000_002_000L;
+        for (long now = start; now <= end; now += 1000) {
+            for (Long id : wheel.advance(now)) {
+                // 到期秒内触发，不早不晚
+                assertEquals(deadlines[id.intValue()] / 1000, now / 1000, "task " + id);
+                fired.add(id);
+            }
+            long skipTo = (deadlines[0] / 1000 - 2) * 1000;
+            if (fired.size() == deadlines.length - 1 && now < skipTo) {
+                // 只剩超出范围的任务，直接跳到它到期前
+                now = skipTo;
+            }
+        }
+        assertEquals(deadlines.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void rescheduleAndCancelReplacePendingTask() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 6, 0);
+        wheel.schedule("a", 10_000);
+        wheel.schedule("b", 5_000);
+        wheel.schedule("a", 3_000);
+        assertTrue(wheel.cancel("b"));
+
+        assertEquals(List.of("a"), wheel.advance(3_000));
+        assertEquals(List.of(), wheel.advance(20_000));
+        // 时间回拨时不推进
+        wheel.schedule("c", 21_000);
+        assertEquals(List.of(), wheel.advance(1_000));
+        assertEquals(List.of("c"), wheel.advance(21_500));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.blog.ranking;
+
+import com.example.blog.entity.Post;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.event.PostEngagementEvent;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.taxonomy.TaxonomyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PostRankingTest {
+
+    @TempDir
+    Path dir;
+
+    private PostMapper postMapper;
+
+    @BeforeEach
+    public void setUp() {
+        postMapper = mock(PostMapper.class);
+        when(postMapper.findTopEngaged(anyDouble(), anyDouble(), anyDouble(), anyInt())).thenReturn(List.of());
+        // 只返回请求的、ID 小于 100 的文章，模拟其余文章已下架
+        when(postMapper.findListByIds(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 100).map(PostRankingTest::post).toList();
+        });
+    }
+
+    @Test
+    public void olderInteractionsDecayByHalfLife() {
+        AtomicLong clock = new AtomicLong();
+        DecayedScoreBoard board = new DecayedScoreBoard(Duration.ofHours(1), 100, clock::get);
+        board.add(1, 8);
+        clock.set(Duration.ofHours(2).toMillis());
+        board.add(2, 3);
+
+        List<DecayedScoreBoard.Entry> top = board.top(10);
+        assertEquals(2L, top.get(0).id());
+        assertEquals(3.0, top.get(0).score(), 1e-9);
+        assertEquals(2.0, top.get(1).score(), 1e-9);
+
+        // 远超溢出阈值后仍能正确累加与比较
+        clock.set(Duration.ofHours(2000).toMillis());
+        board.add(3, 1);
+        board.add(1, 2);
+        top = board.top(10);
+        assertEquals(1L, top.get(0).id());
+        assertEquals(2.0, top.get(0).score(), 1e-9);
+        assertEquals(3, top.size());
+    }
+
+    @Test
+    public void pruneKeepsHighestScores() {
+        DecayedScoreBoard board = new DecayedScoreBoard(Duration.ofHours(1), 3, () -> 0L);
+        for (long id = 1; id <= 10; id++) {
+            board.add(id, id);
+        }
+        assertEquals(7, board.prune());
+        assertEquals(List.of(10L, 9L, 8L), board.top(10).stream().map(DecayedScoreBoard.Entry::id).toList());
+    }
+
+    @Test
+    public void ranksEngagementAndRestoresFromSnapshot() throws Exception {
+        PostRanking ranking = newRanking();
+        ranking.onEngagement(new PostEngagementEvent(this, PostEngagementEvent.Kind.VIEW, 1L));
+        ranking.onEngagement(new PostEngagementEvent(this, PostEngagementEvent.Kind.VIEW, 1L));
+        ranking.onEngagement(new PostEngagementEvent(this, PostEngagementEvent.Kind.LIKE, 2L));
+        ranking.onContentChanged(ContentChangedEvent.comment(this, ContentChangedEvent.Action.CREATED, 9L, 3L));
+        ranking.onEngagement(new PostEngagementEvent(this, PostEngagementEvent.Kind.LIKE, 150L));
+        ranking.refresh();
+
+        String body = ranking.envelope(PostRanking.Board.TRENDING, 10).toString();
+        assertTrue(body.indexOf("\"id\":3") < body.indexOf("\"id\":2"), body);
+        assertTrue(body.indexOf("\"id\":2") < body.indexOf("\"id\":1"), body);
+        assertFalse(body.contains("\"id\":150"), body);
+        assertFalse(ranking.envelope(PostRanking.Board.POPULAR, 1).toString().contains("\"id\":2"));
+
+        ranking.onContentChanged(ContentChangedEvent.post(this, ContentChangedEvent.Action.DELETED, 3L));
+        ranking.persist();
+        assertTrue(Files.exists(dir.resolve("snapshot.bin")));
+
+        PostRanking restored = newRanking();
+        restored.refresh();
+        body = restored.envelope(PostRanking.Board.POPULAR, 10).toString();
+        assertTrue(body.indexOf("\"id\":2") < body.indexOf("\"id\":1"), body);
+        assertFalse(body.contains("\"id\":3"), body);
+    }
+
+    private PostRanking newRanking() {
+        PostRanking ranking = new PostRanking();
+        ReflectionTestUtils.setField(ranking, "postMapper", postMapper);
+        ReflectionTestUtils.setField(ranking, "taxonomy", mock(TaxonomyStore.class));
+        ReflectionTestUtils.setField(ranking, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(ranking, "trendingHalfLifeHours", 24L);
+        ReflectionTestUtils.setField(ranking, "popularHalfLifeDays", 30L);
+        ReflectionTestUtils.setField(ranking, "capacity", 100);
+        ReflectionTestUtils.setField(ranking, "size", 10);
+        ReflectionTestUtils.setField(ranking, "viewWeight", 1.0);
+        ReflectionTestUtils.setField(ranking, "likeWeight", 5.0);
+        ReflectionTestUtils.setField(ranking, "commentWeight", 10.0);
+        ReflectionTestUtils.setField(ranking, "snapshotFile", dir.resolve("snapshot.bin").toString());
+        ranking.init();
+        return ranking;
+    }
+
+    private static Post post(Long id) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("文章" + id);
+        return post;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.blog.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RelatedPostIndexTest {
+
+    @Test
+    public void ranksByTagOverlapAndCategory() {
+        RelatedPostIndex index = new RelatedPostIndex.Builder(0.2)
+                .add(1, 10, new int[]{1, 2, 3})
+                .add(2, 20, new int[]{1, 2, 3, 4})   // 3/4 = 0.75
+                .add(3, 10, new int[]{1, 2})         // 2/3 + 0.2
+                .add(4, 10, new int[]{9})            // 只有同分类
+                .add(5, 20, new int[]{3, 8})         // 1/4 = 0.25
+                .add(6, 30, new int[]{7})
+                .build();
+
+        assertArrayEquals(new int[]{3, 2, 5, 4}, index.related(1, 10));
+        assertArrayEquals(new int[]{3, 2}, index.related(1, 2));
+        assertArrayEquals(new int[0], index.related(99, 5));
+    }
+
+    @Test
+    public void incrementalUpdatesMatchRebuild() {
+        RelatedPostIndex index = new RelatedPostIndex(0.2);
+        index.put(1, 10, new int[]{3, 1, 2, 2});
+        index.put(2, 20, new int[]{1, 2, 3, 4});
+        index.put(3, 10, new int[]{5});
+        assertArrayEquals(new int[]{2, 3}, index.related(1, 5));
+
+        // 文章 2 改为其他标签与分类，文章 3 改为与文章 1 标签相同
+        index.put(2, 30, new int[]{6});
+        index.put(3, 10, new int[]{1, 2, 3});
+        assertArrayEquals(new int[]{3}, index.related(1, 5));
+        assertArrayEquals(new int[0], index.related(2, 5));
+
+        index.remove(3);
+        assertArrayEquals(new int[0], index.related(1, 5));
+        assertEquals(2, index.size());
+    }
+}
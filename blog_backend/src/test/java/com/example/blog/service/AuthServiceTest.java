@@ -0,0 +1,117 @@
+package com.example.blog.service;
+
+import com.example.blog.entity.User;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.mapper.UserTokenVersionMapper;
+import com.example.blog.util.JwtUtil;
+import com.example.blog.util.TokenVersionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AuthServiceTest {
+
+    private UserTokenVersionMapper userTokenVersionMapper;
+
+    private TokenVersionStore tokenVersionStore;
+
+    private IUserService userService;
+
+    private JwtUtil jwtUtil;
+
+    private AuthService authService;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJWTThatIsLongEnoughForHmacSha256Signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 120_000L);
+
+        userTokenVersionMapper = mock(UserTokenVersionMapper.class);
+        tokenVersionStore = new TokenVersionStore();
+        ReflectionTestUtils.setField(tokenVersionStore, "userTokenVersionMapper", userTokenVersionMapper);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setRole("USER");
+        user.setStatus(1);
+        userService = mock(IUserService.class);
+        when(userService.findById(7L)).thenReturn(user);
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(authService, "tokenVersionStore", tokenVersionStore);
+        ReflectionTestUtils.setField(authService, "userService", userService);
+    }
+
+    @Test
+    public void rotationBumpsVersionSoRefreshTokenIsSingleUse() {
+        String refreshToken = jwtUtil.generateRefreshToken(user, 0);
+        when(userTokenVersionMapper.rotate(7L, 0)).thenReturn(0);
+        when(userTokenVersionMapper.insertFirst(7L)).thenReturn(1);
+
+        Map<String, String> tokens = authService.refreshToken(refreshToken);
+
+        assertEquals(1, JwtUtil.getVersion(jwtUtil.parseToken(tokens.get("refreshToken"))));
+        assertFalse(tokenVersionStore.isValid(7L, 0));
+        verify(userTokenVersionMapper, never()).increment(7L);
+    }
+
+    @Test
+    public void revokesAllTokensWhenRefreshTokenIsReused() {
+        String refreshToken = jwtUtil.generateRefreshToken(user, 0);
+        when(userTokenVersionMapper.rotate(7L, 0)).thenReturn(0);
+        when(userTokenVersionMapper.insertFirst(7L)).thenReturn(1);
+        String rotated = authService.refreshToken(refreshToken).get("refreshToken");
+        when(userTokenVersionMapper.findVersionByUserId(7L)).thenReturn(2);
+
+        // 旧令牌再次出现：吊销后用它换到的新令牌也失效
+        BusinessException e = assertThrows(BusinessException.class, () -> authService.refreshToken(refreshToken));
+
+        assertEquals(ErrorCode.REFRESH_TOKEN_REUSED.getCode(), e.getCode());
+        verify(userTokenVersionMapper).increment(7L);
+        assertFalse(tokenVersionStore.isValid(7L, JwtUtil.getVersion(jwtUtil.parseToken(rotated))));
+    }
+
+    @Test
+    public void concurrentUseOfSameTokenRotatesOnlyOnce() {
+        // 另一个实例已用同一令牌完成轮换，本实例内存中的版本尚未同步
+        String refreshToken = jwtUtil.generateRefreshToken(user, 3);
+        when(userTokenVersionMapper.rotate(7L, 3)).thenReturn(0);
+        when(userTokenVersionMapper.findVersionByUserId(7L)).thenReturn(5);
+
+        BusinessException e = assertThrows(BusinessException.class, () -> authService.refreshToken(refreshToken));
+
+        assertEquals(ErrorCode.REFRESH_TOKEN_REUSED.getCode(), e.getCode());
+        verify(userTokenVersionMapper, never()).insertFirst(anyLong());
+        assertFalse(tokenVersionStore.isValid(7L, 4));
+    }
+
+    @Test
+    public void rejectsDisabledUser() {
+        String refreshToken = jwtUtil.generateRefreshToken(user, 0);
+        user.setStatus(0);
+
+        BusinessException e = assertThrows(BusinessException.class, () -> authService.refreshToken(refreshToken));
+
+        assertEquals(ErrorCode.USER_DISABLED.getCode(), e.getCode());
+        verify(userTokenVersionMapper, never()).rotate(anyLong(), anyInt());
+    }
+}
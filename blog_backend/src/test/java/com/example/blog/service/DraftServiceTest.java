@@ -0,0 +1,154 @@
+package com.example.blog.service;
+
+import com.example.blog.dto.DraftPatchRequest;
+import com.example.blog.dto.DraftVO;
+import com.example.blog.entity.PostRevision;
+import com.example.blog.exception.BusinessException;
+import com.example.blog.exception.ErrorCode;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.PostRevisionMapper;
+import com.example.blog.util.TextPatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DraftServiceTest {
+
+    private static final String BASE = "hello world\n" + "lorem ipsum ".repeat(20);
+
+    private final List<PostRevision> rows = new ArrayList<>();
+
+    private DraftService draftService;
+
+    @BeforeEach
+    public void setUp() {
+        PostMapper postMapper = mock(PostMapper.class);
+        when(postMapper.findContent(1L)).thenReturn(BASE);
+
+        // 用内存列表模拟 post_revision 表
+        PostRevisionMapper revisionMapper = mock(PostRevisionMapper.class);
+        when(revisionMapper.insert(any())).thenAnswer(invocation -> {
+            rows.add(invocation.getArgument(0));
+            return 1;
+        });
+        when(revisionMapper.findLatest(1L)).thenAnswer(invocation ->
+                rows.stream().max(Comparator.comparing(PostRevision::getRevision)).orElse(null));
+        when(revisionMapper.findSnapshotRevision(eq(1L), anyInt())).thenAnswer(invocation -> {
+            int revision = invocation.getArgument(1);
+            return rows.stream().filter(r -> r.getSnapshot() == 1 && r.getRevision() <= revision)
+                    .map(PostRevision::getRevision).max(Integer::compare).orElse(null);
+        });
+        when(revisionMapper.findChain(eq(1L), anyInt())).thenAnswer(invocation -> {
+            int revision = invocation.getArgument(1);
+            int floor = rows.stream().filter(r -> r.getSnapshot() == 1 && r.getRevision() <= revision)
+                    .map(PostRevision::getRevision).max(Integer::compare).orElse(Integer.MAX_VALUE);
+            return rows.stream().filter(r -> r.getRevision() >= floor && r.getRevision() <= revision)
+                    .sorted(Comparator.comparing(PostRevision::getRevision)).toList();
+        });
+        when(revisionMapper.deleteBefore(eq(1L), anyInt())).thenAnswer(invocation -> {
+            int revision = invocation.getArgument(1);
+            int before = rows.size();
+            rows.removeIf(r -> r.getRevision() < revision);
+            return before - rows.size();
+        });
+
+        draftService = new DraftService();
+        ReflectionTestUtils.setField(draftService, "postMapper", postMapper);
+        ReflectionTestUtils.setField(draftService, "revisionMapper", revisionMapper);
+        ReflectionTestUtils.setField(draftService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(draftService, "snapshotInterval", 4);
+        ReflectionTestUtils.setField(draftService, "keepRevisions", 3);
+        ReflectionTestUtils.setField(draftService, "cacheSize", 16);
+        draftService.init();
+    }
+
+    @Test
+    public void appliesEditsAndRestoresEveryRevision() {
+        List<String> versions = new ArrayList<>(List.of(BASE));
+        String content = BASE;
+        for (int i = 1; i <= 9; i++) {
+            String next = content.replace("world", "world " + i);
+            DraftVO saved = draftService.save(1L, 7L, request(i - 1, TextPatch.diff(content, next), next.length()));
+            assertEquals(i, saved.getRevision());
+            versions.add(next);
+            content = next;
+        }
+
+        // 第 1、4、8 个修订为快照；写入修订 8 时删除了修订 4（不晚于 8 - 3 的快照）之前的记录
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), rows.stream().map(PostRevision::getRevision).sorted().toList());
+        assertEquals(List.of(4, 8), rows.stream().filter(r -> r.getSnapshot() == 1)
+                .map(PostRevision::getRevision).sorted().toList());
+        for (int revision = 4; revision <= 9; revision++) {
+            assertEquals(versions.get(revision), draftService.getRevision(1L, revision).getContent());
+        }
+        assertThrows(BusinessException.class, () -> draftService.getRevision(1L, 2));
+        assertEquals(content, draftService.getDraft(1L).getContent());
+    }
+
+    @Test
+    public void rejectsStaleBaseAndMismatchedLength() {
+        draftService.save(1L, 7L, request(0, List.of(new TextPatch.Edit(5, 11, "!")), BASE.length() - 5));
+
+        BusinessException stale = assertThrows(BusinessException.class,
+                () -> draftService.save(1L, 7L, request(0, List.of(new TextPatch.Edit(0, 0, "x")), BASE.length() + 1)));
+        assertEquals(ErrorCode.DRAFT_REVISION_CONFLICT.getCode(), stale.getCode());
+
+        BusinessException invalid = assertThrows(BusinessException.class,
+                () -> draftService.save(1L, 7L, request(1, List.of(new TextPatch.Edit(0, 0, "x")), 99)));
+        assertEquals(ErrorCode.DRAFT_PATCH_INVALID.getCode(), invalid.getCode());
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void rejectsEditsThatBreakSurrogatePairs() {
+        // 😀 与 😃 的高位代理相同，编辑只能整体替换代理对
+        String emoji = BASE + "\uD83D\uDE00";
+        String next = BASE + "\uD83D\uDE03";
+        draftService.save(1L, 7L, request(0, TextPatch.diff(BASE, emoji), emoji.length()));
+        assertEquals(List.of(new TextPatch.Edit(BASE.length(), emoji.length(), "\uD83D\uDE03")),
+                TextPatch.diff(emoji, next));
+
+        BusinessException split = assertThrows(BusinessException.class, () -> draftService.save(1L, 7L,
+                request(1, List.of(new TextPatch.Edit(emoji.length() - 1, emoji.length(), "\uDE03")), next.length())));
+        assertEquals(ErrorCode.DRAFT_PATCH_INVALID.getCode(), split.getCode());
+
+        BusinessException unpaired = assertThrows(BusinessException.class, () -> draftService.save(1L, 7L,
+                request(1, List.of(new TextPatch.Edit(0, 0, "\uD83D")), emoji.length() + 1)));
+        assertEquals(ErrorCode.DRAFT_PATCH_INVALID.getCode(), unpaired.getCode());
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void clampsNonPositiveSnapshotInterval() {
+        ReflectionTestUtils.setField(draftService, "snapshotInterval", 0);
+        draftService.init();
+
+        String next = BASE + "!";
+        draftService.save(1L, 7L, request(0, TextPatch.diff(BASE, next), next.length()));
+        draftService.save(1L, 7L, request(1, TextPatch.diff(next, next + "?"), next.length() + 1));
+
+        // 间隔按 1 处理：每个修订都是快照
+        assertEquals(2, rows.stream().filter(r -> r.getSnapshot() == 1).count());
+    }
+
+    private static DraftPatchRequest request(int baseRevision, List<TextPatch.Edit> edits, int length) {
+        DraftPatchRequest request = new DraftPatchRequest();
+        request.setBaseRevision(baseRevision);
+        request.setEdits(edits);
+        request.setLength(length);
+        return request;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.blog.service;
+
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostTag;
+import com.example.blog.entity.Tag;
+import com.example.blog.event.ContentChangedEvent;
+import com.example.blog.mapper.PostMapper;
+import com.example.blog.mapper.PostTagMapper;
+import com.example.blog.taxonomy.TaxonomyStore;
+import com.example.blog.util.MarkdownRenderer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PostServiceTest {
+
+    private PostMapper postMapper;
+
+    private PostTagMapper postTagMapper;
+
+    private TaxonomyStore taxonomy;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private PostService postService;
+
+    private Post existing;
+
+    @BeforeEach
+    public void setUp() {
+        postMapper = mock(PostMapper.class);
+        postTagMapper = mock(PostTagMapper.class);
+        taxonomy = mock(TaxonomyStore.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        postService = new PostService();
+        ReflectionTestUtils.setField(postService, "postMapper", postMapper);
+        ReflectionTestUtils.setField(postService, "postTagMapper", postTagMapper);
+        ReflectionTestUtils.setField(postService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(postService, "taxonomy", taxonomy);
+        ReflectionTestUtils.setField(postService, "markdownRenderer", new MarkdownRenderer(new ObjectMapper()));
+
+        existing = new Post();
+        existing.setId(1L);
+        existing.setTitle("标题");
+        existing.setContent("# 正文");
+        existing.setCategoryId(3L);
+        existing.setStatus(1);
+        existing.setTags(new ArrayList<>(List.of(tag(1L), tag(2L))));
+        when(postMapper.findById(1L)).thenReturn(existing);
+        when(postTagMapper.findTagIdsByPostId(1L)).thenReturn(List.of(1L, 2L));
+    }
+
+    @Test
+    public void unchangedSaveWritesNothing() {
+        Post result = postService.update(edit("标题", "# 正文"), List.of(2L, 1L));
+
+        assertSame(existing, result);
+        verify(postMapper, never()).update(any());
+        verify(postTagMapper, never()).deleteByPostIdAndTagIds(anyLong(), any());
+        verify(postTagMapper, never()).insertBatch(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(postMapper, times(1)).findById(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void onlyChangedColumnsAndTagsAreWritten() {
+        Post result = postService.update(edit("新标题", "# 正文"), List.of(2L, 5L, 5L));
+
+        ArgumentCaptor<Post> update = ArgumentCaptor.forClass(Post.class);
+        verify(postMapper).update(update.capture());
+        assertEquals("新标题", update.getValue().getTitle());
+        assertNull(update.getValue().getContent());
+        assertNull(update.getValue().getContentHtml());
+        assertNull(update.getValue().getCategoryId());
+
+        verify(postTagMapper).deleteByPostIdAndTagIds(eq(1L), eq(List.of(1L)));
+        ArgumentCaptor<List<PostTag>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(postTagMapper).insertBatch(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(5L, inserted.getValue().get(0).getTagId());
+        verify(postTagMapper, never()).deleteByPostId(anyLong());
+
+        assertEquals("新标题", result.getTitle());
+        // 标签按本次的标签ID从快照补全，不再查询标签表
+        verify(taxonomy).attach(result, Set.of(2L, 5L));
+        verify(eventPublisher).publishEvent(any(ContentChangedEvent.class));
+        verify(postMapper, times(1)).findById(1L);
+    }
+
+    private static Post edit(String title, String content) {
+        Post post = new Post();
+        post.setId(1L);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setCategoryId(3L);
+        post.setStatus(1);
+        return post;
+    }
+
+    private static Tag tag(Long id) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        return tag;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.blog.taxonomy;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TaxonomySnapshotTest {
+
+    @Test
+    public void copyOnWriteUpdatesLeaveEarlierSnapshotsIntact() {
+        TaxonomySnapshot.Builder builder = new TaxonomySnapshot.Builder();
+        builder.add(1, 2);
+        builder.add(1, 5);
+        builder.add(1, 5);
+        builder.add(3, 2);
+        builder.add(7, 9);
+        TaxonomySnapshot base = builder.build(List.of(tag(2, "Java"), tag(5, "Spring"), tag(9, "MySQL")),
+                List.of(category(4, "后端")));
+
+        assertArrayEquals(new long[]{2, 5}, base.tagIdsOf(1));
+        assertArrayEquals(new long[0], base.tagIdsOf(2));
+        assertEquals("后端", base.categoryName(4));
+        assertNull(base.categoryName(40));
+        assertEquals(4, base.linkCount());
+
+        // 新增、替换、移除文章
+        TaxonomySnapshot added = base.withPostTags(5, List.of(9L, 2L, 9L));
+        TaxonomySnapshot replaced = added.withPostTags(1, List.of(9L));
+        TaxonomySnapshot removed = replaced.withPostTags(3, List.of());
+
+        assertArrayEquals(new long[]{2, 9}, added.tagIdsOf(5));
+        assertArrayEquals(new long[]{9}, replaced.tagIdsOf(1));
+        assertArrayEquals(new long[]{2, 9}, replaced.tagIdsOf(5));
+        assertArrayEquals(new long[]{9}, replaced.tagIdsOf(7));
+        assertArrayEquals(new long[0], removed.tagIdsOf(3));
+        assertArrayEquals(new long[]{2, 9}, removed.tagIdsOf(5));
+        assertEquals(3, removed.postCount());
+
+        assertArrayEquals(new long[]{2, 5}, base.tagIdsOf(1));
+        assertArrayEquals(new long[]{2}, base.tagIdsOf(3));
+        assertSame(removed, removed.withPostTags(5, List.of(2L, 9L)));
+    }
+
+    @Test
+    public void deletedTagIsDroppedFromPosts() {
+        TaxonomySnapshot.Builder builder = new TaxonomySnapshot.Builder();
+        builder.add(1, 2);
+        builder.add(1, 5);
+        builder.add(3, 5);
+        TaxonomySnapshot base = builder.build(List.of(tag(2, "Java"), tag(5, "Spring")), List.of());
+
+        TaxonomySnapshot renamed = base.withTags(List.of(tag(2, "Java 21"), tag(5, "Spring")));
+        assertEquals("Java 21", renamed.tagName(2));
+        assertEquals(3, renamed.linkCount());
+
+        TaxonomySnapshot deleted = renamed.withTags(List.of(tag(2, "Java 21")));
+        assertNull(deleted.tagName(5));
+        assertArrayEquals(new long[]{2}, deleted.tagIdsOf(1));
+        assertArrayEquals(new long[0], deleted.tagIdsOf(3));
+        assertEquals(1, deleted.postCount());
+    }
+
+    @Test
+    public void supportsSparseAndLargeIds() {
+        long big = 3_000_000_000L;
+        TaxonomySnapshot.Builder builder = new TaxonomySnapshot.Builder();
+        builder.add(1, 2);
+        builder.add(big, 2);
+        builder.add(big, big + 1);
+        TaxonomySnapshot base = builder.build(List.of(tag(big + 1, "Large"), tag(2, "Java")),
+                List.of(category(big, "稀疏")));
+
+        assertEquals("Large", base.tagName(big + 1));
+        assertNull(base.tagName(big));
+        assertEquals("稀疏", base.categoryName(big));
+        assertArrayEquals(new long[]{2, big + 1}, base.tagIdsOf(big));
+
+        TaxonomySnapshot updated = base.withPostTags(big + 5, List.of(big + 1));
+        assertArrayEquals(new long[]{big + 1}, updated.tagIdsOf(big + 5));
+        assertEquals(3, updated.postCount());
+    }
+
+    @Test
+    public void batchUpdateMatchesSequentialUpdates() {
+        TaxonomySnapshot.Builder builder = new TaxonomySnapshot.Builder();
+        for (int post = 1; post <= 20; post++) {
+            builder.add(post * 2, post % 3);
+            builder.add(post * 2, 10 + post % 5);
+        }
+        TaxonomySnapshot base = builder.build(List.of(), List.of());
+
+        Map<Long, List<Long>> changes = new LinkedHashMap<>();
+        changes.put(41L, List.of(7L));
+        changes.put(2L, List.of());
+        changes.put(20L, List.of(3L, 1L));
+        changes.put(1L, List.of(5L));
+        changes.put(40L, List.of());
+        changes.put(21L, List.of());
+        TaxonomySnapshot sequential = base;
+        for (Map.Entry<Long, List<Long>> change : changes.entrySet()) {
+            sequential = sequential.withPostTags(change.getKey(), change.getValue());
+        }
+        TaxonomySnapshot batch = base.withPostTags(changes);
+
+        assertEquals(sequential.postCount(), batch.postCount());
+        assertEquals(sequential.linkCount(), batch.linkCount());
+        for (long post = 0; post <= 42; post++) {
+            assertArrayEquals(sequential.tagIdsOf(post), batch.tagIdsOf(post), "post " + post);
+        }
+        assertSame(batch, batch.withPostTags(Map.of(20L, List.of(1L, 3L), 21L, List.of())));
+    }
+
+    private static Tag tag(long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
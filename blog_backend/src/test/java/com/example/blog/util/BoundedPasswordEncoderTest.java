@@ -0,0 +1,65 @@
+package com.example.blog.util;
+
+import com.example.blog.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedPasswordEncoderTest {
+
+    @Test
+    public void rejectsWhenThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 0, 5000);
+        try {
+            Thread first = new Thread(() -> encoder.encode("first"));
+            first.start();
+            started.await();
+
+            // 唯一的哈希线程被占用且没有等待队列，新请求立即被拒绝
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("second"));
+
+            release.countDown();
+            first.join();
+            assertEquals("hashed:third", encoder.encode("third"));
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    /**
+     * 第一次编码时阻塞，直到测试放行
+     */
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
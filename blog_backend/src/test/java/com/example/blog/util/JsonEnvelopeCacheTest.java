@@ -0,0 +1,62 @@
+package com.example.blog.util;
+
+import com.example.blog.dto.ApiResponse;
+import com.example.blog.dto.JsonEnvelope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JsonEnvelopeCacheTest {
+
+    private JsonEnvelopeCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new JsonEnvelopeCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    public void servesCachedBytesUntilEvicted() {
+        AtomicInteger loads = new AtomicInteger();
+        JsonEnvelope<List<String>> first = cache.get(JsonEnvelopeCache.TAGS,
+                () -> ApiResponse.success("ok", List.of("v" + loads.incrementAndGet())));
+        JsonEnvelope<List<String>> second = cache.get(JsonEnvelopeCache.TAGS,
+                () -> ApiResponse.success("ok", List.of("v" + loads.incrementAndGet())));
+
+        assertSame(first, second);
+        // 本身就是 ApiResponse，控制器可以照常声明带类型的返回值
+        assertEquals(List.of("v1"), first.getData());
+        assertEquals("{\"code\":200,\"message\":\"ok\",\"data\":[\"v1\"]}", first.toString());
+
+        cache.evict(JsonEnvelopeCache.TAGS);
+        JsonEnvelope<List<String>> third = cache.get(JsonEnvelopeCache.TAGS,
+                () -> ApiResponse.success("ok", List.of("v" + loads.incrementAndGet())));
+        assertEquals("{\"code\":200,\"message\":\"ok\",\"data\":[\"v2\"]}", third.toString());
+    }
+
+    @Test
+    public void discardsResultLoadedAcrossAnEviction() {
+        AtomicInteger loads = new AtomicInteger();
+        // 模拟加载期间发生写操作：旧数据读出后缓存被失效，本次结果不应写回缓存
+        cache.get(JsonEnvelopeCache.CATEGORIES, () -> {
+            loads.incrementAndGet();
+            cache.evict(JsonEnvelopeCache.CATEGORIES);
+            return ApiResponse.success("ok", "stale");
+        });
+        JsonEnvelope<String> fresh = cache.get(JsonEnvelopeCache.CATEGORIES, () -> {
+            loads.incrementAndGet();
+            return ApiResponse.success("ok", "fresh");
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals("{\"code\":200,\"message\":\"ok\",\"data\":\"fresh\"}", fresh.toString());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.User;
+import com.example.blog.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class LastLoginBufferTest {
+
+    private UserMapper userMapper;
+
+    private LastLoginBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        userMapper = mock(UserMapper.class);
+        buffer = new LastLoginBuffer();
+        ReflectionTestUtils.setField(buffer, "userMapper", userMapper);
+        ReflectionTestUtils.setField(buffer, "batchSize", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void coalescesLoginsAndWritesInBatches() {
+        LocalDateTime t0 = LocalDateTime.of(2024, 1, 1, 10, 0);
+        buffer.record(1L, t0.plusMinutes(5));
+        buffer.record(1L, t0);
+        buffer.record(2L, t0);
+        buffer.record(3L, t0);
+
+        buffer.flush();
+
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userMapper, times(2)).batchUpdateLastLoginTime(captor.capture());
+        List<User> written = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(3, written.size());
+        assertEquals(t0.plusMinutes(5),
+                written.stream().filter(u -> u.getId() == 1L).findFirst().orElseThrow().getLastLoginTime());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void keepsEntriesWhenWriteFails() {
+        doThrow(new RuntimeException("db down")).when(userMapper).batchUpdateLastLoginTime(anyList());
+        buffer.record(1L, LocalDateTime.now());
+
+        buffer.flush();
+
+        assertEquals(1, buffer.size());
+    }
+}
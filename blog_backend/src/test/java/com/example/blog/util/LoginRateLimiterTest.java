@@ -0,0 +1,73 @@
+package com.example.blog.util;
+
+import com.example.blog.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoginRateLimiterTest {
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "ipCapacity", 5);
+        ReflectionTestUtils.setField(limiter, "ipRefillPerMinute", 1);
+        ReflectionTestUtils.setField(limiter, "usernameCapacity", 2);
+        ReflectionTestUtils.setField(limiter, "usernameRefillPerMinute", 1);
+        ReflectionTestUtils.setField(limiter, "maxKeys", 100);
+    }
+
+    @Test
+    public void rejectsUsernameAfterBurst() {
+        limiter.acquire("10.0.0.1", "alice");
+        limiter.acquire("10.0.0.2", "Alice");
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.3", "alice"));
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.3", "bob"));
+    }
+
+    @Test
+    public void rejectsIpAfterBurst() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("10.0.0.1", "user" + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.1", "other"));
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "other"));
+    }
+
+    @Test
+    public void staysBoundedWhenFloodedWithDistinctKeys() {
+        // 每个 IP、用户名只请求一次，桶都未补满，只能靠 LRU 淘汰控制数量
+        for (int i = 0; i < 10_000; i++) {
+            limiter.acquire("10.1." + (i / 256) + "." + (i % 256), "flood" + i);
+            assertTrue(limiter.size() <= 200);
+        }
+        assertEquals(200, limiter.size());
+
+        // 最近访问的键仍在表中，限流状态保留
+        limiter.acquire("10.0.0.9", "victim");
+        limiter.acquire("10.0.0.9", "victim");
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.10", "victim"));
+    }
+
+    @Test
+    public void sweepRemovesRefilledBuckets() {
+        ReflectionTestUtils.setField(limiter, "usernameRefillPerMinute", 60_000_000);
+        ReflectionTestUtils.setField(limiter, "ipRefillPerMinute", 60_000_000);
+        limiter.acquire("10.0.0.1", "alice");
+        assertEquals(2, limiter.size());
+
+        // 每纳秒补充 1 个令牌，清理时两个桶都已补满
+        limiter.sweep();
+        assertEquals(0, limiter.size());
+    }
+}
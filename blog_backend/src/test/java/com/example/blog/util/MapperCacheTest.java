@@ -0,0 +1,90 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MapperCacheTest {
+
+    @Test
+    public void returnsCopiesSoCallersCannotCorruptEntries() {
+        MapperCache cache = new MapperCache("test.UserMapper");
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setPassword("hash");
+
+        assertNull(cache.getObject("findByUsername:admin"));
+        cache.putObject("findByUsername:admin", new ArrayList<>(List.of(user)));
+
+        @SuppressWarnings("unchecked")
+        List<User> first = (List<User>) cache.getObject("findByUsername:admin");
+        // 登录成功后擦除凭证
+        first.get(0).setPassword(null);
+        @SuppressWarnings("unchecked")
+        List<User> second = (List<User>) cache.getObject("findByUsername:admin");
+
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("hash", second.get(0).getPassword());
+        assertEquals(2, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    public void dropsResultsLoadedBeforeAFlush() {
+        MapperCache cache = new MapperCache("test.TagMapper");
+        assertNull(cache.getObject("findAll"));
+        // 查询期间另一个事务改名并提交
+        cache.clear();
+        cache.putObject("findAll", new ArrayList<>(List.of(tag(1L, "旧名称"))));
+
+        assertNull(cache.getObject("findAll"));
+        assertEquals(1, cache.stats().stalePuts());
+
+        cache.putObject("findAll", new ArrayList<>(List.of(tag(1L, "新名称"))));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void appliesXmlPropertiesAndEvictsLeastRecentlyUsed() {
+        Properties properties = new Properties();
+        properties.setProperty("size", "2");
+        properties.setProperty("ttlSeconds", "60");
+        Cache built = new CacheBuilder("test.CategoryMapper")
+                .implementation(MapperCache.class)
+                .properties(properties)
+                .build();
+        MapperCache cache = MapperCache.instance("test.CategoryMapper");
+
+        for (String key : List.of("a", "b")) {
+            built.getObject(key);
+            built.putObject(key, tag(1L, key));
+        }
+        built.getObject("a");
+        built.getObject("c");
+        built.putObject("c", tag(3L, "c"));
+
+        assertEquals(2, built.getSize());
+        assertEquals("a", ((Tag) built.getObject("a")).getName());
+        assertNull(built.getObject("b"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(60, cache.stats().ttlSeconds());
+    }
+
+    private static Tag tag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.blog.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MarkdownRendererTest {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer(new ObjectMapper());
+
+    @Test
+    public void rendersHeadingAnchorsAndToc() {
+        MarkdownRenderer.Rendered rendered = renderer.render("# 性能 优化\n\n## Setup\n\ntext\n\n## Setup\n\n#### Deep\n");
+
+        assertTrue(rendered.html().contains("<h1 id=\"性能-优化\">性能 优化</h1>"), rendered.html());
+        assertTrue(rendered.html().contains("<h2 id=\"setup-1\">Setup</h2>"), rendered.html());
+        assertTrue(rendered.html().contains("<h4 id=\"deep\">Deep</h4>"), rendered.html());
+        assertEquals("[{\"id\":\"性能-优化\",\"text\":\"性能 优化\",\"level\":1},"
+                + "{\"id\":\"setup\",\"text\":\"Setup\",\"level\":2},"
+                + "{\"id\":\"setup-1\",\"text\":\"Setup\",\"level\":2}]", rendered.tocJson());
+    }
+
+    @Test
+    public void rendersTablesAndCodeLanguage() {
+        MarkdownRenderer.Rendered rendered = renderer.render("| a | b |\n|---|---|\n| 1 | 2 |\n\n```java\nint x;\n```\n");
+
+        assertTrue(rendered.html().contains("<table>"), rendered.html());
+        assertTrue(rendered.html().contains("<code class=\"language-java\">"), rendered.html());
+    }
+
+    @Test
+    public void extractsExcerptAndReadingStats() {
+        MarkdownRenderer.Rendered rendered = renderer.render("# 标题\n\n第一段**加粗** and `code` here.\n"
+                + "![封面](a.png)\n\n```java\nint x;\n```\n");
+
+        assertEquals("第一段加粗 and code here.", rendered.excerpt());
+        assertEquals(2 + 5 + 3 + 2, rendered.wordCount());
+        assertEquals(1, rendered.readingMinutes());
+
+        String longText = "字".repeat(900);
+        MarkdownRenderer.Rendered longPost = renderer.render(longText);
+        assertEquals(200 + 1, longPost.excerpt().length());
+        assertEquals(900, longPost.charCount());
+        assertEquals(3, longPost.readingMinutes());
+        assertEquals(0, renderer.render("").readingMinutes());
+    }
+}
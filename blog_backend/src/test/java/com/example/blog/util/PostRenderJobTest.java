@@ -0,0 +1,85 @@
+package com.example.blog.util;
+
+import com.example.blog.entity.Post;
+import com.example.blog.mapper.PostMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PostRenderJobTest {
+
+    private PostMapper postMapper;
+
+    private TaskScheduler taskScheduler;
+
+    private PostRenderJob job;
+
+    @BeforeEach
+    public void setUp() {
+        postMapper = mock(PostMapper.class);
+        taskScheduler = mock(TaskScheduler.class);
+        when(postMapper.updateRendered(any())).thenReturn(1);
+
+        job = new PostRenderJob();
+        ReflectionTestUtils.setField(job, "postMapper", postMapper);
+        ReflectionTestUtils.setField(job, "markdownRenderer", new MarkdownRenderer(new ObjectMapper()));
+        ReflectionTestUtils.setField(job, "taskScheduler", taskScheduler);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "timeBudgetMillis", 5000L);
+        ReflectionTestUtils.setField(job, "pauseMillis", 1000L);
+    }
+
+    @Test
+    public void finishesWithinBudgetWithoutRescheduling() {
+        when(postMapper.findStaleRendered(MarkdownRenderer.VERSION, 0L, 2)).thenReturn(List.of(post(1), post(2)));
+        when(postMapper.findStaleRendered(MarkdownRenderer.VERSION, 2L, 2)).thenReturn(List.of(post(3)));
+
+        job.run();
+
+        verify(postMapper, times(3)).updateRendered(any());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    public void yieldsSchedulerThreadWhenBudgetIsUsedUp() {
+        ReflectionTestUtils.setField(job, "timeBudgetMillis", 0L);
+        when(postMapper.findStaleRendered(MarkdownRenderer.VERSION, 0L, 2)).thenReturn(List.of(post(1), post(2)));
+        when(postMapper.findStaleRendered(MarkdownRenderer.VERSION, 2L, 2)).thenReturn(List.of(post(3)));
+
+        job.run();
+
+        // 只处理了一批，剩余文章交给稍后的续跑
+        verify(postMapper, times(2)).updateRendered(any());
+        verify(postMapper, never()).findStaleRendered(eq(MarkdownRenderer.VERSION), eq(2L), eq(2));
+        ArgumentCaptor<Runnable> resume = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(resume.capture(), any(Instant.class));
+
+        // 续跑从上次停下的文章之后开始，而不是从头扫描
+        resume.getValue().run();
+        verify(postMapper).findStaleRendered(MarkdownRenderer.VERSION, 2L, 2);
+        verify(postMapper, never()).findStaleRendered(eq(MarkdownRenderer.VERSION), anyLong(), eq(3));
+        verify(postMapper, times(3)).updateRendered(any());
+    }
+
+    private static Post post(long id) {
+        Post post = new Post();
+        post.setId(id);
+        post.setContent("# 标题 " + id);
+        return post;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.blog.util;
+
+import com.example.blog.event.ContentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseCacheTest {
+
+    private static final byte[] BODY = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ResponseCache();
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "maxBodyBytes", 1024);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1024L * 1024);
+    }
+
+    @Test
+    public void commentEventEvictsOnlyThatPostsComments() {
+        put("/comments/post/1", ResponseCache.TAG_COMMENTS_PREFIX + "1");
+        put("/comments/post/2", ResponseCache.TAG_COMMENTS_PREFIX + "2");
+        put("/posts?page=1&size=10", ResponseCache.TAG_POSTS);
+
+        cache.onContentChanged(ContentChangedEvent.comment(this, ContentChangedEvent.Action.CREATED, 9L, 1L));
+
+        assertNull(cache.get("/comments/post/1"));
+        assertNotNull(cache.get("/comments/post/2"));
+        assertNotNull(cache.get("/posts?page=1&size=10"));
+    }
+
+    @Test
+    public void tagEventEvictsPostListsOnly() {
+        put("/comments/post/1", ResponseCache.TAG_COMMENTS_PREFIX + "1");
+        put("/posts?page=1&size=10", ResponseCache.TAG_POSTS);
+
+        cache.onContentChanged(ContentChangedEvent.tag(this, ContentChangedEvent.Action.UPDATED, 3L));
+
+        assertNull(cache.get("/posts?page=1&size=10"));
+        assertNotNull(cache.get("/comments/post/1"));
+    }
+
+    @Test
+    public void dropsResponseLoadedBeforeEviction() {
+        List<String> tags = List.of(ResponseCache.TAG_POSTS);
+        long[] snapshot = cache.generations(tags);
+        // 加载期间文章被修改
+        cache.onContentChanged(ContentChangedEvent.post(this, ContentChangedEvent.Action.UPDATED, 5L));
+        cache.put("/posts?page=1&size=10", tags, snapshot, BODY, "application/json");
+
+        assertNull(cache.get("/posts?page=1&size=10"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntriesWhenFull() {
+        ReflectionTestUtils.setField(cache, "maxBytes", (long) BODY.length * 4);
+        put("/posts?page=1&size=10", ResponseCache.TAG_POSTS);
+        for (int page = 2; page <= 20; page++) {
+            // 首页持续被访问，一次性的请求只会挤掉彼此
+            assertNotNull(cache.get("/posts?page=1&size=10"));
+            put("/posts?page=" + page + "&size=10", ResponseCache.TAG_POSTS);
+        }
+
+        assertEquals(4, cache.size());
+        assertEquals(BODY.length * 4L, cache.bytes());
+        assertNotNull(cache.get("/posts?page=1&size=10"));
+        assertNotNull(cache.get("/posts?page=20&size=10"));
+        assertNull(cache.get("/posts?page=2&size=10"));
+
+        cache.onContentChanged(ContentChangedEvent.post(this, ContentChangedEvent.Action.UPDATED, 5L));
+        assertEquals(0, cache.bytes());
+    }
+
+    private void put(String key, String tag) {
+        List<String> tags = List.of(tag);
+        cache.put(key, tags, cache.generations(tags), BODY, "application/json");
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.blog.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ViewCounterTest {
+
+    private static final String CHROME = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/126.0 Safari/537.36";
+
+    private ViewCounter viewCounter;
+
+    @BeforeEach
+    public void setUp() {
+        viewCounter = new ViewCounter();
+        ReflectionTestUtils.setField(viewCounter, "enabled", true);
+        ReflectionTestUtils.setField(viewCounter, "windowMinutes", 30L);
+        ReflectionTestUtils.setField(viewCounter, "expectedViews", 10_000L);
+        ReflectionTestUtils.setField(viewCounter, "falsePositiveRate", 0.01);
+        viewCounter.init();
+    }
+
+    @Test
+    public void countsEachVisitorOncePerPost() {
+        assertTrue(viewCounter.shouldCount(request("10.0.0.1", CHROME), null, 1L));
+        assertFalse(viewCounter.shouldCount(request("10.0.0.1", CHROME), null, 1L));
+        assertTrue(viewCounter.shouldCount(request("10.0.0.1", CHROME), null, 2L));
+        assertTrue(viewCounter.shouldCount(request("10.0.0.2", CHROME), null, 1L));
+
+        // 登录用户按用户ID去重，换 IP 也不重复计数
+        assertTrue(viewCounter.shouldCount(request("10.0.0.3", CHROME), 7L, 1L));
+        assertFalse(viewCounter.shouldCount(request("10.0.0.4", CHROME), 7L, 1L));
+    }
+
+    @Test
+    public void skipsAutomatedClientsAndPrefetch() {
+        assertFalse(viewCounter.shouldCount(request("10.0.0.1", null), null, 1L));
+        assertFalse(viewCounter.shouldCount(request("10.0.0.1", "curl/8.5.0"), null, 1L));
+        assertFalse(viewCounter.shouldCount(request("10.0.0.1",
+                "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)"), null, 1L));
+
+        MockHttpServletRequest prefetch = request("10.0.0.1", CHROME);
+        prefetch.addHeader("Purpose", "prefetch");
+        assertFalse(viewCounter.shouldCount(prefetch, null, 1L));
+
+        // 被排除的访问不会占用去重记录
+        assertTrue(viewCounter.shouldCount(request("10.0.0.1", CHROME), null, 1L));
+    }
+
+    @Test
+    public void forgetsKeysNotSeenForTwoWindows() {
+        AtomicLong clock = new AtomicLong();
+        WindowedBloomFilter filter = new WindowedBloomFilter(1000, 0.01, Duration.ofNanos(100), clock::get);
+        assertTrue(filter.add(42));
+        assertTrue(filter.add(43));
+
+        // 下一个窗口：两个键仍被记住，42 再次出现后写入新的当前代
+        clock.set(150);
+        assertFalse(filter.add(42));
+
+        // 再下一个窗口：43 已超过两个窗口未出现，被遗忘；42 仍在上一代中
+        clock.set(300);
+        assertTrue(filter.add(43));
+        assertFalse(filter.add(42));
+    }
+
+    private static MockHttpServletRequest request(String ip, String userAgent) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/1");
+        request.setRemoteAddr(ip);
+        if (userAgent != null) {
+            request.addHeader("User-Agent", userAgent);
+        }
+        return request;
+    }
+}
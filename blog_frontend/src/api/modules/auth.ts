@@ -51,6 +51,16 @@ export const authApi = {
     });
   },
 
+  // 退出登录接口，吊销当前用户已签发的全部令牌
+
+  logout: () => {
+    return request<null>({
+      url: "/auth/logout",
+
+      method: "post",
+    });
+  },
+
   // 获取当前用户信息接口
 
   getCurrentUser: () => {
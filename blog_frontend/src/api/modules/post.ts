@@ -17,6 +17,22 @@ export interface PostForm {
   tagIds?: number[];
 }
 
+// 草稿：某一修订的正文，自动保存的响应不含正文
+export interface PostDraft {
+  postId: number;
+  revision: number;
+  content?: string;
+  length: number;
+  saveTime?: string;
+}
+
+// 草稿编辑：把基准正文中 [start, end) 替换为 text，偏移量为字符串下标
+export interface DraftEdit {
+  start: number;
+  end: number;
+  text: string;
+}
+
 // 定义文章相关的API接口
 
 export const postApi = {
@@ -44,13 +60,42 @@ export const postApi = {
     });
   },
 
-  // 根据ID获取文章详情接口
+  // 根据ID获取文章详情接口（format 为 html 时返回预渲染的 HTML，不含 Markdown 原文；
+  // prefetch 为 true 时带上 Purpose 请求头，服务端不计浏览量）
 
-  getPostById: (id: number) => {
+  getPostById: (id: number, format?: "html", prefetch = false) => {
     return request<Post>({
       url: `/posts/${id}`,
 
       method: "get",
+
+      params: format ? { format } : undefined,
+
+      headers: prefetch ? { Purpose: "prefetch" } : undefined,
+    });
+  },
+
+  // 获取排行榜接口（trending 为近期热度，popular 为长期热度，服务端按时间衰减计分）
+
+  getRankedPosts: (board: "trending" | "popular", limit = 10) => {
+    return request<Post[]>({
+      url: `/posts/${board}`,
+
+      method: "get",
+
+      params: { limit },
+    });
+  },
+
+  // 获取相关文章接口（按标签重合度与分类计算）
+
+  getRelatedPosts: (id: number, limit = 5) => {
+    return request<Post[]>({
+      url: `/posts/${id}/related`,
+
+      method: "get",
+
+      params: { limit },
     });
   },
 
@@ -98,6 +143,50 @@ export const postApi = {
     });
   },
 
+  // 获取最新草稿（作者/管理员）
+
+  getDraft: (id: number) => {
+    return request<PostDraft>({
+      url: `/posts/${id}/draft`,
+
+      method: "get",
+    });
+  },
+
+  // 自动保存草稿：只提交相对基准修订的编辑
+
+  saveDraft: (id: number, data: { baseRevision: number; edits: DraftEdit[]; length: number }) => {
+    return request<PostDraft>({
+      url: `/posts/${id}/draft`,
+
+      method: "patch",
+
+      data,
+    });
+  },
+
+  // 设置定时发布，时间格式为 yyyy-MM-ddTHH:mm:ss（本地时间）
+
+  schedulePost: (id: number, scheduledTime: string) => {
+    return request<null>({
+      url: `/posts/${id}/schedule`,
+
+      method: "put",
+
+      data: { scheduledTime },
+    });
+  },
+
+  // 取消定时发布
+
+  cancelSchedule: (id: number) => {
+    return request<null>({
+      url: `/posts/${id}/schedule`,
+
+      method: "delete",
+    });
+  },
+
   // 删除文章接口
 
   deletePost: (id: number) => {
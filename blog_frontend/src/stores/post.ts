@@ -69,14 +69,30 @@ export const usePostStore = defineStore("post", () => {
   /**
    * 根据ID获取文章详情方法
    */
-  const fetchPostById = async (id: number) => {
+  const fetchPostById = async (id: number, format?: "html", prefetch = false) => {
     return withLoading(async () => {
-      const res = await postApi.getPostById(id);
+      const res = await postApi.getPostById(id, format, prefetch);
       currentPost.value = res.data;
       return res;
     });
   };
 
+  /**
+   * 获取排行榜（不影响当前文章列表）
+   */
+  const fetchRankedPosts = async (board: "trending" | "popular", limit = 10) => {
+    const res = await postApi.getRankedPosts(board, limit);
+    return res.data;
+  };
+
+  /**
+   * 获取相关文章（不影响当前文章列表）
+   */
+  const fetchRelatedPosts = async (id: number, limit = 5) => {
+    const res = await postApi.getRelatedPosts(id, limit);
+    return res.data;
+  };
+
   /**
    * 根据分类ID获取文章列表方法
    */
@@ -197,6 +213,8 @@ export const usePostStore = defineStore("post", () => {
     fetchPosts,
     fetchAdminPosts,
     fetchPostById,
+    fetchRankedPosts,
+    fetchRelatedPosts,
     fetchPostsByCategory,
     fetchPostsByTag,
 
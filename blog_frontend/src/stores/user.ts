@@ -39,6 +39,18 @@ export const useUserStore = defineStore("user", () => {
     router.push("/login");
   };
 
+  // 主动退出登录方法：先通知后端吊销令牌，失败也照常清理本地状态
+  const signOut = async () => {
+    if (token.value) {
+      try {
+        await authApi.logout();
+      } catch (error) {
+        // 令牌已失效等情况下忽略
+      }
+    }
+    logout();
+  };
+
   // 获取当前用户信息方法
   const getCurrentUser = async () => {
     try {
@@ -109,10 +121,15 @@ export const useUserStore = defineStore("user", () => {
       const res = await authApi.refreshToken(currentRefreshToken);
       // 更新访问令牌
       token.value = res.data.token;
-      // 保存新的访问令牌到本地存储
+      // 刷新令牌会轮换，同时保存新的刷新令牌
+      refreshTokenValue.value = res.data.refreshToken;
+      // 保存新的令牌到本地存储
       if (token.value) {
         localStorage.setItem("token", token.value);
       }
+      if (refreshTokenValue.value) {
+        localStorage.setItem("refreshToken", refreshTokenValue.value);
+      }
       return Promise.resolve(res);
     } catch (error) {
       // 刷新令牌失败，执行登出
@@ -134,6 +151,7 @@ export const useUserStore = defineStore("user", () => {
     login,
     register,
     logout,
+    signOut,
     getCurrentUser,
     refreshToken: doRefreshToken,
   };
@@ -43,16 +43,30 @@ export interface Tag {
 }
 
 // 文章接口
+// 目录项接口
+export interface TocItem {
+  id: string; // 标题锚点ID
+  text: string; // 标题文本
+  level: number; // 标题级别
+}
+
 export interface Post {
   id: number; // 文章ID
   title: string; // 标题
-  content: string; // 内容
+  content?: string; // 内容（列表与按 HTML 格式获取详情时不返回）
+  contentHtml?: string; // 预渲染的 HTML（可选）
+  toc?: TocItem[]; // 目录（可选）
   summary?: string; // 摘要（可选）
+  excerpt?: string; // 正文摘录，由服务端提取（可选）
+  wordCount?: number; // 字数（可选）
+  readingMinutes?: number; // 预计阅读分钟数（可选）
   coverImage?: string; // 封面图片（可选）
   viewCount: number; // 浏览次数
   likeCount: number; // 点赞次数
   commentCount?: number; // 评论数量（可选）
   status: number; // 状态：0-草稿，1-已发布
+  publishedTime?: string; // 发布时间（可选）
+  scheduledTime?: string; // 定时发布时间，仅等待定时发布的文章有值（可选）
   createTime: string; // 创建时间
   updateTime: string; // 更新时间
   authorId: number; // 作者ID